@@ -1,5 +1,6 @@
 plugins {
   id("adventure.common-conventions")
+  id("adventure.jmh-conventions")
 }
 
 configurations {
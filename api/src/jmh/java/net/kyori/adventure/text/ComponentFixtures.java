@@ -0,0 +1,190 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.text;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.PropertyResourceBundle;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.translation.TranslationRegistry;
+
+/**
+ * Realistic components for benchmarks, built from the chat log and translations in the resources
+ * next to this class.
+ */
+final class ComponentFixtures {
+  private static final String[] DEATHS = {"death.attack.drown", "death.attack.lava", "death.attack.fall", "death.fell.accident.high", "death.attack.outOfWorld", "death.attack.starve"};
+  private static final String[] ADVANCEMENTS = {"story.mine_diamond", "story.enter_the_nether", "nether.find_fortress", "end.kill_dragon", "adventure.kill_all_mobs", "husbandry.balanced_diet", "nether.all_potions"};
+  private static final String[] MOBS = {"zombie", "skeleton", "creeper", "spider", "enderman"};
+  private static final String[] WEAPONS = {"diamond_sword", "netherite_sword", "bow", "crossbow", "trident"};
+
+  private ComponentFixtures() {
+  }
+
+  /**
+   * Reads the chat log, one message per entry, without the sender.
+   *
+   * @return the messages
+   */
+  static List<String> messages() {
+    final List<String> messages = new ArrayList<>();
+    for (final String line : lines(ComponentFixtures.class, "chat.txt")) {
+      messages.add(line.substring(line.indexOf("> ") + 2));
+    }
+    return messages;
+  }
+
+  /**
+   * Creates the chat log as the server sends it, wrapped in {@code chat.type.text}.
+   *
+   * @return the chat components
+   */
+  static List<Component> chat() {
+    final List<Component> chat = new ArrayList<>();
+    for (final String line : lines(ComponentFixtures.class, "chat.txt")) {
+      final int end = line.indexOf("> ");
+      chat.add(Component.translatable("chat.type.text", player(line.substring(1, end)), Component.text(line.substring(end + 2))));
+    }
+    return chat;
+  }
+
+  /**
+   * Creates a mix of join, death and advancement messages, translated with {@link #translations()}.
+   *
+   * @param seed the seed for the contents of the messages
+   * @param count the number of messages
+   * @return the message components
+   */
+  static List<Component> events(final long seed, final int count) {
+    final Random random = new Random(seed);
+    final List<String> players = new ArrayList<>();
+    for (final String line : lines(ComponentFixtures.class, "chat.txt")) {
+      players.add(line.substring(1, line.indexOf("> ")));
+    }
+    final List<Component> events = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final Component player = player(players.get(random.nextInt(players.size())));
+      switch (random.nextInt(5)) {
+        case 0:
+          events.add(Component.translatable("multiplayer.player.joined", NamedTextColor.YELLOW, player));
+          break;
+        case 1:
+          events.add(Component.translatable(DEATHS[random.nextInt(DEATHS.length)], player));
+          break;
+        case 2:
+          final String mob = MOBS[random.nextInt(MOBS.length)];
+          final Component killer = Component.translatable("entity.minecraft." + mob)
+            .hoverEvent(HoverEvent.showEntity(Key.key(mob), new UUID(random.nextLong(), random.nextLong())));
+          events.add(Component.translatable("death.attack.mob", player, killer));
+          break;
+        case 3:
+          final String weapon = WEAPONS[random.nextInt(WEAPONS.length)];
+          final Component item = Component.text()
+            .append(Component.text("["), Component.translatable("item.minecraft." + weapon), Component.text("]"))
+            .color(NamedTextColor.AQUA)
+            .hoverEvent(HoverEvent.showItem(Key.key(weapon), 1))
+            .build();
+          events.add(Component.translatable("death.attack.player.item", player, player(players.get(random.nextInt(players.size()))), item));
+          break;
+        default:
+          final String advancement = "advancements." + ADVANCEMENTS[random.nextInt(ADVANCEMENTS.length)];
+          final Component title = Component.text()
+            .append(Component.text("["), Component.translatable(advancement + ".title"), Component.text("]"))
+            .color(NamedTextColor.GREEN)
+            .hoverEvent(HoverEvent.showText(Component.translatable(advancement + ".title", NamedTextColor.GREEN)))
+            .build();
+          events.add(Component.translatable("chat.type.advancement.task", player, title));
+          break;
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Creates a registry with the English translations for the keys used by the fixtures.
+   *
+   * @return a translation registry
+   */
+  static TranslationRegistry translations() {
+    final TranslationRegistry registry = TranslationRegistry.create(Key.key("adventure", "benchmark"));
+    try (final Reader reader = reader(ComponentFixtures.class, "en_us.properties")) {
+      registry.registerAll(Locale.US, new PropertyResourceBundle(reader), false);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return registry;
+  }
+
+  /**
+   * Creates a player name, with the hover and click events the game adds to it.
+   *
+   * @param name the name of the player
+   * @return the player name component
+   */
+  static Component player(final String name) {
+    return Component.text()
+      .content(name)
+      .insertion(name)
+      .hoverEvent(HoverEvent.showEntity(Key.key("player"), UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)), Component.text(name)))
+      .clickEvent(ClickEvent.suggestCommand("/tell " + name + " "))
+      .build();
+  }
+
+  /**
+   * Reads the non-empty lines of a resource.
+   *
+   * @param owner the class the resource is next to
+   * @param name the name of the resource
+   * @return the lines
+   */
+  static List<String> lines(final Class<?> owner, final String name) {
+    try (final BufferedReader reader = new BufferedReader(reader(owner, name))) {
+      return reader.lines().filter(line -> !line.isEmpty()).collect(Collectors.toList());
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static Reader reader(final Class<?> owner, final String name) throws IOException {
+    final InputStream stream = owner.getResourceAsStream(name);
+    if (stream == null) {
+      throw new IOException("Missing resource " + name);
+    }
+    return new InputStreamReader(stream, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.text;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures replacing text in the chat log with {@link Component#replaceText(TextReplacementConfig)}.
+ *
+ * <p>The {@code literal} replacement highlights mentions of a player, and the {@code pattern}
+ * replacement makes links clickable. Both only match a few of the messages, as in a real chat.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextReplacementRendererBenchmark {
+  @Param({"literal", "pattern"})
+  private String replacement;
+  private TextReplacementConfig config;
+  private List<Component> chat;
+
+  @Setup
+  public void setup() {
+    if (this.replacement.equals("literal")) {
+      this.config = TextReplacementConfig.builder()
+        .matchLiteral("Alex")
+        .replacement(builder -> builder.color(NamedTextColor.YELLOW))
+        .build();
+    } else {
+      this.config = TextReplacementConfig.builder()
+        .match("https?://\\S+")
+        .replacement(builder -> builder.clickEvent(ClickEvent.openUrl(builder.content())))
+        .build();
+    }
+    this.chat = ComponentFixtures.chat();
+  }
+
+  @Benchmark
+  public void replaceText(final Blackhole blackhole) {
+    for (final Component message : this.chat) {
+      blackhole.consume(message.replaceText(this.config));
+    }
+  }
+}
@@ -11,4 +11,5 @@ dependencies {
   implementation("net.kyori", "indra-common", indraVersion)
   implementation("net.kyori", "indra-publishing-sonatype", indraVersion)
   implementation("com.adarshr", "gradle-test-logger-plugin", "3.0.0")
+  implementation("me.champeau.jmh", "jmh-gradle-plugin", "0.6.5")
 }
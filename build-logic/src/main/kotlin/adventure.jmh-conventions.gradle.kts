@@ -0,0 +1,14 @@
+plugins {
+  id("me.champeau.jmh")
+}
+
+jmh {
+  jmhVersion.set("1.32")
+  resultFormat.set("JSON")
+
+  // Select benchmarks with -PjmhIncludes=<regex>, for example -PjmhIncludes=BinaryTagRead
+  val jmhIncludes = providers.gradleProperty("jmhIncludes").forUseAtConfigurationTime()
+  if (jmhIncludes.isPresent) {
+    includes.add(jmhIncludes.get())
+  }
+}
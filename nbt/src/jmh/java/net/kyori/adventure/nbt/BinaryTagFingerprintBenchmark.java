@@ -0,0 +1,92 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures computing fingerprints of an entity, and comparing unequal entities with and without
+ * fingerprints already known.
+ *
+ * <p>The entities only differ in their last inventory item, so a comparison without fingerprints has
+ * to go through most of both tags.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryTagFingerprintBenchmark {
+  private CompoundBinaryTag entity;
+  private CompoundBinaryTag other;
+  private CompoundBinaryTag fingerprinted;
+  private CompoundBinaryTag otherFingerprinted;
+
+  @Setup
+  public void setup() {
+    this.entity = entity(0);
+    this.other = entity(1);
+    this.fingerprinted = entity(0);
+    this.otherFingerprinted = entity(1);
+    this.fingerprinted.fingerprint();
+    this.otherFingerprinted.fingerprint();
+  }
+
+  private static CompoundBinaryTag entity(final int lastCount) {
+    final Random random = new Random(0);
+    final ListBinaryTag.Builder<CompoundBinaryTag> items = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+    for (int slot = 0; slot < 36; slot++) {
+      items.add(BinaryTagFixtures.item(random, slot));
+    }
+    items.add(CompoundBinaryTag.builder().putString("id", "minecraft:torch").putByte("Count", (byte) lastCount).build());
+    return BinaryTagFixtures.entity(random).put("Inventory", items.build());
+  }
+
+  @Benchmark
+  public long fingerprint() {
+    return BinaryTagFingerprints.fingerprintOfCompound(this.entity);
+  }
+
+  @Benchmark
+  public boolean equalsWithoutFingerprints() {
+    return this.entity.equals(this.other);
+  }
+
+  @Benchmark
+  public boolean equalsWithFingerprints() {
+    return this.fingerprinted.equals(this.otherFingerprinted);
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Deterministic, realistically shaped tags for benchmarks.
+ */
+final class BinaryTagFixtures {
+  private static final String[] BLOCKS = {"stone", "granite", "diorite", "andesite", "dirt", "grass_block", "gravel", "sand", "coal_ore", "iron_ore", "bedrock", "water", "lava", "oak_log", "oak_leaves", "cave_air", "air"};
+  private static final String[] ITEMS = {"diamond_sword", "iron_pickaxe", "cobblestone", "torch", "bread", "oak_planks", "arrow", "bow", "redstone", "coal"};
+  private static final String[] ENTITIES = {"zombie", "skeleton", "creeper", "cow", "sheep", "pig", "item_frame", "armor_stand"};
+
+  private BinaryTagFixtures() {
+  }
+
+  /**
+   * Creates a tag shaped like a chunk saved by a recent version of the game.
+   *
+   * @param seed the seed for the contents of the chunk
+   * @return a chunk tag
+   */
+  static CompoundBinaryTag chunk(final long seed) {
+    final Random random = new Random(seed);
+    final ListBinaryTag.Builder<CompoundBinaryTag> sections = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+    for (int y = 0; y < 16; y++) {
+      final ListBinaryTag.Builder<CompoundBinaryTag> palette = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+      for (int i = 0, size = 4 + random.nextInt(12); i < size; i++) {
+        final CompoundBinaryTag.Builder block = CompoundBinaryTag.builder()
+          .putString("Name", "minecraft:" + BLOCKS[random.nextInt(BLOCKS.length)]);
+        if (random.nextInt(4) == 0) {
+          block.put("Properties", CompoundBinaryTag.builder()
+            .putString("axis", "y")
+            .putString("persistent", "false")
+            .putString("distance", String.valueOf(random.nextInt(7)))
+            .build());
+        }
+        palette.add(block.build());
+      }
+      sections.add(CompoundBinaryTag.builder()
+        .putByte("Y", (byte) y)
+        .put("Palette", palette.build())
+        .putLongArray("BlockStates", longs(random, 256))
+        .putByteArray("BlockLight", bytes(random, 2048))
+        .putByteArray("SkyLight", bytes(random, 2048))
+        .build());
+    }
+
+    final ListBinaryTag.Builder<CompoundBinaryTag> entities = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+    for (int i = 0; i < 8; i++) {
+      entities.add(entity(random));
+    }
+
+    final ListBinaryTag.Builder<CompoundBinaryTag> tileEntities = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+    for (int i = 0; i < 4; i++) {
+      final ListBinaryTag.Builder<CompoundBinaryTag> items = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+      for (int slot = 0; slot < 27; slot++) {
+        items.add(item(random, slot));
+      }
+      tileEntities.add(CompoundBinaryTag.builder()
+        .putString("id", "minecraft:chest")
+        .putInt("x", random.nextInt(16))
+        .putInt("y", random.nextInt(256))
+        .putInt("z", random.nextInt(16))
+        .putByte("keepPacked", (byte) 0)
+        .put("Items", items.build())
+        .build());
+    }
+
+    final CompoundBinaryTag level = CompoundBinaryTag.builder()
+      .putInt("xPos", random.nextInt(64))
+      .putInt("zPos", random.nextInt(64))
+      .putLong("LastUpdate", random.nextInt(1_000_000))
+      .putLong("InhabitedTime", random.nextInt(1_000_000))
+      .putString("Status", "full")
+      .putIntArray("Biomes", ints(random, 1024, 64))
+      .put("Heightmaps", CompoundBinaryTag.builder()
+        .putLongArray("MOTION_BLOCKING", longs(random, 37))
+        .putLongArray("OCEAN_FLOOR", longs(random, 37))
+        .putLongArray("WORLD_SURFACE", longs(random, 37))
+        .build())
+      .put("Sections", sections.build())
+      .put("Entities", entities.build())
+      .put("TileEntities", tileEntities.build())
+      .build();
+    return CompoundBinaryTag.builder()
+      .putInt("DataVersion", 2586)
+      .put("Level", level)
+      .build();
+  }
+
+  /**
+   * Creates a tag shaped like an entity.
+   *
+   * @param random the source of the contents of the entity
+   * @return an entity tag
+   */
+  static CompoundBinaryTag entity(final Random random) {
+    return CompoundBinaryTag.builder()
+      .putString("id", "minecraft:" + ENTITIES[random.nextInt(ENTITIES.length)])
+      .put("Pos", doubles(random.nextDouble() * 16, 64 + random.nextDouble() * 8, random.nextDouble() * 16))
+      .put("Motion", doubles(0, -0.0784000015258789, 0))
+      .put("Rotation", ListBinaryTag.builder(BinaryTagTypes.FLOAT)
+        .add(FloatBinaryTag.of(random.nextFloat() * 360))
+        .add(FloatBinaryTag.of(0))
+        .build())
+      .putFloat("FallDistance", 0)
+      .putShort("Fire", (short) -1)
+      .putShort("Air", (short) 300)
+      .putByte("OnGround", (byte) 1)
+      .putBoolean("Invulnerable", false)
+      .putInt("PortalCooldown", 0)
+      .putIntArray("UUID", ints(random, 4, Integer.MAX_VALUE))
+      .putFloat("Health", 20)
+      .putShort("HurtTime", (short) 0)
+      .putShort("DeathTime", (short) 0)
+      .put("ArmorItems", ListBinaryTag.builder(BinaryTagTypes.COMPOUND)
+        .add(CompoundBinaryTag.empty())
+        .add(CompoundBinaryTag.empty())
+        .add(CompoundBinaryTag.empty())
+        .add(CompoundBinaryTag.empty())
+        .build())
+      .build();
+  }
+
+  /**
+   * Creates a tag shaped like an item stack in an inventory.
+   *
+   * @param random the source of the contents of the item
+   * @param slot the slot
+   * @return an item tag
+   */
+  static CompoundBinaryTag item(final Random random, final int slot) {
+    final CompoundBinaryTag.Builder item = CompoundBinaryTag.builder()
+      .putByte("Slot", (byte) slot)
+      .putString("id", "minecraft:" + ITEMS[random.nextInt(ITEMS.length)])
+      .putByte("Count", (byte) (1 + random.nextInt(64)));
+    if (random.nextBoolean()) {
+      item.put("tag", CompoundBinaryTag.builder()
+        .putInt("Damage", random.nextInt(250))
+        .putInt("RepairCost", random.nextInt(3))
+        .put("display", CompoundBinaryTag.builder()
+          .putString("Name", "{\"text\":\"Item #" + slot + "\",\"italic\":false}")
+          .build())
+        .build());
+    }
+    return item.build();
+  }
+
+  /**
+   * Writes {@code tag} without compression.
+   *
+   * @param tag the tag
+   * @return the written bytes
+   */
+  static byte[] write(final CompoundBinaryTag tag) {
+    return write(tag, BinaryTagIO.Compression.NONE);
+  }
+
+  /**
+   * Writes {@code tag}.
+   *
+   * @param tag the tag
+   * @param compression the compression
+   * @return the written bytes
+   */
+  static byte[] write(final CompoundBinaryTag tag, final BinaryTagIO.Compression compression) {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try {
+      BinaryTagIO.writer().write(tag, output, compression);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return output.toByteArray();
+  }
+
+  private static ListBinaryTag doubles(final double... values) {
+    final ListBinaryTag.Builder<DoubleBinaryTag> list = ListBinaryTag.builder(BinaryTagTypes.DOUBLE);
+    for (final double value : values) {
+      list.add(DoubleBinaryTag.of(value));
+    }
+    return list.build();
+  }
+
+  private static byte[] bytes(final Random random, final int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private static int[] ints(final Random random, final int length, final int bound) {
+    final int[] ints = new int[length];
+    for (int i = 0; i < length; i++) {
+      ints[i] = random.nextInt(bound);
+    }
+    return ints;
+  }
+
+  private static long[] longs(final Random random, final int length) {
+    final long[] longs = new long[length];
+    for (int i = 0; i < length; i++) {
+      longs[i] = random.nextLong();
+    }
+    return longs;
+  }
+}
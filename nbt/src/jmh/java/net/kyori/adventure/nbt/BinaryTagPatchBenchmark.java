@@ -0,0 +1,90 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures diffing a chunk against a copy with one item changed, and applying the patch.
+ *
+ * <p>The {@code shared} benchmark diffs against an edited copy sharing every unchanged tag, and
+ * {@code unshared} against the same tag read back from binary, where every tag has to be compared.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryTagPatchBenchmark {
+  private CompoundBinaryTag from;
+  private CompoundBinaryTag to;
+  private CompoundBinaryTag unshared;
+  private BinaryTagPatch patch;
+
+  @Setup
+  public void setup() {
+    this.from = BinaryTagFixtures.chunk(0);
+    final CompoundBinaryTag level = this.from.getCompound("Level");
+    final ListBinaryTag tileEntities = level.getList("TileEntities");
+    final CompoundBinaryTag chest = tileEntities.getCompound(2);
+    final ListBinaryTag items = chest.getList("Items");
+    final CompoundBinaryTag item = items.getCompound(5).putByte("Count", (byte) 1);
+    this.to = this.from.put("Level", level.put("TileEntities", tileEntities.set(2, chest.put("Items", items.set(5, item, null)), null)));
+    try {
+      this.unshared = BinaryTagIO.reader().read(ByteBuffer.wrap(BinaryTagFixtures.write(this.to)));
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    this.patch = BinaryTagPatch.diff(this.from, this.to);
+  }
+
+  @Benchmark
+  public BinaryTagPatch diffShared() {
+    return BinaryTagPatch.diff(this.from, this.to);
+  }
+
+  @Benchmark
+  public BinaryTagPatch diffUnshared() {
+    return BinaryTagPatch.diff(this.from, this.unshared);
+  }
+
+  @Benchmark
+  public CompoundBinaryTag apply() {
+    return this.patch.apply(this.from);
+  }
+}
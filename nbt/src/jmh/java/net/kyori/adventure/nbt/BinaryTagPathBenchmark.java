@@ -0,0 +1,84 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures selecting tags from a chunk with a {@link BinaryTagPath}, from a tree of tags and directly from binary input.
+ *
+ * <p>The {@code read} benchmarks include reading the tree, as a consumer only holding binary input would need to.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryTagPathBenchmark {
+  @Param({"Level.Status", "Level.Sections[-1].Y", "Level.TileEntities[].Items[{id:\"minecraft:torch\"}].Count"})
+  private String path;
+  private BinaryTagPath compiled;
+  private CompoundBinaryTag tree;
+  private byte[] binary;
+
+  @Setup
+  public void setup() {
+    this.compiled = BinaryTagPath.compile(this.path);
+    this.tree = BinaryTagFixtures.chunk(0);
+    this.binary = BinaryTagFixtures.write(this.tree);
+  }
+
+  @Benchmark
+  public List<BinaryTag> selectTree() {
+    return this.compiled.select(this.tree);
+  }
+
+  @Benchmark
+  public List<BinaryTag> readThenSelectTree() throws IOException {
+    return this.compiled.select(BinaryTagIO.reader().read(ByteBuffer.wrap(this.binary)));
+  }
+
+  @Benchmark
+  public List<BinaryTag> selectStreaming() throws IOException {
+    final List<BinaryTag> selected = new ArrayList<>();
+    BinaryTagIO.reader().visit(ByteBuffer.wrap(this.binary), this.compiled.visitor(selected::add));
+    return selected;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading a chunk through the stream path against reading it directly from a buffer.
+ *
+ * <p>The {@code partial} benchmarks only look at a few keys of the chunk, as a fully decoded and
+ * a lazily decoded tag. The {@code filtered} benchmark only reads the block states of each section.
+ * The {@code visit} benchmark sums every int in the chunk without building
+ * any tags.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryTagReadBenchmark {
+  private final BinaryTagIO.Reader reader = BinaryTagIO.unlimitedReader();
+  private final BinaryTagIO.Reader lazyReader = BinaryTagIO.Reader.builder().unlimited().lazy(true).build();
+  private final BinaryTagIO.Reader deduplicatingReader = BinaryTagIO.Reader.builder().unlimited().deduplicateStrings(true).build();
+  private final BinaryTagIO.Reader filteredReader = BinaryTagIO.Reader.builder().unlimited().include("Level.Sections[*].BlockStates").build();
+  private byte[] bytes;
+  private ByteBuffer heap;
+  private ByteBuffer direct;
+  private Path file;
+  private FileChannel channel;
+  private MappedByteBuffer mapped;
+
+  @Setup
+  public void setup() throws IOException {
+    this.bytes = BinaryTagFixtures.write(BinaryTagFixtures.chunk(0));
+    this.heap = ByteBuffer.wrap(this.bytes);
+    this.direct = ByteBuffer.allocateDirect(this.bytes.length);
+    this.direct.put(this.bytes);
+    this.file = Files.createTempFile("adventure-nbt", ".nbt");
+    Files.write(this.file, this.bytes);
+    this.channel = FileChannel.open(this.file, StandardOpenOption.READ);
+    this.mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.bytes.length);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    this.channel.close();
+    Files.deleteIfExists(this.file);
+  }
+
+  @Benchmark
+  public CompoundBinaryTag stream() throws IOException {
+    return this.reader.read(new ByteArrayInputStream(this.bytes));
+  }
+
+  @Benchmark
+  public CompoundBinaryTag heapBuffer() throws IOException {
+    this.heap.position(0);
+    return this.reader.read(this.heap);
+  }
+
+  @Benchmark
+  public CompoundBinaryTag directBuffer() throws IOException {
+    this.direct.position(0);
+    return this.reader.read(this.direct);
+  }
+
+  @Benchmark
+  public CompoundBinaryTag mappedBuffer() throws IOException {
+    this.mapped.position(0);
+    return this.reader.read(this.mapped);
+  }
+
+  @Benchmark
+  public int partialEager() throws IOException {
+    this.heap.position(0);
+    return partial(this.reader.read(this.heap));
+  }
+
+  @Benchmark
+  public int partialLazy() throws IOException {
+    this.heap.position(0);
+    return partial(this.lazyReader.read(this.heap));
+  }
+
+  @Benchmark
+  public CompoundBinaryTag deduplicated() throws IOException {
+    this.heap.position(0);
+    return this.deduplicatingReader.read(this.heap);
+  }
+
+  @Benchmark
+  public CompoundBinaryTag filtered() throws IOException {
+    this.heap.position(0);
+    return this.filteredReader.read(this.heap);
+  }
+
+  @Benchmark
+  public int visit() throws IOException {
+    this.heap.position(0);
+    final IntSum sum = new IntSum();
+    this.reader.visit(this.heap, sum);
+    return sum.sum;
+  }
+
+  private static int partial(final CompoundBinaryTag chunk) {
+    final CompoundBinaryTag level = chunk.getCompound("Level");
+    return chunk.getInt("DataVersion") + level.getInt("xPos") + level.getInt("zPos") + level.getString("Status").length();
+  }
+
+  static final class IntSum implements BinaryTagVisitor {
+    int sum;
+
+    @Override
+    public @NotNull Action visitInt(final int value) {
+      this.sum += value;
+      return Action.CONTINUE;
+    }
+  }
+}
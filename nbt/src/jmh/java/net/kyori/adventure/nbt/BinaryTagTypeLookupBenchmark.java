@@ -0,0 +1,146 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares looking up tag types by id from a table against a linear search through all types.
+ *
+ * <p>The ids looked up are those of every tag header in a chunk, in the order they are read. The
+ * {@code read} benchmark reads the chunk itself, with lookups done from the table.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryTagTypeLookupBenchmark {
+  private static final List<BinaryTagType<? extends BinaryTag>> LINEAR = Arrays.asList(
+    BinaryTagTypes.END,
+    BinaryTagTypes.BYTE,
+    BinaryTagTypes.SHORT,
+    BinaryTagTypes.INT,
+    BinaryTagTypes.LONG,
+    BinaryTagTypes.FLOAT,
+    BinaryTagTypes.DOUBLE,
+    BinaryTagTypes.BYTE_ARRAY,
+    BinaryTagTypes.STRING,
+    BinaryTagTypes.LIST,
+    BinaryTagTypes.COMPOUND,
+    BinaryTagTypes.INT_ARRAY,
+    BinaryTagTypes.LONG_ARRAY
+  );
+  private ByteBuffer chunk;
+  private byte[] ids;
+
+  @Setup
+  public void setup() throws IOException {
+    this.chunk = ByteBuffer.wrap(BinaryTagFixtures.write(BinaryTagFixtures.chunk(0)));
+    final IdCollector collector = new IdCollector();
+    BinaryTagIO.unlimitedReader().visit(this.chunk.duplicate(), collector);
+    this.ids = Arrays.copyOf(collector.ids, collector.size);
+  }
+
+  @Benchmark
+  public int table() {
+    int sum = 0;
+    for (final byte id : this.ids) {
+      sum += BinaryTagType.of(id).id();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int linear() {
+    int sum = 0;
+    for (final byte id : this.ids) {
+      sum += linear(id).id();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public CompoundBinaryTag read() throws IOException {
+    this.chunk.position(0);
+    return BinaryTagIO.unlimitedReader().read(this.chunk);
+  }
+
+  // how types were looked up before being indexed by id
+  private static BinaryTagType<? extends BinaryTag> linear(final byte id) {
+    for (int i = 0; i < LINEAR.size(); i++) {
+      final BinaryTagType<? extends BinaryTag> type = LINEAR.get(i);
+      if (type.id() == id) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException(String.valueOf(id));
+  }
+
+  static final class IdCollector implements BinaryTagVisitor {
+    byte[] ids = new byte[1024];
+    int size;
+
+    private void add(final BinaryTagType<? extends BinaryTag> type) {
+      if (this.size == this.ids.length) {
+        this.ids = Arrays.copyOf(this.ids, this.size * 2);
+      }
+      this.ids[this.size++] = type.id();
+    }
+
+    @Override
+    public @NotNull Action visitKey(final @NotNull String key, final @NotNull BinaryTagType<? extends BinaryTag> type) {
+      this.add(type);
+      return Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitListStart(final @NotNull BinaryTagType<? extends BinaryTag> elementType, final int size) {
+      this.add(elementType);
+      return Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitCompoundEnd() {
+      this.add(BinaryTagTypes.END);
+      return Action.CONTINUE;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares writing a chunk through the stream path against writing it into a reused buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryTagWriteBenchmark {
+  private final BinaryTagIO.Writer writer = BinaryTagIO.writer();
+  private CompoundBinaryTag chunk;
+  private ByteBuffer heap;
+  private ByteBuffer direct;
+
+  @Setup
+  public void setup() {
+    this.chunk = BinaryTagFixtures.chunk(0);
+    this.heap = ByteBuffer.allocate(4096);
+    this.direct = ByteBuffer.allocateDirect(4096);
+  }
+
+  @Benchmark
+  public byte[] stream() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    this.writer.write(this.chunk, output);
+    return output.toByteArray();
+  }
+
+  @Benchmark
+  public ByteBuffer heapBuffer() throws IOException {
+    this.heap.clear();
+    return this.heap = this.writer.write(this.chunk, this.heap);
+  }
+
+  @Benchmark
+  public ByteBuffer directBuffer() throws IOException {
+    this.direct.clear();
+    return this.direct = this.writer.write(this.chunk, this.direct);
+  }
+
+  @Benchmark
+  public long size() {
+    return this.writer.size(this.chunk);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading many GZIP compressed files, one after another and in parallel with a number of threads.
+ *
+ * <p>The files are small enough to stay in the page cache, so this measures decompressing and
+ * decoding rather than the disk. Compare the {@code threads} results to see how reading scales with
+ * the available cores.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkReadBenchmark {
+  private static final int FILES = 64;
+  private final BinaryTagIO.Reader reader = BinaryTagIO.unlimitedReader();
+  @Param({"1", "2", "4", "8"})
+  private int threads;
+  private ExecutorService executor;
+  private Path directory;
+  private final List<Path> paths = new ArrayList<>();
+
+  @Setup
+  public void setup() throws IOException {
+    this.executor = Executors.newFixedThreadPool(this.threads);
+    this.directory = Files.createTempDirectory("adventure-nbt");
+    for (int i = 0; i < FILES; i++) {
+      final Path path = this.directory.resolve(i + ".dat");
+      BinaryTagIO.writer().write(BinaryTagFixtures.chunk(i), path, BinaryTagIO.Compression.GZIP);
+      this.paths.add(path);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    this.executor.shutdown();
+    for (final Path path : this.paths) {
+      Files.delete(path);
+    }
+    Files.delete(this.directory);
+  }
+
+  @Benchmark
+  public int sequential() throws IOException {
+    int size = 0;
+    for (final Path path : this.paths) {
+      size += this.reader.read(path, BinaryTagIO.Compression.GZIP).keySet().size();
+    }
+    return size;
+  }
+
+  @Benchmark
+  public int readAll() {
+    final AtomicInteger size = new AtomicInteger();
+    this.reader.readAll(this.paths, BinaryTagIO.Compression.GZIP, this.executor, (path, tag) -> size.addAndGet(tag.keySet().size())).join();
+    return size.get();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures editing compound tags one key at a time, and reading compound tags that were built at
+ * once and that were built by edits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompoundBinaryTagBenchmark {
+  @Param({"16", "200"})
+  private int size;
+  private String[] keys;
+  private CompoundBinaryTag built;
+  private CompoundBinaryTag edited;
+
+  @Setup
+  public void setup() {
+    this.keys = new String[this.size];
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+    for (int i = 0; i < this.size; i++) {
+      this.keys[i] = "key" + i;
+      builder.putInt(this.keys[i], i);
+    }
+    this.built = builder.build();
+    this.edited = this.putChain();
+  }
+
+  @Benchmark
+  public CompoundBinaryTag putChain() {
+    CompoundBinaryTag tag = CompoundBinaryTag.empty();
+    for (int i = 0; i < this.keys.length; i++) {
+      tag = tag.putInt(this.keys[i], i);
+    }
+    return tag;
+  }
+
+  @Benchmark
+  public CompoundBinaryTag putOnce() {
+    return this.built.putInt(this.keys[0], -1);
+  }
+
+  @Benchmark
+  public CompoundBinaryTag putOnceEdited() {
+    return this.edited.putInt(this.keys[0], -1);
+  }
+
+  @Benchmark
+  public int getBuilt() {
+    return get(this.built, this.keys);
+  }
+
+  @Benchmark
+  public int getEdited() {
+    return get(this.edited, this.keys);
+  }
+
+  private static int get(final CompoundBinaryTag tag, final String[] keys) {
+    int sum = 0;
+    for (final String key : keys) {
+      sum += tag.getInt(key);
+    }
+    return sum;
+  }
+}
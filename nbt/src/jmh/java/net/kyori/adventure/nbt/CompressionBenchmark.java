@@ -0,0 +1,93 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing and reading a compressed chunk.
+ *
+ * <p>{@code zlib-1} is the fastest compression level, as used for chunks that are saved often.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+  private final BinaryTagIO.Reader reader = BinaryTagIO.unlimitedReader();
+  private final BinaryTagIO.Writer writer = BinaryTagIO.writer();
+  @Param({"gzip", "zlib", "zlib-1"})
+  private String compression;
+  private BinaryTagIO.Compression instance;
+  private CompoundBinaryTag chunk;
+  private byte[] compressed;
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+  @Setup
+  public void setup() {
+    switch (this.compression) {
+      case "gzip":
+        this.instance = BinaryTagIO.Compression.GZIP;
+        break;
+      case "zlib":
+        this.instance = BinaryTagIO.Compression.ZLIB;
+        break;
+      case "zlib-1":
+        this.instance = BinaryTagIO.Compression.zlib(1);
+        break;
+      default:
+        throw new IllegalArgumentException(this.compression);
+    }
+    this.chunk = BinaryTagFixtures.chunk(0);
+    this.compressed = BinaryTagFixtures.write(this.chunk, this.instance);
+  }
+
+  @Benchmark
+  public int compress() throws IOException {
+    this.output.reset();
+    this.writer.write(this.chunk, this.output, this.instance);
+    return this.output.size();
+  }
+
+  @Benchmark
+  public CompoundBinaryTag decompress() throws IOException {
+    return this.reader.read(new ByteArrayInputStream(this.compressed), this.instance);
+  }
+}
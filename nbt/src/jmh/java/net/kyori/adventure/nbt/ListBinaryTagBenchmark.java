@@ -0,0 +1,117 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures editing list tags one element at a time, and reading list tags that were built at
+ * once and that were built by edits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBinaryTagBenchmark {
+  @Param({"16", "1000"})
+  private int size;
+  private StringBinaryTag[] elements;
+  private ListBinaryTag built;
+  private ListBinaryTag edited;
+
+  @Setup
+  public void setup() {
+    this.elements = new StringBinaryTag[this.size];
+    final ListBinaryTag.Builder<StringBinaryTag> builder = ListBinaryTag.builder(BinaryTagTypes.STRING);
+    for (int i = 0; i < this.size; i++) {
+      this.elements[i] = StringBinaryTag.of("element" + i);
+      builder.add(this.elements[i]);
+    }
+    this.built = builder.build();
+    this.edited = this.addChain();
+  }
+
+  @Benchmark
+  public ListBinaryTag addChain() {
+    ListBinaryTag tag = ListBinaryTag.empty();
+    for (final StringBinaryTag element : this.elements) {
+      tag = tag.add(element);
+    }
+    return tag;
+  }
+
+  @Benchmark
+  public ListBinaryTag setOnceEdited() {
+    return this.edited.set(this.size / 2, this.elements[0], null);
+  }
+
+  @Benchmark
+  public int getBuilt() {
+    return get(this.built);
+  }
+
+  @Benchmark
+  public int getEdited() {
+    return get(this.edited);
+  }
+
+  @Benchmark
+  public int iterateBuilt() {
+    return iterate(this.built);
+  }
+
+  @Benchmark
+  public int iterateEdited() {
+    return iterate(this.edited);
+  }
+
+  private static int get(final ListBinaryTag tag) {
+    int sum = 0;
+    for (int i = 0, size = tag.size(); i < size; i++) {
+      sum += tag.getString(i).length();
+    }
+    return sum;
+  }
+
+  private static int iterate(final ListBinaryTag tag) {
+    int sum = 0;
+    for (final BinaryTag element : tag) {
+      sum += ((StringBinaryTag) element).value().length();
+    }
+    return sum;
+  }
+}
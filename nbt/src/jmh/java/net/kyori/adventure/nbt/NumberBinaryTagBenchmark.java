@@ -0,0 +1,93 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures reading item data, where most numbers are small counts, slots and damage values.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate. The {@code shared} and {@code allocated}
+ * benchmarks create tags for the same values as the items, through the cache and bypassing it.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberBinaryTagBenchmark {
+  private ByteBuffer inventory;
+  private int[] values;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(0);
+    final ListBinaryTag.Builder<CompoundBinaryTag> items = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+    for (int slot = 0; slot < 36; slot++) {
+      items.add(BinaryTagFixtures.item(random, slot));
+    }
+    final CompoundBinaryTag player = CompoundBinaryTag.builder().put("Inventory", items.build()).build();
+    this.inventory = ByteBuffer.wrap(BinaryTagFixtures.write(player));
+
+    this.values = new int[36 * 4];
+    for (int i = 0; i < this.values.length; i++) {
+      this.values[i] = random.nextInt(250);
+    }
+  }
+
+  @Benchmark
+  public CompoundBinaryTag read() throws IOException {
+    this.inventory.position(0);
+    return BinaryTagIO.reader().read(this.inventory);
+  }
+
+  @Benchmark
+  public void shared(final Blackhole blackhole) {
+    for (final int value : this.values) {
+      blackhole.consume(IntBinaryTag.of(value));
+    }
+  }
+
+  @Benchmark
+  public void allocated(final Blackhole blackhole) {
+    for (final int value : this.values) {
+      blackhole.consume(new IntBinaryTagImpl(value));
+    }
+  }
+}
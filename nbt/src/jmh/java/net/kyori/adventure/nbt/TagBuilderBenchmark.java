@@ -0,0 +1,99 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures filling a builder and building it once, with and without a size hint.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation per built tag.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagBuilderBenchmark {
+  @Param({"8", "64"})
+  private int size;
+  private String[] keys;
+  private IntBinaryTag[] values;
+
+  @Setup
+  public void setup() {
+    this.keys = new String[this.size];
+    this.values = new IntBinaryTag[this.size];
+    for (int i = 0; i < this.size; i++) {
+      this.keys[i] = "key" + i;
+      this.values[i] = IntBinaryTag.of(i);
+    }
+  }
+
+  @Benchmark
+  public CompoundBinaryTag compound() {
+    return this.fill(CompoundBinaryTag.builder());
+  }
+
+  @Benchmark
+  public CompoundBinaryTag compoundSized() {
+    return this.fill(CompoundBinaryTag.builder(this.size));
+  }
+
+  @Benchmark
+  public ListBinaryTag list() {
+    return this.fill(ListBinaryTag.builder(BinaryTagTypes.STRING));
+  }
+
+  @Benchmark
+  public ListBinaryTag listSized() {
+    return this.fill(ListBinaryTag.builder(BinaryTagTypes.STRING, this.size));
+  }
+
+  private CompoundBinaryTag fill(final CompoundBinaryTag.Builder builder) {
+    for (int i = 0; i < this.keys.length; i++) {
+      builder.put(this.keys[i], this.values[i]);
+    }
+    return builder.build();
+  }
+
+  private ListBinaryTag fill(final ListBinaryTag.Builder<StringBinaryTag> builder) {
+    for (final String key : this.keys) {
+      builder.add(StringBinaryTag.of(key));
+    }
+    return builder.build();
+  }
+}
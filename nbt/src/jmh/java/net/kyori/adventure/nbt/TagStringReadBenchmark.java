@@ -0,0 +1,96 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing string tags with {@link TagStringIO#asCompound(String)}.
+ *
+ * <p>The {@code items} and {@code entity} inputs are mostly numbers, written the way
+ * {@link TagStringIO#asString(CompoundBinaryTag)} writes them. The {@code unquoted} input is
+ * mostly unquoted strings, which are read as scalars that turn out not to be numbers.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagStringReadBenchmark {
+  private static final String[] WORDS = {"survival", "hard", "north", "oak", "minecraft.stone", "12ab", "-", "e5", "true", "false", "0x1F"};
+
+  @Param({"items", "entity", "unquoted"})
+  private String input;
+  private String snbt;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(0);
+    final CompoundBinaryTag tag;
+    if (this.input.equals("items")) {
+      final ListBinaryTag.Builder<CompoundBinaryTag> items = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+      for (int slot = 0; slot < 36; slot++) {
+        items.add(BinaryTagFixtures.item(random, slot));
+      }
+      tag = CompoundBinaryTag.builder().put("Inventory", items.build()).build();
+    } else if (this.input.equals("entity")) {
+      tag = BinaryTagFixtures.entity(random);
+    } else {
+      final StringBuilder builder = new StringBuilder("{");
+      for (int i = 0; i < 256; i++) {
+        if (i != 0) {
+          builder.append(',');
+        }
+        builder.append("key").append(i).append(':').append(WORDS[random.nextInt(WORDS.length)]);
+      }
+      this.snbt = builder.append('}').toString();
+      return;
+    }
+    try {
+      this.snbt = TagStringIO.get().asString(tag);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Benchmark
+  public CompoundBinaryTag asCompound() throws IOException {
+    return TagStringIO.get().asCompound(this.snbt);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures converting between binary and string tags, through a tree of tags and transcoded directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagStringTranscodeBenchmark {
+  @Param({"items", "entity"})
+  private String input;
+  private byte[] binary;
+  private String snbt;
+  private ByteBuffer target;
+  private StringBuilder builder;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(0);
+    final CompoundBinaryTag tag;
+    if (this.input.equals("items")) {
+      final ListBinaryTag.Builder<CompoundBinaryTag> items = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+      for (int slot = 0; slot < 36; slot++) {
+        items.add(BinaryTagFixtures.item(random, slot));
+      }
+      tag = CompoundBinaryTag.builder().put("Inventory", items.build()).build();
+    } else {
+      tag = BinaryTagFixtures.entity(random);
+    }
+    try {
+      final ByteBuffer buffer = BinaryTagIO.writer().write(tag, ByteBuffer.allocate(1 << 16));
+      buffer.flip();
+      this.binary = new byte[buffer.remaining()];
+      buffer.get(this.binary);
+      this.snbt = TagStringIO.get().asString(tag);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    this.target = ByteBuffer.allocate(this.binary.length * 2);
+    this.builder = new StringBuilder(this.snbt.length() * 2);
+  }
+
+  @Benchmark
+  public String binaryToStringTree() throws IOException {
+    return TagStringIO.get().asString(BinaryTagIO.reader().read(ByteBuffer.wrap(this.binary)));
+  }
+
+  @Benchmark
+  public int binaryToStringTranscoded() throws IOException {
+    this.builder.setLength(0);
+    BinaryTagIO.reader().visit(ByteBuffer.wrap(this.binary), TagStringIO.get().visitor(this.builder));
+    return this.builder.length();
+  }
+
+  @Benchmark
+  public ByteBuffer stringToBinaryTree() throws IOException {
+    this.target.clear();
+    return BinaryTagIO.writer().write(TagStringIO.get().asCompound(this.snbt), this.target);
+  }
+
+  @Benchmark
+  public byte[] stringToBinaryTranscoded() throws IOException {
+    return TagStringIO.get().asBinary(this.snbt);
+  }
+}
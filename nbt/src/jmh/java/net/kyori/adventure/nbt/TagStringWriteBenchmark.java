@@ -0,0 +1,85 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing tags as strings.
+ *
+ * <p>The {@code item} input is a single item, the size of the tags sent with every item hover
+ * event, and {@code chunk} is dominated by large long array tags.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagStringWriteBenchmark {
+  @Param({"item", "entity", "chunk"})
+  private String input;
+  private CompoundBinaryTag tag;
+  private final StringBuilder builder = new StringBuilder();
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(0);
+    if (this.input.equals("item")) {
+      this.tag = BinaryTagFixtures.item(random, 0);
+      while (!this.tag.keySet().contains("tag")) {
+        this.tag = BinaryTagFixtures.item(random, 0);
+      }
+    } else if (this.input.equals("entity")) {
+      this.tag = BinaryTagFixtures.entity(random);
+    } else {
+      this.tag = BinaryTagFixtures.chunk(0);
+    }
+  }
+
+  @Benchmark
+  public String asString() throws IOException {
+    return TagStringIO.get().asString(this.tag);
+  }
+
+  @Benchmark
+  public StringBuilder toAppendable() throws IOException {
+    this.builder.setLength(0);
+    TagStringIO.get().toAppendable(this.tag, this.builder);
+    return this.builder;
+  }
+}
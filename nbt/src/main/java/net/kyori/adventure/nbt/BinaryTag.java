@@ -40,6 +40,24 @@ public interface BinaryTag extends BinaryTagLike, Examinable {
    */
   @NotNull BinaryTagType<? extends BinaryTag> type();
 
+  /**
+   * Gets a 64-bit fingerprint of the contents of this tag.
+   *
+   * <p>Equal tags always have equal fingerprints, and unequal tags have different fingerprints with
+   * overwhelming probability, even when their contents are chosen to collide: fingerprints are keyed with a
+   * secret picked at random when the JVM starts. Fingerprints can key in-memory caches and deduplicate tags
+   * without holding onto them, but differ between runs, so they must not be stored or sent elsewhere.</p>
+   *
+   * <p>Compound and list tags compute their fingerprint from those of their contents when first asked,
+   * and keep it.</p>
+   *
+   * @return the fingerprint
+   * @since 4.9.0
+   */
+  default long fingerprint() {
+    return BinaryTagFingerprints.fingerprintOf(this);
+  }
+
   @Override
   default @NotNull BinaryTag asBinaryTag() {
     return this;
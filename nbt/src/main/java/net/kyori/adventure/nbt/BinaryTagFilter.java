@@ -0,0 +1,154 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A set of paths to tags, used to only read part of a tag.
+ *
+ * <p>Paths are made of keys separated by {@code .}, where a key followed by {@code [*]} selects every
+ * element of a list tag, such as {@code Level.Sections[*].BlockStates}.</p>
+ *
+ * <p>A tag at the end of a path is read in full, compound and list tags leading to it only contain
+ * what is selected, and everything else is skipped over.</p>
+ */
+final class BinaryTagFilter {
+  private @Nullable Map<String, BinaryTagFilter> keys;
+  private @Nullable BinaryTagFilter elements;
+  private boolean all;
+
+  static BinaryTagFilter of(final Iterable<String> paths) {
+    final BinaryTagFilter root = new BinaryTagFilter();
+    for (final String path : paths) {
+      root.add(path);
+    }
+    return root;
+  }
+
+  private void add(final String path) {
+    BinaryTagFilter node = this;
+    int start = 0;
+    final int length = path.length();
+    while (true) {
+      int end = start;
+      while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+        end++;
+      }
+      if (end == start) {
+        throw new IllegalArgumentException("Empty key at index " + start + " of path '" + path + "'");
+      }
+      node = node.key(path.substring(start, end));
+      while (path.startsWith("[*]", end)) {
+        node = node.elements();
+        end += 3;
+      }
+      if (end == length) {
+        break;
+      } else if (path.charAt(end) != '.') {
+        throw new IllegalArgumentException("Unexpected '" + path.charAt(end) + "' at index " + end + " of path '" + path + "'");
+      }
+      start = end + 1;
+    }
+    node.all = true;
+  }
+
+  private BinaryTagFilter key(final String key) {
+    if (this.keys == null) {
+      this.keys = new HashMap<>();
+    }
+    return this.keys.computeIfAbsent(key, k -> new BinaryTagFilter());
+  }
+
+  private BinaryTagFilter elements() {
+    if (this.elements == null) {
+      this.elements = new BinaryTagFilter();
+    }
+    return this.elements;
+  }
+
+  // reads a compound tag, the input positioned after its type id and name
+  @SuppressWarnings("try")
+  CompoundBinaryTag readCompound(final DataInput input) throws IOException {
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input)) {
+      final Map<String, BinaryTag> tags = new HashMap<>();
+      BinaryTagType<? extends BinaryTag> type;
+      while ((type = BinaryTagType.of(input.readByte())) != BinaryTagTypes.END) {
+        final String key = input.readUTF();
+        final @Nullable BinaryTagFilter child = this.keys == null ? null : this.keys.get(key);
+        if (child == null) {
+          type.skip(input);
+          continue;
+        }
+        final @Nullable BinaryTag tag = child.read(type, input);
+        if (tag != null) {
+          tags.put(key, tag);
+        } else {
+          tags.remove(key); // the later of duplicate keys wins, even when not selected
+        }
+      }
+      return new CompoundBinaryTagImpl(tags);
+    }
+  }
+
+  // reads or skips a tag selected by this filter, returning null if skipped
+  private @Nullable BinaryTag read(final BinaryTagType<? extends BinaryTag> type, final DataInput input) throws IOException {
+    if (this.all) {
+      return type.read(input);
+    } else if (type == BinaryTagTypes.COMPOUND && this.keys != null) {
+      return this.readCompound(input);
+    } else if (type == BinaryTagTypes.LIST && this.elements != null) {
+      return this.elements.readElements(input);
+    }
+    type.skip(input);
+    return null;
+  }
+
+  @SuppressWarnings("try")
+  private @Nullable ListBinaryTag readElements(final DataInput input) throws IOException {
+    final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
+    final int length = input.readInt();
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input, (long) length * BinaryTagSizes.minimumSizeOf(type))) {
+      final List<BinaryTag> tags = new ArrayList<>(Math.max(0, length));
+      for (int i = 0; i < length; i++) {
+        final @Nullable BinaryTag tag = this.read(type, input);
+        if (tag == null) {
+          // not the structure this filter selects, so nothing in the list is
+          for (int j = i + 1; j < length; j++) {
+            type.skip(input);
+          }
+          return null;
+        }
+        tags.add(tag);
+      }
+      return ListBinaryTag.of(type, tags);
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Computes 64-bit fingerprints of the contents of binary tags.
+ *
+ * <p>Fingerprints only depend on what {@code equals} compares, so equal tags always have equal fingerprints:
+ * compound tags hash their entries in sorted order, and list tags do not include their element type.</p>
+ *
+ * <p>Every tag is hashed with SipHash-2-4, keyed with a secret drawn from {@link SecureRandom} when this class
+ * is loaded. Without the key, the fingerprint of a tag cannot be predicted, so contents cannot be chosen to
+ * collide, and unequal tags only share a fingerprint by chance: about once in 2<sup>25</sup> sets of a million
+ * distinct tags. Containers hash the fingerprints of their elements rather than their contents, which keeps
+ * cached fingerprints useful, and prefix every value with its type and length so no two encodings overlap.</p>
+ */
+final class BinaryTagFingerprints {
+  private static final long K0;
+  private static final long K1;
+
+  static {
+    final SecureRandom random = new SecureRandom();
+    K0 = random.nextLong();
+    K1 = random.nextLong();
+  }
+
+  private BinaryTagFingerprints() {
+  }
+
+  static long fingerprintOf(final BinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = tag.type();
+    switch (type.id()) {
+      case 1: // byte
+        return ofValue(type, ((ByteBinaryTag) tag).value());
+      case 2: // short
+        return ofValue(type, ((ShortBinaryTag) tag).value());
+      case 3: // int
+        return ofValue(type, ((IntBinaryTag) tag).value());
+      case 4: // long
+        return ofValue(type, ((LongBinaryTag) tag).value());
+      case 5: // float
+        return ofValue(type, Float.floatToIntBits(((FloatBinaryTag) tag).value()));
+      case 6: // double
+        return ofValue(type, Double.doubleToLongBits(((DoubleBinaryTag) tag).value()));
+      case 7: // byte array
+        return ofByteArray(ByteArrayBinaryTagImpl.value((ByteArrayBinaryTag) tag));
+      case 8: // string
+        return ofString(type, ((StringBinaryTag) tag).value());
+      case 9: // list
+        if (tag instanceof ListBinaryTagImpl) {
+          return tag.fingerprint();
+        }
+        return fingerprintOfList((ListBinaryTag) tag);
+      case 10: // compound
+        if (tag instanceof CompoundBinaryTagImpl) {
+          return tag.fingerprint();
+        }
+        return fingerprintOfCompound((CompoundBinaryTag) tag);
+      case 11: // int array
+        return ofIntArray(IntArrayBinaryTagImpl.value((IntArrayBinaryTag) tag));
+      case 12: // long array
+        return ofLongArray(LongArrayBinaryTagImpl.value((LongArrayBinaryTag) tag));
+      default:
+        return new SipHash().add(type.id()).finish();
+    }
+  }
+
+  static long fingerprintOfList(final ListBinaryTag tag) {
+    final SipHash hash = new SipHash().add(BinaryTagTypes.LIST.id()).add(tag.size());
+    for (final BinaryTag element : tag) {
+      hash.add(fingerprintOf(element));
+    }
+    return hash.finish();
+  }
+
+  static long fingerprintOfCompound(final CompoundBinaryTag tag) {
+    long[] entries = new long[tag.keySet().size()];
+    int size = 0;
+    for (final Map.Entry<String, ? extends BinaryTag> entry : tag) {
+      if (size == entries.length) {
+        entries = Arrays.copyOf(entries, size * 2 + 1);
+      }
+      entries[size++] = new SipHash().add(ofString(BinaryTagTypes.STRING, entry.getKey())).add(fingerprintOf(entry.getValue())).finish();
+    }
+    Arrays.sort(entries, 0, size); // entries are hashed in sorted order, as their order does not matter
+    final SipHash hash = new SipHash().add(BinaryTagTypes.COMPOUND.id()).add(size);
+    for (int i = 0; i < size; i++) {
+      hash.add(entries[i]);
+    }
+    return hash.finish();
+  }
+
+  private static long ofValue(final BinaryTagType<? extends BinaryTag> type, final long value) {
+    return new SipHash().add(type.id()).add(value).finish();
+  }
+
+  private static long ofString(final BinaryTagType<? extends BinaryTag> type, final String value) {
+    final int length = value.length();
+    final SipHash hash = new SipHash().add(type.id()).add(length);
+    int i = 0;
+    for (; i + 4 <= length; i += 4) {
+      hash.add((long) value.charAt(i) << 48 | (long) value.charAt(i + 1) << 32 | (long) value.charAt(i + 2) << 16 | value.charAt(i + 3));
+    }
+    if (i < length) {
+      long tail = 0;
+      for (; i < length; i++) {
+        tail = tail << 16 | value.charAt(i);
+      }
+      hash.add(tail);
+    }
+    return hash.finish();
+  }
+
+  private static long ofByteArray(final byte[] value) {
+    final SipHash hash = new SipHash().add(BinaryTagTypes.BYTE_ARRAY.id()).add(value.length);
+    int i = 0;
+    for (; i + 8 <= value.length; i += 8) {
+      long packed = 0;
+      for (int j = 0; j < 8; j++) {
+        packed = packed << 8 | (value[i + j] & 0xff);
+      }
+      hash.add(packed);
+    }
+    if (i < value.length) {
+      long tail = 0;
+      for (; i < value.length; i++) {
+        tail = tail << 8 | (value[i] & 0xff);
+      }
+      hash.add(tail);
+    }
+    return hash.finish();
+  }
+
+  private static long ofIntArray(final int[] value) {
+    final SipHash hash = new SipHash().add(BinaryTagTypes.INT_ARRAY.id()).add(value.length);
+    int i = 0;
+    for (; i + 2 <= value.length; i += 2) {
+      hash.add((long) value[i] << 32 | (value[i + 1] & 0xffffffffL));
+    }
+    if (i < value.length) {
+      hash.add(value[i] & 0xffffffffL);
+    }
+    return hash.finish();
+  }
+
+  private static long ofLongArray(final long[] value) {
+    final SipHash hash = new SipHash().add(BinaryTagTypes.LONG_ARRAY.id()).add(value.length);
+    for (final long element : value) {
+      hash.add(element);
+    }
+    return hash.finish();
+  }
+
+  // SipHash-2-4 over a sequence of 64-bit words
+  private static final class SipHash {
+    private long v0 = K0 ^ 0x736f6d6570736575L;
+    private long v1 = K1 ^ 0x646f72616e646f6dL;
+    private long v2 = K0 ^ 0x6c7967656e657261L;
+    private long v3 = K1 ^ 0x7465646279746573L;
+    private int words;
+
+    SipHash add(final long word) {
+      this.v3 ^= word;
+      this.round();
+      this.round();
+      this.v0 ^= word;
+      this.words++;
+      return this;
+    }
+
+    long finish() {
+      final long last = (long) (this.words << 3) << 56; // the length in bytes, modulo 256
+      this.v3 ^= last;
+      this.round();
+      this.round();
+      this.v0 ^= last;
+      this.v2 ^= 0xff;
+      this.round();
+      this.round();
+      this.round();
+      this.round();
+      return this.v0 ^ this.v1 ^ this.v2 ^ this.v3;
+    }
+
+    private void round() {
+      this.v0 += this.v1;
+      this.v1 = Long.rotateLeft(this.v1, 13);
+      this.v1 ^= this.v0;
+      this.v0 = Long.rotateLeft(this.v0, 32);
+      this.v2 += this.v3;
+      this.v3 = Long.rotateLeft(this.v3, 16);
+      this.v3 ^= this.v2;
+      this.v0 += this.v3;
+      this.v3 = Long.rotateLeft(this.v3, 21);
+      this.v3 ^= this.v0;
+      this.v2 += this.v1;
+      this.v1 = Long.rotateLeft(this.v1, 17);
+      this.v1 ^= this.v2;
+      this.v2 = Long.rotateLeft(this.v2, 32);
+    }
+  }
+}
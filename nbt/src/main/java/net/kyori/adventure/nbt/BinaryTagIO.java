@@ -23,17 +23,22 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.BufferedInputStream;
 import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Map;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
-import java.util.zip.InflaterInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.zip.Deflater;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -98,6 +103,23 @@ public final class BinaryTagIO {
     return BinaryTagWriterImpl.INSTANCE;
   }
 
+  /**
+   * Gets the exact number of bytes the payload of {@code tag} occupies when written.
+   *
+   * <p>This does not include the type id or name written before a tag inside of a compound tag, or at
+   * the root. Strings are measured in the modified UTF-8 encoding used when writing.</p>
+   *
+   * <p>The size of compound and list tags is computed once, and remembered for later calls.</p>
+   *
+   * @param tag the tag
+   * @return the size of the tag, in bytes
+   * @see Writer#size(CompoundBinaryTag)
+   * @since 4.9.0
+   */
+  public static long sizeOf(final @NotNull BinaryTag tag) {
+    return BinaryTagSizes.sizeOf(tag);
+  }
+
   /**
    * Reads a compound tag from {@code path}.
    *
@@ -244,6 +266,16 @@ public final class BinaryTagIO {
    * @since 4.4.0
    */
   public interface Reader {
+    /**
+     * Creates a new builder, to configure a {@link Reader}.
+     *
+     * @return a new builder
+     * @since 4.9.0
+     */
+    static @NotNull Builder builder() {
+      return new BinaryTagReaderBuilder();
+    }
+
     /**
      * Reads a binary tag from {@code path}.
      *
@@ -304,6 +336,52 @@ public final class BinaryTagIO {
      */
     @NotNull CompoundBinaryTag read(final @NotNull DataInput input) throws IOException;
 
+    /**
+     * Reads a binary tag from {@code buffer}.
+     *
+     * <p>The tag is read starting at the current position of the buffer. Any kind of buffer may be
+     * used, including direct buffers and files mapped into memory with
+     * {@link java.nio.channels.FileChannel#map}. Data is always read as big-endian, regardless of the
+     * {@link ByteBuffer#order() order} of the buffer.</p>
+     *
+     * <p>Once the tag has been read, the position of the buffer is advanced past the end of the tag.</p>
+     *
+     * <p>The readers provided by {@link BinaryTagIO} read directly from the buffer. Other readers
+     * read through {@link #read(DataInput)} by default.</p>
+     *
+     * @param buffer the buffer
+     * @return a binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @since 4.9.0
+     */
+    default @NotNull CompoundBinaryTag read(final @NotNull ByteBuffer buffer) throws IOException {
+      return this.read((DataInput) new DataInputStream(IOStreamUtil.inputStream(buffer)));
+    }
+
+    /**
+     * Reads binary tags from many paths in parallel, with a {@code compression} type.
+     *
+     * <p>Each path is read by a task on {@code executor}, such as a {@link java.util.concurrent.ForkJoinPool},
+     * and {@code consumer} is called with each tag as soon as it has been read. As the consumer may be called from
+     * several threads at once, it must be thread-safe.</p>
+     *
+     * <p>The returned future completes once every path has been read. If any path could not be read, the remaining
+     * paths are still read, and the future then completes exceptionally with the {@link java.io.UncheckedIOException}
+     * of the path that failed first. If {@code executor} rejects a task, no more paths are submitted, and the future
+     * completes exceptionally with the {@link java.util.concurrent.RejectedExecutionException} once the paths already
+     * submitted have been read.</p>
+     *
+     * @param paths the paths
+     * @param compression the compression type
+     * @param executor the executor to read on
+     * @param consumer the consumer of each path and the tag read from it
+     * @return a future that completes once every path has been read
+     * @since 4.9.0
+     */
+    default @NotNull CompletableFuture<Void> readAll(final @NotNull Collection<? extends Path> paths, final @NotNull Compression compression, final @NotNull Executor executor, final @NotNull BiConsumer<? super Path, ? super CompoundBinaryTag> consumer) {
+      return BinaryTagReaderImpl.readAll(paths, executor, path -> this.read(path, compression), consumer);
+    }
+
     /**
      * Reads a binary tag, with a name, from {@code path}.
      *
@@ -363,6 +441,202 @@ public final class BinaryTagIO {
      * @since 4.4.0
      */
     Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull DataInput input) throws IOException;
+
+    /**
+     * Reads a binary tag, with a name, from {@code buffer}.
+     *
+     * <p>The position of the buffer is advanced past the end of the tag once it has been read.</p>
+     *
+     * @param buffer the buffer
+     * @return a binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #read(ByteBuffer)
+     * @since 4.9.0
+     */
+    default Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull ByteBuffer buffer) throws IOException {
+      return this.readNamed((DataInput) new DataInputStream(IOStreamUtil.inputStream(buffer)));
+    }
+
+    /**
+     * Visits a binary tag, with a name, from {@code path}.
+     *
+     * <p>This is the equivalent of passing {@code Compression#NONE} as the second parameter to {@link #visit(Path, Compression, BinaryTagVisitor)}.</p>
+     *
+     * @param path the path
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @since 4.9.0
+     */
+    default void visit(final @NotNull Path path, final @NotNull BinaryTagVisitor visitor) throws IOException {
+      this.visit(path, Compression.NONE, visitor);
+    }
+
+    /**
+     * Visits a binary tag, with a name, from {@code path}.
+     *
+     * @param path the path
+     * @param compression the compression type
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #visit(DataInput, BinaryTagVisitor)
+     * @since 4.9.0
+     */
+    default void visit(final @NotNull Path path, final @NotNull Compression compression, final @NotNull BinaryTagVisitor visitor) throws IOException {
+      try(final InputStream is = Files.newInputStream(path)) {
+        this.visit(is, compression, visitor);
+      }
+    }
+
+    /**
+     * Visits a binary tag, with a name, from {@code input}.
+     *
+     * <p>This is the equivalent of passing {@code Compression#NONE} as the second parameter to {@link #visit(InputStream, Compression, BinaryTagVisitor)}.</p>
+     *
+     * @param input the input stream
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @since 4.9.0
+     */
+    default void visit(final @NotNull InputStream input, final @NotNull BinaryTagVisitor visitor) throws IOException {
+      this.visit(input, Compression.NONE, visitor);
+    }
+
+    /**
+     * Visits a binary tag, with a name, from {@code input}.
+     *
+     * @param input the input stream
+     * @param compression the compression type
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #visit(DataInput, BinaryTagVisitor)
+     * @since 4.9.0
+     */
+    default void visit(final @NotNull InputStream input, final @NotNull Compression compression, final @NotNull BinaryTagVisitor visitor) throws IOException {
+      try(final DataInputStream dis = new DataInputStream(new BufferedInputStream(compression.decompress(IOStreamUtil.closeShield(input))))) {
+        this.visit((DataInput) dis, visitor);
+      }
+    }
+
+    /**
+     * Visits a binary tag, with a name, from {@code input}.
+     *
+     * <p>The tag is reported to {@code visitor} as it is read, without building any tags. Parts of
+     * the tag that the visitor skips are skipped over without being decoded. The same limits as
+     * when reading a tag apply. Readers not provided by {@link BinaryTagIO} apply the limits of
+     * {@link BinaryTagIO#reader()} by default.</p>
+     *
+     * <p>If the visitor {@link BinaryTagVisitor.Action#HALT halts}, reading stops immediately, leaving
+     * the rest of the tag unread.</p>
+     *
+     * @param input the input
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @since 4.9.0
+     */
+    default void visit(final @NotNull DataInput input, final @NotNull BinaryTagVisitor visitor) throws IOException {
+      BinaryTagWalker.walkRoot(input instanceof TrackingDataInput ? input : new TrackingDataInput(input, BinaryTagReaderImpl.DEFAULT_MAX_BYTES), visitor);
+    }
+
+    /**
+     * Visits a binary tag, with a name, from {@code buffer}.
+     *
+     * <p>The position of the buffer is advanced past the part of the tag that was read.</p>
+     *
+     * @param buffer the buffer
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #visit(DataInput, BinaryTagVisitor)
+     * @see #read(ByteBuffer)
+     * @since 4.9.0
+     */
+    default void visit(final @NotNull ByteBuffer buffer, final @NotNull BinaryTagVisitor visitor) throws IOException {
+      this.visit((DataInput) new DataInputStream(IOStreamUtil.inputStream(buffer)), visitor);
+    }
+
+    /**
+     * A builder for a {@link Reader}.
+     *
+     * @since 4.9.0
+     */
+    interface Builder {
+      /**
+       * Sets the limit for the approximate number of bytes read for a tag.
+       *
+       * <p>By default, the same limit as {@link BinaryTagIO#reader()} is used.</p>
+       *
+       * @param sizeLimitBytes the size limit, in bytes
+       * @return this builder
+       * @since 4.9.0
+       */
+      @NotNull Builder maxBytes(final long sizeLimitBytes);
+
+      /**
+       * Removes the limit for the number of bytes read for a tag.
+       *
+       * @return this builder
+       * @since 4.9.0
+       */
+      @NotNull Builder unlimited();
+
+      /**
+       * Sets whether compound tags read from a {@link ByteBuffer} are decoded on demand.
+       *
+       * <p>When enabled, reading a compound tag only decodes its keys. The value of an entry is
+       * decoded the first time it is requested, so reading a few keys from a large tag avoids
+       * decoding the rest. Modifying a compound tag decodes all of its entries.</p>
+       *
+       * <p>Tags read this way refer back to the buffer they were read from, which must not be
+       * modified for as long as the tags are in use. As values are decoded later, malformed data
+       * encountered at that point is reported with an {@link java.io.UncheckedIOException}.</p>
+       *
+       * <p>Tags read from any other source are always fully decoded.</p>
+       *
+       * @param lazy whether to decode compound tags on demand
+       * @return this builder
+       * @since 4.9.0
+       */
+      @NotNull Builder lazy(final boolean lazy);
+
+      /**
+       * Sets whether strings read by the reader are shared between tags.
+       *
+       * <p>When enabled, the reader remembers short strings it has decoded, such as the keys of
+       * compound tags, and returns the same string instance when it reads the same bytes again
+       * instead of decoding them into a new one. This saves memory and decoding time when
+       * reading many tags with the same keys. The reader only remembers a bounded number of
+       * strings, shared between all tags it reads.</p>
+       *
+       * @param deduplicateStrings whether to share strings between tags
+       * @return this builder
+       * @since 4.9.0
+       */
+      @NotNull Builder deduplicateStrings(final boolean deduplicateStrings);
+
+      /**
+       * Only reads the tags at {@code paths}, skipping over everything else without decoding it.
+       *
+       * <p>A path is made of keys separated by {@code .}, and a key followed by {@code [*]} selects
+       * every element of a list tag, such as {@code Level.Sections[*].BlockStates}. Tags at the end
+       * of a path are read in full, and the compound and list tags leading to them only contain
+       * what is selected. If a tag does not have the structure a path expects, it is left out.</p>
+       *
+       * <p>By default, all tags are read. Paths accumulate over multiple calls.</p>
+       *
+       * @param paths the paths
+       * @return this builder
+       * @throws IllegalArgumentException if a path is malformed
+       * @since 4.9.0
+       */
+      @NotNull Builder include(final @NotNull String@NotNull... paths);
+
+      /**
+       * Builds.
+       *
+       * @return a reader
+       * @since 4.9.0
+       */
+      @NotNull Reader build();
+    }
   }
 
   /**
@@ -426,6 +700,42 @@ public final class BinaryTagIO {
      */
     void write(final @NotNull CompoundBinaryTag tag, final @NotNull DataOutput output) throws IOException;
 
+    /**
+     * Writes a binary tag to {@code buffer}.
+     *
+     * <p>The tag is written directly into the buffer, starting at its current position, which is then
+     * advanced past the end of the tag. Data is always written as big-endian, regardless of the
+     * {@link ByteBuffer#order() order} of the buffer.</p>
+     *
+     * <p>If {@code buffer} does not have enough space remaining for the tag, a new buffer is allocated
+     * with room for the tag, and the contents of {@code buffer} up to its position are copied into it
+     * before writing. {@link #size(CompoundBinaryTag)} can be used to size buffers in advance.</p>
+     *
+     * @param tag the tag
+     * @param buffer the buffer
+     * @return the buffer the tag was written into, either {@code buffer} or its larger replacement
+     * @throws IOException if an exception was encountered while writing the tag
+     * @since 4.9.0
+     */
+    default @NotNull ByteBuffer write(final @NotNull CompoundBinaryTag tag, final @NotNull ByteBuffer buffer) throws IOException {
+      final ByteBuffer target = BinaryTagWriterImpl.ensureRemaining(buffer, this.size(tag));
+      final ByteBufferDataOutput output = new ByteBufferDataOutput(target);
+      this.write(tag, output);
+      target.position(output.position());
+      return target;
+    }
+
+    /**
+     * Gets the exact number of bytes {@code tag} occupies when written without compression.
+     *
+     * @param tag the tag
+     * @return the size of the tag, in bytes
+     * @since 4.9.0
+     */
+    default long size(final @NotNull CompoundBinaryTag tag) {
+      return BinaryTagSizes.sizeOfNamed("", tag);
+    }
+
     /**
      * Writes a binary tag, with a name, to {@code path}.
      *
@@ -480,6 +790,35 @@ public final class BinaryTagIO {
      * @since 4.4.0
      */
     void writeNamed(final Map.@NotNull Entry<String, CompoundBinaryTag> tag, final @NotNull DataOutput output) throws IOException;
+
+    /**
+     * Writes a binary tag, with a name, to {@code buffer}.
+     *
+     * @param tag the tag
+     * @param buffer the buffer
+     * @return the buffer the tag was written into, either {@code buffer} or its larger replacement
+     * @throws IOException if an exception was encountered while writing the tag
+     * @see #write(CompoundBinaryTag, ByteBuffer)
+     * @since 4.9.0
+     */
+    default @NotNull ByteBuffer writeNamed(final Map.@NotNull Entry<String, CompoundBinaryTag> tag, final @NotNull ByteBuffer buffer) throws IOException {
+      final ByteBuffer target = BinaryTagWriterImpl.ensureRemaining(buffer, this.sizeNamed(tag));
+      final ByteBufferDataOutput output = new ByteBufferDataOutput(target);
+      this.writeNamed(tag, output);
+      target.position(output.position());
+      return target;
+    }
+
+    /**
+     * Gets the exact number of bytes {@code tag} occupies when written, with its name, without compression.
+     *
+     * @param tag the tag
+     * @return the size of the tag, in bytes
+     * @since 4.9.0
+     */
+    default long sizeNamed(final Map.@NotNull Entry<String, CompoundBinaryTag> tag) {
+      return BinaryTagSizes.sizeOfNamed(tag.getKey(), tag.getValue());
+    }
   }
 
   /**
@@ -514,43 +853,65 @@ public final class BinaryTagIO {
      *
      * @since 4.4.0
      */
-    public static final Compression GZIP = new Compression() {
-      @Override
-      @NotNull InputStream decompress(final @NotNull InputStream is) throws IOException {
-        return new GZIPInputStream(is);
-      }
-
-      @Override
-      @NotNull OutputStream compress(final @NotNull OutputStream os) throws IOException {
-        return new GZIPOutputStream(os);
-      }
-
-      @Override
-      public String toString() {
-        return "Compression.GZIP";
-      }
-    };
+    public static final Compression GZIP = new PooledCompression(true, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY, PooledCompression.DEFAULT_BUFFER_SIZE, "Compression.GZIP");
     /**
      * <a href="https://en.wikipedia.org/wiki/Zlib">ZLIB</a> compression.
      *
      * @since 4.6.0
      */
-    public static final Compression ZLIB = new Compression() {
-      @Override
-      @NotNull InputStream decompress(final @NotNull InputStream is) {
-        return new InflaterInputStream(is);
-      }
+    public static final Compression ZLIB = new PooledCompression(false, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY, PooledCompression.DEFAULT_BUFFER_SIZE, "Compression.ZLIB");
 
-      @Override
-      @NotNull OutputStream compress(final @NotNull OutputStream os) {
-        return new DeflaterOutputStream(os);
-      }
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Gzip">GZIP</a> compression with a compression level.
+     *
+     * @param level the compression level, from {@code 0} to {@code 9}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return a compression
+     * @throws IllegalArgumentException if {@code level} is not a valid level
+     * @since 4.9.0
+     */
+    public static @NotNull Compression gzip(final int level) {
+      return gzip(level, Deflater.DEFAULT_STRATEGY, PooledCompression.DEFAULT_BUFFER_SIZE);
+    }
 
-      @Override
-      public String toString() {
-        return "Compression.ZLIB";
-      }
-    };
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Gzip">GZIP</a> compression.
+     *
+     * @param level the compression level, from {@code 0} to {@code 9}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param strategy the compression strategy, one of {@link Deflater#DEFAULT_STRATEGY}, {@link Deflater#FILTERED} or {@link Deflater#HUFFMAN_ONLY}
+     * @param bufferSize the size of the buffer for compressed bytes
+     * @return a compression
+     * @throws IllegalArgumentException if any parameter is not valid
+     * @since 4.9.0
+     */
+    public static @NotNull Compression gzip(final int level, final int strategy, final int bufferSize) {
+      return new PooledCompression(true, level, strategy, bufferSize, null);
+    }
+
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Zlib">ZLIB</a> compression with a compression level.
+     *
+     * @param level the compression level, from {@code 0} to {@code 9}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return a compression
+     * @throws IllegalArgumentException if {@code level} is not a valid level
+     * @since 4.9.0
+     */
+    public static @NotNull Compression zlib(final int level) {
+      return zlib(level, Deflater.DEFAULT_STRATEGY, PooledCompression.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Zlib">ZLIB</a> compression.
+     *
+     * @param level the compression level, from {@code 0} to {@code 9}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param strategy the compression strategy, one of {@link Deflater#DEFAULT_STRATEGY}, {@link Deflater#FILTERED} or {@link Deflater#HUFFMAN_ONLY}
+     * @param bufferSize the size of the buffer for compressed bytes
+     * @return a compression
+     * @throws IllegalArgumentException if any parameter is not valid
+     * @since 4.9.0
+     */
+    public static @NotNull Compression zlib(final int level, final int strategy, final int bufferSize) {
+      return new PooledCompression(false, level, strategy, bufferSize, null);
+    }
 
     abstract @NotNull InputStream decompress(final @NotNull InputStream is) throws IOException;
 
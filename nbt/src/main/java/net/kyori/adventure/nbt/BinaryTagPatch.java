@@ -0,0 +1,100 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The changes between two compound tags.
+ *
+ * <p>A patch records entries removed and set, and for compound and list tags present on both sides,
+ * the changes within them, down to the individual entries and elements that differ. Tags shared by both
+ * sides are recognised by identity without being compared, so diffing a tree against an edited copy of
+ * itself only visits the edited parts.</p>
+ *
+ * <p>A patch is represented as a compound tag, so can be written and read with {@link BinaryTagIO}:</p>
+ *
+ * <pre>{@code
+ * BinaryTagIO.writer().write(BinaryTagPatch.diff(previous, current).asBinaryTag(), output);
+ * final CompoundBinaryTag synced = BinaryTagPatch.from(BinaryTagIO.reader().read(input)).apply(previous);
+ * }</pre>
+ *
+ * @since 4.9.0
+ */
+public interface BinaryTagPatch extends BinaryTagLike {
+  /**
+   * Computes the patch turning {@code from} into {@code to}.
+   *
+   * @param from the original tag
+   * @param to the changed tag
+   * @return a patch
+   * @since 4.9.0
+   */
+  static @NotNull BinaryTagPatch diff(final @NotNull CompoundBinaryTag from, final @NotNull CompoundBinaryTag to) {
+    return BinaryTagPatchImpl.diff(from, to);
+  }
+
+  /**
+   * Gets a patch from its representation as a compound tag.
+   *
+   * <p>The representation is not validated until the patch is applied.</p>
+   *
+   * @param tag the representation of a patch, from {@link #asBinaryTag()}
+   * @return a patch
+   * @since 4.9.0
+   */
+  static @NotNull BinaryTagPatch from(final @NotNull CompoundBinaryTag tag) {
+    return new BinaryTagPatchImpl(tag);
+  }
+
+  /**
+   * Gets whether this patch changes nothing.
+   *
+   * @return whether this patch is empty
+   * @since 4.9.0
+   */
+  boolean isEmpty();
+
+  /**
+   * Applies this patch to {@code tag}.
+   *
+   * <p>The patch is expected to be applied to a tag equal to the one it was computed from. Only the
+   * parts of {@code tag} changed by the patch are checked.</p>
+   *
+   * @param tag the tag to patch
+   * @return the patched tag
+   * @throws IllegalArgumentException if the patch does not apply to {@code tag}, or is not a valid patch
+   * @since 4.9.0
+   */
+  @NotNull CompoundBinaryTag apply(final @NotNull CompoundBinaryTag tag);
+
+  /**
+   * Gets the representation of this patch as a compound tag.
+   *
+   * @return a compound tag
+   * @since 4.9.0
+   */
+  @Override
+  @NotNull CompoundBinaryTag asBinaryTag();
+}
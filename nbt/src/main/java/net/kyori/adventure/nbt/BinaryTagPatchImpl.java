@@ -0,0 +1,296 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A patch, held as its representation as a compound tag.
+ *
+ * <p>A patch of a compound tag has the entries:</p>
+ * <ul>
+ *   <li>{@code -}, a list of the keys removed;</li>
+ *   <li>{@code =}, a compound tag of the entries added or replaced;</li>
+ *   <li>{@code ~}, a compound tag of the patches of compound and list tags changed in place.</li>
+ * </ul>
+ *
+ * <p>A patch of a list tag has the entries:</p>
+ * <ul>
+ *   <li>{@code n}, the new size of the list, if changed;</li>
+ *   <li>{@code i}, the ascending indices of the elements added or replaced, and {@code =}, a list of those elements;</li>
+ *   <li>{@code j}, the indices of the compound and list elements changed in place, and {@code ~}, a list of their patches.</li>
+ * </ul>
+ *
+ * <p>Entries with nothing to record are left out, so the patch of equal tags is an empty compound tag.</p>
+ */
+final class BinaryTagPatchImpl implements BinaryTagPatch {
+  private static final String REMOVED = "-";
+  private static final String SET = "=";
+  private static final String PATCHED = "~";
+  private static final String SIZE = "n";
+  private static final String SET_INDICES = "i";
+  private static final String PATCHED_INDICES = "j";
+
+  private final CompoundBinaryTag tag;
+
+  BinaryTagPatchImpl(final CompoundBinaryTag tag) {
+    this.tag = requireNonNull(tag, "tag");
+  }
+
+  static BinaryTagPatchImpl diff(final CompoundBinaryTag from, final CompoundBinaryTag to) {
+    return new BinaryTagPatchImpl(diffCompound(requireNonNull(from, "from"), requireNonNull(to, "to")));
+  }
+
+  private static CompoundBinaryTag diffCompound(final CompoundBinaryTag from, final CompoundBinaryTag to) {
+    if (from == to) {
+      return CompoundBinaryTag.empty();
+    }
+    final CompoundBinaryTag.Builder patch = CompoundBinaryTag.builder();
+    ListBinaryTag.Builder<StringBinaryTag> removed = null;
+    for (final String key : from.keySet()) {
+      if (to.get(key) == null) {
+        if (removed == null) {
+          removed = ListBinaryTag.builder(BinaryTagTypes.STRING);
+        }
+        removed.add(StringBinaryTag.of(key));
+      }
+    }
+    if (removed != null) {
+      patch.put(REMOVED, removed.build());
+    }
+
+    CompoundBinaryTag.Builder set = null;
+    CompoundBinaryTag.Builder patched = null;
+    for (final Map.Entry<String, ? extends BinaryTag> entry : to) {
+      final BinaryTag value = entry.getValue();
+      final @Nullable BinaryTag previous = from.get(entry.getKey());
+      if (previous == value) {
+        continue;
+      }
+      final @Nullable CompoundBinaryTag nested = previous == null ? null : diffNested(previous, value);
+      if (nested == null) {
+        if (previous == null || !previous.equals(value)) {
+          if (set == null) {
+            set = CompoundBinaryTag.builder();
+          }
+          set.put(entry.getKey(), value);
+        }
+      } else if (!nested.keySet().isEmpty()) {
+        if (patched == null) {
+          patched = CompoundBinaryTag.builder();
+        }
+        patched.put(entry.getKey(), nested);
+      }
+    }
+    if (set != null) {
+      patch.put(SET, set.build());
+    }
+    if (patched != null) {
+      patch.put(PATCHED, patched.build());
+    }
+    return patch.build();
+  }
+
+  // the patch of a compound or list tag changed in place, or null if the tag has to be replaced
+  private static @Nullable CompoundBinaryTag diffNested(final BinaryTag from, final BinaryTag to) {
+    final BinaryTagType<? extends BinaryTag> type = from.type();
+    if (type != to.type()) {
+      return null;
+    } else if (type == BinaryTagTypes.COMPOUND) {
+      return diffCompound((CompoundBinaryTag) from, (CompoundBinaryTag) to);
+    } else if (type == BinaryTagTypes.LIST && ((ListBinaryTag) from).elementType() == ((ListBinaryTag) to).elementType()) {
+      return diffList((ListBinaryTag) from, (ListBinaryTag) to);
+    }
+    return null;
+  }
+
+  private static CompoundBinaryTag diffList(final ListBinaryTag from, final ListBinaryTag to) {
+    final int fromSize = from.size();
+    final int toSize = to.size();
+    final int common = Math.min(fromSize, toSize);
+    final List<BinaryTag> set = new ArrayList<>();
+    final List<BinaryTag> patched = new ArrayList<>();
+    int[] setIndices = null;
+    int[] patchedIndices = null;
+    for (int i = 0; i < toSize; i++) {
+      final BinaryTag value = to.get(i);
+      if (i < common) {
+        final BinaryTag previous = from.get(i);
+        if (previous == value) {
+          continue;
+        }
+        final @Nullable CompoundBinaryTag nested = diffNested(previous, value);
+        if (nested != null) {
+          if (!nested.keySet().isEmpty()) {
+            patchedIndices = add(patchedIndices, patched.size(), i);
+            patched.add(nested);
+          }
+          continue;
+        } else if (previous.equals(value)) {
+          continue;
+        }
+      }
+      setIndices = add(setIndices, set.size(), i);
+      set.add(value);
+    }
+
+    final CompoundBinaryTag.Builder patch = CompoundBinaryTag.builder();
+    if (fromSize != toSize) {
+      patch.putInt(SIZE, toSize);
+    }
+    if (setIndices != null) {
+      patch.putIntArray(SET_INDICES, trim(setIndices, set.size()));
+      patch.put(SET, ListBinaryTag.of(to.elementType(), set));
+    }
+    if (patchedIndices != null) {
+      patch.putIntArray(PATCHED_INDICES, trim(patchedIndices, patched.size()));
+      patch.put(PATCHED, ListBinaryTag.of(BinaryTagTypes.COMPOUND, patched));
+    }
+    return patch.build();
+  }
+
+  private static int[] add(final int@Nullable[] indices, final int size, final int index) {
+    int[] result = indices;
+    if (result == null) {
+      result = new int[4];
+    } else if (size == result.length) {
+      result = Arrays.copyOf(result, size << 1);
+    }
+    result[size] = index;
+    return result;
+  }
+
+  private static int[] trim(final int[] indices, final int size) {
+    return indices.length == size ? indices : Arrays.copyOf(indices, size);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.tag.keySet().isEmpty();
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag apply(final @NotNull CompoundBinaryTag tag) {
+    return applyCompound(requireNonNull(tag, "tag"), this.tag);
+  }
+
+  private static CompoundBinaryTag applyCompound(final CompoundBinaryTag tag, final CompoundBinaryTag patch) {
+    CompoundBinaryTag result = tag;
+    for (final BinaryTag key : patch.getList(REMOVED, BinaryTagTypes.STRING)) {
+      result = result.remove(((StringBinaryTag) key).value());
+    }
+    final CompoundBinaryTag set = patch.getCompound(SET);
+    if (!set.keySet().isEmpty()) {
+      result = result.put(set);
+    }
+    for (final Map.Entry<String, ? extends BinaryTag> entry : patch.getCompound(PATCHED)) {
+      final @Nullable BinaryTag previous = result.get(entry.getKey());
+      if (previous == null) {
+        throw new IllegalArgumentException("Cannot patch missing entry '" + entry.getKey() + "'");
+      }
+      result = result.put(entry.getKey(), applyNested(previous, entry.getValue()));
+    }
+    return result;
+  }
+
+  private static BinaryTag applyNested(final BinaryTag tag, final BinaryTag patch) {
+    if (!(patch instanceof CompoundBinaryTag)) {
+      throw new IllegalArgumentException("Invalid patch: " + patch);
+    } else if (tag instanceof CompoundBinaryTag) {
+      return applyCompound((CompoundBinaryTag) tag, (CompoundBinaryTag) patch);
+    } else if (tag instanceof ListBinaryTag) {
+      return applyList((ListBinaryTag) tag, (CompoundBinaryTag) patch);
+    }
+    throw new IllegalArgumentException("Cannot patch a tag of type " + tag.type() + " in place");
+  }
+
+  private static ListBinaryTag applyList(final ListBinaryTag tag, final CompoundBinaryTag patch) {
+    ListBinaryTag result = tag;
+    final int size = patch.getInt(SIZE, tag.size());
+    while (result.size() > size) {
+      result = result.remove(result.size() - 1, null);
+    }
+
+    final int[] setIndices = patch.getIntArray(SET_INDICES);
+    final ListBinaryTag set = patch.getList(SET);
+    if (setIndices.length != set.size()) {
+      throw new IllegalArgumentException("Invalid patch: " + setIndices.length + " indices for " + set.size() + " elements");
+    }
+    for (int i = 0; i < setIndices.length; i++) {
+      final int index = setIndices[i];
+      if (index == result.size()) {
+        result = result.add(set.get(i));
+      } else if (index >= 0 && index < result.size()) {
+        result = result.set(index, set.get(i), null);
+      } else {
+        throw new IllegalArgumentException("Cannot set element " + index + " of a list of " + result.size());
+      }
+    }
+
+    final int[] patchedIndices = patch.getIntArray(PATCHED_INDICES);
+    final ListBinaryTag patched = patch.getList(PATCHED);
+    if (patchedIndices.length != patched.size()) {
+      throw new IllegalArgumentException("Invalid patch: " + patchedIndices.length + " indices for " + patched.size() + " patches");
+    }
+    for (int i = 0; i < patchedIndices.length; i++) {
+      final int index = patchedIndices[i];
+      if (index < 0 || index >= result.size()) {
+        throw new IllegalArgumentException("Cannot patch element " + index + " of a list of " + result.size());
+      }
+      result = result.set(index, applyNested(result.get(index), patched.get(i)), null);
+    }
+
+    if (result.size() != size) {
+      throw new IllegalArgumentException("Patched list has " + result.size() + " elements, expected " + size);
+    }
+    return result;
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag asBinaryTag() {
+    return this.tag;
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    return this == other || (other instanceof BinaryTagPatchImpl && this.tag.equals(((BinaryTagPatchImpl) other).tag));
+  }
+
+  @Override
+  public int hashCode() {
+    return this.tag.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "BinaryTagPatch" + this.tag;
+  }
+}
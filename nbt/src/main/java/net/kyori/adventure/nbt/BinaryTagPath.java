@@ -0,0 +1,91 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A compiled path selecting tags within a compound tag, in the syntax of vanilla NBT paths.
+ *
+ * <p>A path is a sequence of nodes, each selecting tags within the tags selected by the node before it:</p>
+ * <ul>
+ *   <li>{@code name}, or {@code "name"} when quoted, selects an entry of a compound tag;</li>
+ *   <li>{@code name{id:"x"}} selects an entry of a compound tag, if it matches a compound tag pattern;</li>
+ *   <li>{@code [2]} selects an element of a list tag, with negative indices counting from the end;</li>
+ *   <li>{@code []} selects every element of a list tag;</li>
+ *   <li>{@code [{id:"x"}]} selects every element of a list tag matching a compound tag pattern;</li>
+ *   <li>{@code {id:"x"}}, only at the start of a path, selects the root tag if it matches a compound tag pattern.</li>
+ * </ul>
+ *
+ * <p>Nodes are separated by {@code .}, which may be left out before {@code [}, as in {@code Inventory[0].tag.display.Name}.</p>
+ *
+ * <p>A tag matches a pattern if it contains every entry of the pattern, matching compound tags the same way,
+ * and for lists, an element matching each element of the pattern.</p>
+ *
+ * <p>A path is compiled once, and may be used any number of times, from any thread.</p>
+ *
+ * @since 4.9.0
+ */
+public interface BinaryTagPath {
+  /**
+   * Compiles a path.
+   *
+   * @param path the path
+   * @return a compiled path
+   * @throws IllegalArgumentException if {@code path} is not a valid path
+   * @since 4.9.0
+   */
+  static @NotNull BinaryTagPath compile(final @NotNull String path) {
+    return BinaryTagPathImpl.compile(path);
+  }
+
+  /**
+   * Selects the tags matching this path within {@code tag}.
+   *
+   * @param tag the tag to select from
+   * @return the selected tags, in order, or an empty list if none match
+   * @since 4.9.0
+   */
+  @NotNull List<BinaryTag> select(final @NotNull BinaryTag tag);
+
+  /**
+   * Creates a visitor selecting the tags matching this path, directly from binary input.
+   *
+   * <p>The visitor is driven by a {@link BinaryTagIO.Reader}, skipping over every part of the input
+   * not leading to a selected tag. Only selected tags, and the tags needed to test them against patterns, are built:</p>
+   *
+   * <pre>{@code
+   * BinaryTagIO.reader().visit(input, compression, path.visitor(selected::add));
+   * }</pre>
+   *
+   * <p>When this path can select at most one tag, reading halts once it has been selected. The visitor is single-use.</p>
+   *
+   * @param consumer the consumer of selected tags, called in order
+   * @return a visitor
+   * @since 4.9.0
+   */
+  @NotNull BinaryTagVisitor visitor(final @NotNull Consumer<? super BinaryTag> consumer);
+}
@@ -0,0 +1,515 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+final class BinaryTagPathImpl implements BinaryTagPath {
+  private final String path;
+  private final Node[] nodes;
+  private final boolean single; // whether at most one tag can be selected
+
+  private BinaryTagPathImpl(final String path, final Node[] nodes) {
+    this.path = path;
+    this.nodes = nodes;
+    boolean single = true;
+    for (final Node node : nodes) {
+      if (node instanceof ElementsNode) {
+        single = false;
+        break;
+      }
+    }
+    this.single = single;
+  }
+
+  static BinaryTagPathImpl compile(final String path) {
+    final CharBuffer buffer = new CharBuffer(requireNonNull(path, "path"));
+    final List<Node> nodes = new ArrayList<>();
+    try {
+      if (!buffer.hasMore()) {
+        throw buffer.makeError("Empty path");
+      }
+      while (true) {
+        nodes.add(node(buffer, nodes.isEmpty()));
+        if (!buffer.hasMore()) {
+          break;
+        }
+        final char next = buffer.peek();
+        if (next == '.') {
+          buffer.take();
+          if (!buffer.hasMore()) {
+            throw buffer.makeError("Expected a node after '.'");
+          }
+        } else if (next != Tokens.ARRAY_BEGIN) {
+          throw buffer.makeError("Unexpected '" + next + "'");
+        }
+      }
+    } catch (final StringTagParseException ex) {
+      throw new IllegalArgumentException("Invalid path '" + path + "': " + ex.getMessage(), ex);
+    }
+    return new BinaryTagPathImpl(path, nodes.toArray(new Node[0]));
+  }
+
+  private static Node node(final CharBuffer buffer, final boolean first) throws StringTagParseException {
+    final char c = buffer.peek();
+    switch (c) {
+      case Tokens.COMPOUND_BEGIN:
+        if (!first) {
+          throw buffer.makeError("A compound tag pattern without a key is only allowed at the start of a path");
+        }
+        return new RootNode(pattern(buffer));
+      case Tokens.ARRAY_BEGIN:
+        buffer.take();
+        if (buffer.takeIf(Tokens.ARRAY_END)) {
+          return new ElementsNode(null);
+        } else if (buffer.hasMore() && buffer.peek() == Tokens.COMPOUND_BEGIN) {
+          final CompoundBinaryTag pattern = pattern(buffer);
+          buffer.expect(Tokens.ARRAY_END);
+          return new ElementsNode(pattern);
+        }
+        final String index = buffer.takeUntil(Tokens.ARRAY_END).trim();
+        try {
+          return new IndexNode(Integer.parseInt(index));
+        } catch (final NumberFormatException ex) {
+          throw buffer.makeError("Invalid list index '" + index + "'");
+        }
+      case Tokens.SINGLE_QUOTE:
+      case Tokens.DOUBLE_QUOTE:
+        buffer.take();
+        return key(buffer, buffer.takeUnescapedUntil(c));
+      default:
+        int length = 0;
+        while (buffer.hasMore(length) && unquoted(buffer.peek(length))) {
+          length++;
+        }
+        if (length == 0) {
+          throw buffer.makeError("Expected a key, but got '" + c + "'");
+        }
+        return key(buffer, buffer.take(length));
+    }
+  }
+
+  private static Node key(final CharBuffer buffer, final String key) throws StringTagParseException {
+    if (buffer.hasMore() && buffer.peek() == Tokens.COMPOUND_BEGIN) {
+      return new KeyNode(key, pattern(buffer));
+    }
+    return new KeyNode(key, null);
+  }
+
+  private static CompoundBinaryTag pattern(final CharBuffer buffer) throws StringTagParseException {
+    return new TagStringReader(buffer).compound();
+  }
+
+  private static boolean unquoted(final char c) {
+    return c != ' ' && c != Tokens.SINGLE_QUOTE && c != Tokens.DOUBLE_QUOTE && c != Tokens.ARRAY_BEGIN && c != Tokens.ARRAY_END
+      && c != '.' && c != Tokens.COMPOUND_BEGIN && c != Tokens.COMPOUND_END;
+  }
+
+  // whether tag contains everything in pattern, where each element of a list in pattern matches some element of the list in tag
+  static boolean matches(final BinaryTag pattern, final BinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = pattern.type();
+    if (type != tag.type()) {
+      return false;
+    } else if (type == BinaryTagTypes.COMPOUND) {
+      for (final Map.Entry<String, ? extends BinaryTag> entry : (CompoundBinaryTag) pattern) {
+        final @Nullable BinaryTag value = ((CompoundBinaryTag) tag).get(entry.getKey());
+        if (value == null || !matches(entry.getValue(), value)) {
+          return false;
+        }
+      }
+      return true;
+    } else if (type == BinaryTagTypes.LIST) {
+      final ListBinaryTag elements = (ListBinaryTag) tag;
+      if (((ListBinaryTag) pattern).size() == 0) {
+        return elements.size() == 0;
+      }
+      for (final BinaryTag element : (ListBinaryTag) pattern) {
+        if (!contains(elements, element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return pattern.equals(tag);
+  }
+
+  private static boolean contains(final ListBinaryTag elements, final BinaryTag pattern) {
+    for (final BinaryTag element : elements) {
+      if (matches(pattern, element)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public @NotNull List<BinaryTag> select(final @NotNull BinaryTag tag) {
+    return this.select(0, requireNonNull(tag, "tag"));
+  }
+
+  // applies the nodes from the one at index from onwards
+  private List<BinaryTag> select(final int from, final BinaryTag tag) {
+    List<BinaryTag> tags = Collections.singletonList(tag);
+    for (int i = from; i < this.nodes.length && !tags.isEmpty(); i++) {
+      final List<BinaryTag> selected = new ArrayList<>();
+      for (final BinaryTag parent : tags) {
+        this.nodes[i].select(parent, selected);
+      }
+      tags = selected;
+    }
+    return tags;
+  }
+
+  @Override
+  public @NotNull BinaryTagVisitor visitor(final @NotNull Consumer<? super BinaryTag> consumer) {
+    return new Visitor(requireNonNull(consumer, "consumer"));
+  }
+
+  @Override
+  public String toString() {
+    return this.path;
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    return this == other || (other instanceof BinaryTagPathImpl && this.path.equals(((BinaryTagPathImpl) other).path));
+  }
+
+  @Override
+  public int hashCode() {
+    return this.path.hashCode();
+  }
+
+  abstract static class Node {
+    final @Nullable CompoundBinaryTag pattern;
+
+    Node(final @Nullable CompoundBinaryTag pattern) {
+      this.pattern = pattern;
+    }
+
+    // adds the tags this node selects within tag to selected
+    abstract void select(final BinaryTag tag, final List<BinaryTag> selected);
+
+    final boolean test(final BinaryTag tag) {
+      return this.pattern == null || matches(this.pattern, tag);
+    }
+  }
+
+  static final class RootNode extends Node {
+    RootNode(final CompoundBinaryTag pattern) {
+      super(pattern);
+    }
+
+    @Override
+    void select(final BinaryTag tag, final List<BinaryTag> selected) {
+      if (this.test(tag)) {
+        selected.add(tag);
+      }
+    }
+  }
+
+  static final class KeyNode extends Node {
+    final String key;
+
+    KeyNode(final String key, final @Nullable CompoundBinaryTag pattern) {
+      super(pattern);
+      this.key = key;
+    }
+
+    @Override
+    void select(final BinaryTag tag, final List<BinaryTag> selected) {
+      if (tag instanceof CompoundBinaryTag) {
+        final @Nullable BinaryTag value = ((CompoundBinaryTag) tag).get(this.key);
+        if (value != null && this.test(value)) {
+          selected.add(value);
+        }
+      }
+    }
+  }
+
+  static final class IndexNode extends Node {
+    final int index;
+
+    IndexNode(final int index) {
+      super(null);
+      this.index = index;
+    }
+
+    // the index selected in a list of size elements, which may be out of range
+    int index(final int size) {
+      return this.index < 0 ? size + this.index : this.index;
+    }
+
+    @Override
+    void select(final BinaryTag tag, final List<BinaryTag> selected) {
+      if (tag instanceof ListBinaryTag) {
+        final ListBinaryTag list = (ListBinaryTag) tag;
+        final int index = this.index(list.size());
+        if (index >= 0 && index < list.size()) {
+          selected.add(list.get(index));
+        }
+      }
+    }
+  }
+
+  static final class ElementsNode extends Node {
+    ElementsNode(final @Nullable CompoundBinaryTag pattern) {
+      super(pattern);
+    }
+
+    @Override
+    void select(final BinaryTag tag, final List<BinaryTag> selected) {
+      if (tag instanceof ListBinaryTag) {
+        for (final BinaryTag element : (ListBinaryTag) tag) {
+          if (this.test(element)) {
+            selected.add(element);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Selects tags from binary input.
+   *
+   * <p>Compound and list tags leading to selected tags are navigated without being built, skipping
+   * every entry or element not selected by the next node. A tag selected by the last node, or a node
+   * with a pattern, is captured in full, and any remaining nodes are applied to it as a tree.</p>
+   */
+  final class Visitor implements BinaryTagVisitor {
+    private final Consumer<? super BinaryTag> consumer;
+    private boolean root = true;
+    private int step; // the node selecting within the compound or list tag being navigated
+    private int index; // the index selected by an index node in the list tag being navigated
+    private int[] navigated = new int[16]; // the step and index of each enclosing compound or list tag
+    private int depth;
+    private int capture = -1; // the node that selected the tag being captured, if any
+    private final List<Capture> captures = new ArrayList<>();
+
+    Visitor(final Consumer<? super BinaryTag> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public @NotNull Action visitKey(final @NotNull String key, final @NotNull BinaryTagType<? extends BinaryTag> type) {
+      if (this.capture != -1) {
+        this.captures.get(this.captures.size() - 1).key = key;
+        return Action.CONTINUE;
+      }
+      final Node node = BinaryTagPathImpl.this.nodes[this.step];
+      if (this.root) {
+        this.root = false;
+        if (node instanceof RootNode) {
+          this.capture = 0;
+          return Action.CONTINUE;
+        }
+        return node instanceof KeyNode ? Action.CONTINUE : Action.SKIP;
+      }
+      if (!(node instanceof KeyNode) || !((KeyNode) node).key.equals(key)) {
+        return Action.SKIP;
+      }
+      return this.enter(node, type);
+    }
+
+    @Override
+    public @NotNull Action visitListElement(final int index, final @NotNull BinaryTagType<? extends BinaryTag> type) {
+      if (this.capture != -1) {
+        return Action.CONTINUE;
+      }
+      final Node node = BinaryTagPathImpl.this.nodes[this.step];
+      if (node instanceof IndexNode && index != this.index) {
+        return Action.SKIP;
+      }
+      return this.enter(node, type);
+    }
+
+    // enters a tag of type, selected by node
+    private Action enter(final Node node, final BinaryTagType<? extends BinaryTag> type) {
+      final Node[] nodes = BinaryTagPathImpl.this.nodes;
+      if (this.step + 1 == nodes.length || node.pattern != null) {
+        this.capture = this.step;
+        return Action.CONTINUE;
+      }
+      if (type != (nodes[this.step + 1] instanceof KeyNode ? BinaryTagTypes.COMPOUND : BinaryTagTypes.LIST)) {
+        return Action.SKIP;
+      }
+      if (this.depth == this.navigated.length) {
+        this.navigated = Arrays.copyOf(this.navigated, this.depth << 1);
+      }
+      this.navigated[this.depth++] = this.step++;
+      this.navigated[this.depth++] = this.index;
+      return Action.CONTINUE;
+    }
+
+    private void leave() {
+      if (this.depth != 0) { // the root tag is not entered
+        this.index = this.navigated[--this.depth];
+        this.step = this.navigated[--this.depth];
+      }
+    }
+
+    @Override
+    public @NotNull Action visitCompoundStart() {
+      if (this.capture != -1) {
+        this.captures.add(new Capture(null));
+      }
+      return Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitCompoundEnd() {
+      if (this.capture != -1) {
+        return this.captured(new CompoundBinaryTagImpl(this.captures.remove(this.captures.size() - 1).tags));
+      }
+      this.leave();
+      return Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitListStart(final @NotNull BinaryTagType<? extends BinaryTag> elementType, final int size) {
+      if (this.capture != -1) {
+        this.captures.add(new Capture(elementType));
+        return Action.CONTINUE;
+      }
+      final Node node = BinaryTagPathImpl.this.nodes[this.step];
+      if (node instanceof IndexNode) {
+        this.index = ((IndexNode) node).index(size);
+        if (this.index < 0 || this.index >= size) {
+          this.leave();
+          return Action.SKIP;
+        }
+      }
+      return Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitListEnd() {
+      if (this.capture != -1) {
+        final Capture list = this.captures.remove(this.captures.size() - 1);
+        return this.captured(ListBinaryTag.of(list.elementType, list.elements));
+      }
+      this.leave();
+      return Action.CONTINUE;
+    }
+
+    private Action captured(final BinaryTag tag) {
+      if (!this.captures.isEmpty()) {
+        this.captures.get(this.captures.size() - 1).add(tag);
+        return Action.CONTINUE;
+      }
+      final int step = this.capture;
+      this.capture = -1;
+      if (!BinaryTagPathImpl.this.nodes[step].test(tag)) {
+        return Action.CONTINUE;
+      }
+      final List<BinaryTag> selected = BinaryTagPathImpl.this.select(step + 1, tag);
+      for (final BinaryTag each : selected) {
+        this.consumer.accept(each);
+      }
+      return BinaryTagPathImpl.this.single && !selected.isEmpty() ? Action.HALT : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitByte(final byte value) {
+      return this.capture != -1 ? this.captured(ByteBinaryTag.of(value)) : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitShort(final short value) {
+      return this.capture != -1 ? this.captured(ShortBinaryTag.of(value)) : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitInt(final int value) {
+      return this.capture != -1 ? this.captured(IntBinaryTag.of(value)) : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitLong(final long value) {
+      return this.capture != -1 ? this.captured(LongBinaryTag.of(value)) : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitFloat(final float value) {
+      return this.capture != -1 ? this.captured(FloatBinaryTag.of(value)) : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitDouble(final double value) {
+      return this.capture != -1 ? this.captured(DoubleBinaryTag.of(value)) : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitString(final @NotNull String value) {
+      return this.capture != -1 ? this.captured(StringBinaryTag.of(value)) : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitByteArray(final byte@NotNull[] value) {
+      return this.capture != -1 ? this.captured(new ByteArrayBinaryTagImpl(value)) : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitIntArray(final int@NotNull[] value) {
+      return this.capture != -1 ? this.captured(new IntArrayBinaryTagImpl(value)) : Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitLongArray(final long@NotNull[] value) {
+      return this.capture != -1 ? this.captured(new LongArrayBinaryTagImpl(value)) : Action.CONTINUE;
+    }
+  }
+
+  // a compound or list tag being captured
+  static final class Capture {
+    final @Nullable BinaryTagType<? extends BinaryTag> elementType;
+    final Map<String, BinaryTag> tags;
+    final List<BinaryTag> elements;
+    @Nullable String key;
+
+    Capture(final @Nullable BinaryTagType<? extends BinaryTag> elementType) {
+      this.elementType = elementType;
+      this.tags = elementType == null ? new HashMap<>() : Collections.emptyMap();
+      this.elements = elementType == null ? Collections.emptyList() : new ArrayList<>();
+    }
+
+    void add(final BinaryTag tag) {
+      if (this.elementType == null) {
+        this.tags.put(this.key, tag);
+      } else {
+        this.elements.add(tag);
+      }
+    }
+  }
+}
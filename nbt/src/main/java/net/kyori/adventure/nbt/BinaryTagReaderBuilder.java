@@ -0,0 +1,76 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+final class BinaryTagReaderBuilder implements BinaryTagIO.Reader.Builder {
+  private long maxBytes = BinaryTagReaderImpl.DEFAULT_MAX_BYTES;
+  private boolean lazy;
+  private boolean deduplicateStrings;
+  private final List<String> paths = new ArrayList<>();
+
+  @Override
+  public BinaryTagIO.Reader.@NotNull Builder maxBytes(final long sizeLimitBytes) {
+    if (sizeLimitBytes <= 0) {
+      throw new IllegalArgumentException("The size limit must be greater than zero");
+    }
+    this.maxBytes = sizeLimitBytes;
+    return this;
+  }
+
+  @Override
+  public BinaryTagIO.Reader.@NotNull Builder unlimited() {
+    this.maxBytes = -1L;
+    return this;
+  }
+
+  @Override
+  public BinaryTagIO.Reader.@NotNull Builder lazy(final boolean lazy) {
+    this.lazy = lazy;
+    return this;
+  }
+
+  @Override
+  public BinaryTagIO.Reader.@NotNull Builder deduplicateStrings(final boolean deduplicateStrings) {
+    this.deduplicateStrings = deduplicateStrings;
+    return this;
+  }
+
+  @Override
+  public BinaryTagIO.Reader.@NotNull Builder include(final @NotNull String@NotNull... paths) {
+    final List<String> added = Arrays.asList(paths);
+    BinaryTagFilter.of(added); // fail early on malformed paths
+    this.paths.addAll(added);
+    return this;
+  }
+
+  @Override
+  public BinaryTagIO.@NotNull Reader build() {
+    return new BinaryTagReaderImpl(this.maxBytes, this.lazy, this.paths.isEmpty() ? null : BinaryTagFilter.of(this.paths), this.deduplicateStrings ? new StringTable() : null);
+  }
+}
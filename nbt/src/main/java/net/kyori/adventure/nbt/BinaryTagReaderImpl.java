@@ -26,24 +26,52 @@ package net.kyori.adventure.nbt;
 import java.io.BufferedInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import static java.util.Objects.requireNonNull;
 import static net.kyori.adventure.nbt.IOStreamUtil.closeShield;
 
 @SuppressWarnings("DuplicatedCode")
 final class BinaryTagReaderImpl implements BinaryTagIO.Reader {
+  static final long DEFAULT_MAX_BYTES = 0x20_00a;
   private final long maxBytes;
+  private final boolean lazy;
+  private final @Nullable BinaryTagFilter filter;
+  private final @Nullable StringTable strings;
   static final BinaryTagIO.Reader UNLIMITED = new BinaryTagReaderImpl(-1L);
-  static final BinaryTagIO.Reader DEFAULT_LIMIT = new BinaryTagReaderImpl(0x20_00a);
+  static final BinaryTagIO.Reader DEFAULT_LIMIT = new BinaryTagReaderImpl(DEFAULT_MAX_BYTES);
 
   BinaryTagReaderImpl(final long maxBytes) {
+    this(maxBytes, false, null, null);
+  }
+
+  BinaryTagReaderImpl(final long maxBytes, final boolean lazy, final @Nullable BinaryTagFilter filter, final @Nullable StringTable strings) {
     this.maxBytes = maxBytes;
+    this.lazy = lazy;
+    this.filter = filter;
+    this.strings = strings;
   }
 
   @Override
@@ -60,16 +88,185 @@ final class BinaryTagReaderImpl implements BinaryTagIO.Reader {
     }
   }
 
+  @Override
+  public @NotNull CompletableFuture<Void> readAll(final @NotNull Collection<? extends Path> paths, final BinaryTagIO.@NotNull Compression compression, final @NotNull Executor executor, final @NotNull BiConsumer<? super Path, ? super CompoundBinaryTag> consumer) {
+    return readAll(paths, executor, path -> this.readBuffered(path, compression), consumer);
+  }
+
+  static CompletableFuture<Void> readAll(final Collection<? extends Path> paths, final Executor executor, final PathReader reader, final BiConsumer<? super Path, ? super CompoundBinaryTag> consumer) {
+    requireNonNull(consumer, "consumer");
+    return forEachAsync(paths, executor, path -> {
+      final CompoundBinaryTag tag;
+      try {
+        tag = reader.read(path);
+      } catch (final IOException ex) {
+        throw new UncheckedIOException("Failed to read " + path, ex);
+      }
+      consumer.accept(path, tag);
+    });
+  }
+
+  /**
+   * Runs {@code task} for each item on {@code executor}.
+   *
+   * <p>The returned future completes once every submitted task has finished, exceptionally with the
+   * first exception thrown by a task, or with the {@link RejectedExecutionException} if the executor
+   * rejected a task. No more tasks are submitted after a rejection.</p>
+   *
+   * @param items the items
+   * @param executor the executor
+   * @param task the task
+   * @param <T> the type of items
+   * @return a future that completes once every task has finished
+   */
+  static <T> CompletableFuture<Void> forEachAsync(final Iterable<? extends T> items, final Executor executor, final Consumer<? super T> task) {
+    final CompletableFuture<Void> result = new CompletableFuture<>();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    // one more than the number of running tasks, until every task has been submitted
+    final AtomicInteger pending = new AtomicInteger(1);
+    for (final T item : items) {
+      pending.incrementAndGet();
+      try {
+        executor.execute(() -> {
+          try {
+            task.accept(item);
+          } catch (final Throwable ex) {
+            failure.compareAndSet(null, ex);
+          }
+          finish(result, pending, failure);
+        });
+      } catch (final RejectedExecutionException ex) {
+        failure.compareAndSet(null, ex);
+        pending.decrementAndGet();
+        break;
+      }
+    }
+    finish(result, pending, failure);
+    return result;
+  }
+
+  private static void finish(final CompletableFuture<Void> result, final AtomicInteger pending, final AtomicReference<Throwable> failure) {
+    if (pending.decrementAndGet() == 0) {
+      final @Nullable Throwable ex = failure.get();
+      if (ex == null) {
+        result.complete(null);
+      } else {
+        result.completeExceptionally(ex);
+      }
+    }
+  }
+
+  // reads the whole file, and decompresses it, into buffers that are reused by each thread, then reads the tag from memory
+  private CompoundBinaryTag readBuffered(final Path path, final BinaryTagIO.Compression compression) throws IOException {
+    final ReadBuffers buffers = ReadBuffers.get();
+    try {
+      ByteBuffer bytes = buffers.readFile(path);
+      if (compression != BinaryTagIO.Compression.NONE) {
+        try(final InputStream is = compression.decompress(IOStreamUtil.inputStream(bytes))) {
+          bytes = buffers.decompress(is, this.maxBytes);
+        }
+      }
+      if (this.lazy) {
+        // lazily read tags keep the buffer, so they cannot share one
+        final byte[] copy = new byte[bytes.remaining()];
+        bytes.get(copy);
+        bytes = ByteBuffer.wrap(copy);
+      }
+      return this.read(bytes);
+    } finally {
+      buffers.release();
+    }
+  }
+
+  @FunctionalInterface
+  interface PathReader {
+    CompoundBinaryTag read(final Path path) throws IOException;
+  }
+
+  /**
+   * The buffers of one thread for reading whole files.
+   */
+  static final class ReadBuffers {
+    private static final int INITIAL_CAPACITY = 8192;
+    // don't hold on to the buffers for unusually large files
+    private static final int MAX_POOLED_CAPACITY = 1 << 20;
+    private static final ThreadLocal<ReadBuffers> BUFFERS = ThreadLocal.withInitial(ReadBuffers::new);
+    private byte[] file = new byte[INITIAL_CAPACITY];
+    private byte[] decompressed = new byte[INITIAL_CAPACITY];
+
+    static ReadBuffers get() {
+      return BUFFERS.get();
+    }
+
+    ByteBuffer readFile(final Path path) throws IOException {
+      try(final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE - 8) {
+          throw new IOException("File is too large to read: " + size + " bytes");
+        }
+        if (this.file.length < size) {
+          this.file = new byte[(int) size];
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(this.file, 0, (int) size);
+        while (buffer.hasRemaining()) {
+          if (channel.read(buffer) == -1) {
+            break;
+          }
+        }
+        buffer.flip();
+        return buffer;
+      }
+    }
+
+    ByteBuffer decompress(final InputStream input, final long maxBytes) throws IOException {
+      // a tag can be at most maxBytes long, so reading one more byte is enough to fail when it is too long
+      final long limit = maxBytes > 0 && maxBytes < Integer.MAX_VALUE - 8 ? maxBytes + 1 : Integer.MAX_VALUE - 8;
+      int length = 0;
+      while (length < limit) {
+        if (length == this.decompressed.length) {
+          this.decompressed = Arrays.copyOf(this.decompressed, (int) Math.min(limit, this.decompressed.length * 2L));
+        }
+        final int read = input.read(this.decompressed, length, (int) Math.min(limit - length, this.decompressed.length - length));
+        if (read == -1) {
+          break;
+        }
+        length += read;
+      }
+      return ByteBuffer.wrap(this.decompressed, 0, length);
+    }
+
+    void release() {
+      if (this.file.length > MAX_POOLED_CAPACITY) {
+        this.file = new byte[INITIAL_CAPACITY];
+      }
+      if (this.decompressed.length > MAX_POOLED_CAPACITY) {
+        this.decompressed = new byte[INITIAL_CAPACITY];
+      }
+    }
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag read(final @NotNull ByteBuffer buffer) throws IOException {
+    final ByteBufferDataInput input = new ByteBufferDataInput(buffer, buffer.position(), this.maxBytes, this.lazy, this.strings);
+    try {
+      final CompoundBinaryTag tag = this.read((DataInput) input);
+      buffer.position(input.position());
+      return tag;
+    } catch (final BufferUnderflowException ex) {
+      throw underflow(ex);
+    }
+  }
+
   @Override
   public @NotNull CompoundBinaryTag read(@NotNull DataInput input) throws IOException {
-    if (!(input instanceof TrackingDataInput)) {
-      input = new TrackingDataInput(input, this.maxBytes);
+    if (!(input instanceof TrackingDataInput) && !(input instanceof ByteBufferDataInput)) {
+      input = new TrackingDataInput(input, this.maxBytes, this.strings);
     }
 
     final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
     requireCompound(type);
     input.skipBytes(input.readUnsignedShort()); // read empty name
-    return BinaryTagTypes.COMPOUND.read(input);
+    return this.readRoot(input);
   }
 
   @Override
@@ -87,14 +284,62 @@ final class BinaryTagReaderImpl implements BinaryTagIO.Reader {
   }
 
   @Override
-  public Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull DataInput input) throws IOException {
+  public Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull ByteBuffer buffer) throws IOException {
+    final ByteBufferDataInput input = new ByteBufferDataInput(buffer, buffer.position(), this.maxBytes, this.lazy, this.strings);
+    try {
+      final Map.Entry<String, CompoundBinaryTag> tag = this.readNamed((DataInput) input);
+      buffer.position(input.position());
+      return tag;
+    } catch (final BufferUnderflowException ex) {
+      throw underflow(ex);
+    }
+  }
+
+  @Override
+  public Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(@NotNull DataInput input) throws IOException {
+    if (!(input instanceof TrackingDataInput) && !(input instanceof ByteBufferDataInput)) {
+      input = new TrackingDataInput(input, this.maxBytes, this.strings);
+    }
+
     final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
     requireCompound(type);
     final String name = input.readUTF();
-    return new AbstractMap.SimpleImmutableEntry<>(name, BinaryTagTypes.COMPOUND.read(input));
+    return new AbstractMap.SimpleImmutableEntry<>(name, this.readRoot(input));
+  }
+
+  private CompoundBinaryTag readRoot(final DataInput input) throws IOException {
+    if (this.filter != null) {
+      return this.filter.readCompound(input);
+    }
+    return BinaryTagTypes.COMPOUND.read(input);
+  }
+
+  @Override
+  public void visit(final @NotNull ByteBuffer buffer, final @NotNull BinaryTagVisitor visitor) throws IOException {
+    final ByteBufferDataInput input = new ByteBufferDataInput(buffer, buffer.position(), this.maxBytes, false, this.strings);
+    try {
+      this.visit((DataInput) input, visitor);
+      buffer.position(input.position());
+    } catch (final BufferUnderflowException ex) {
+      throw underflow(ex);
+    }
+  }
+
+  @Override
+  public void visit(@NotNull DataInput input, final @NotNull BinaryTagVisitor visitor) throws IOException {
+    if (!(input instanceof TrackingDataInput) && !(input instanceof ByteBufferDataInput)) {
+      input = new TrackingDataInput(input, this.maxBytes, this.strings);
+    }
+    BinaryTagWalker.walkRoot(input, visitor);
+  }
+
+  private static IOException underflow(final BufferUnderflowException ex) {
+    final EOFException eof = new EOFException("Reached end of buffer before the end of the tag");
+    eof.initCause(ex);
+    return eof;
   }
 
-  private static void requireCompound(final BinaryTagType<? extends BinaryTag> type) throws IOException {
+  static void requireCompound(final BinaryTagType<? extends BinaryTag> type) throws IOException {
     if (type != BinaryTagTypes.COMPOUND) {
       throw new IOException(String.format("Expected root tag to be a %s, was %s", BinaryTagTypes.COMPOUND, type));
     }
@@ -0,0 +1,121 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.Map;
+
+/**
+ * Computes the number of bytes binary tags occupy when written.
+ */
+final class BinaryTagSizes {
+  private BinaryTagSizes() {
+  }
+
+  // the size of the payload written by BinaryTagType#write, not including any type id or name
+  static long sizeOf(final BinaryTag tag) {
+    switch (tag.type().id()) {
+      case 0: // end
+        return 0;
+      case 1: // byte
+        return 1;
+      case 2: // short
+        return 2;
+      case 3: // int
+      case 5: // float
+        return 4;
+      case 4: // long
+      case 6: // double
+        return 8;
+      case 7: // byte array
+        return 4 + (long) ((ByteArrayBinaryTag) tag).size();
+      case 8: // string
+        return 2 + ModifiedUtf8.encodedLength(((StringBinaryTag) tag).value());
+      case 9: // list
+        if (tag instanceof ListBinaryTagImpl) {
+          return ((ListBinaryTagImpl) tag).encodedSize();
+        }
+        return sizeOfList((ListBinaryTag) tag);
+      case 10: // compound
+        if (tag instanceof CompoundBinaryTagImpl) {
+          return ((CompoundBinaryTagImpl) tag).encodedSize();
+        }
+        return sizeOfCompound((CompoundBinaryTag) tag);
+      case 11: // int array
+        return 4 + 4L * ((IntArrayBinaryTag) tag).size();
+      case 12: // long array
+        return 4 + 8L * ((LongArrayBinaryTag) tag).size();
+      default:
+        throw new IllegalArgumentException("Unknown tag type: " + tag.type());
+    }
+  }
+
+  // the smallest payload a tag of this type can have, used to bound the storage for list elements before they are read
+  static int minimumSizeOf(final BinaryTagType<? extends BinaryTag> type) {
+    switch (type.id()) {
+      case 2: // short
+      case 8: // string
+        return 2;
+      case 3: // int
+      case 5: // float
+      case 7: // byte array
+      case 11: // int array
+      case 12: // long array
+        return 4;
+      case 4: // long
+      case 6: // double
+        return 8;
+      case 9: // list
+        return 5;
+      default: // byte, compound, and end, which takes no bytes but still takes a slot in the list
+        return 1;
+    }
+  }
+
+  static long sizeOfList(final ListBinaryTag tag) {
+    long size = 1 + 4; // element type, length
+    for (final BinaryTag element : tag) {
+      size += sizeOf(element);
+    }
+    return size;
+  }
+
+  static long sizeOfCompound(final CompoundBinaryTag tag) {
+    long size = 1; // end
+    for (final Map.Entry<String, ? extends BinaryTag> entry : tag) {
+      final BinaryTag value = entry.getValue();
+      if (value != null) {
+        size += 1; // type
+        if (value.type() != BinaryTagTypes.END) {
+          size += sizeOfNamed(entry.getKey(), value) - 1;
+        }
+      }
+    }
+    return size;
+  }
+
+  // the size of a tag written with its type id and name, as written for the root tag or compound entries
+  static long sizeOfNamed(final String name, final BinaryTag tag) {
+    return 1 + 2 + ModifiedUtf8.encodedLength(name) + sizeOf(tag);
+  }
+}
@@ -26,8 +26,6 @@ package net.kyori.adventure.nbt;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.Predicate;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -39,7 +37,8 @@ import org.jetbrains.annotations.Nullable;
  * @since 4.0.0
  */
 public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<BinaryTagType<? extends BinaryTag>> {
-  private static final List<BinaryTagType<? extends BinaryTag>> TYPES = new ArrayList<>();
+  // indexed by id, looking up a type is done for every tag read
+  private static final BinaryTagType<?>[] TYPES = new BinaryTagType<?>[16];
 
   /**
    * Gets the id.
@@ -71,31 +70,54 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
    */
   public abstract void write(final @NotNull T tag, final @NotNull DataOutput output) throws IOException;
 
+  // skips over a tag of this type, without decoding it
+  abstract void skip(final @NotNull DataInput input) throws IOException;
+
+  static void skipFully(final DataInput input, final long length) throws IOException {
+    if (length < 0) {
+      throw new IOException("Negative length: " + length);
+    }
+    long remaining = length;
+    while (remaining > 0) {
+      final int skipped = input.skipBytes((int) Math.min(remaining, Integer.MAX_VALUE));
+      if (skipped <= 0) {
+        input.readByte(); // skipBytes may make no progress without being at the end, readByte will tell
+        remaining--;
+      } else {
+        remaining -= skipped;
+      }
+    }
+  }
+
   @SuppressWarnings("unchecked") // HACK: generics suck
   static <T extends BinaryTag> void write(final BinaryTagType<? extends BinaryTag> type, final T tag, final DataOutput output) throws IOException {
     ((BinaryTagType<T>) type).write(tag, output);
   }
 
   static @NotNull BinaryTagType<? extends BinaryTag> of(final byte id) {
-    for (int i = 0; i < TYPES.size(); i++) {
-      final BinaryTagType<? extends BinaryTag> type = TYPES.get(i);
-      if (type.id() == id) {
+    if (id >= 0 && id < TYPES.length) {
+      final BinaryTagType<? extends BinaryTag> type = TYPES[id];
+      if (type != null) {
         return type;
       }
     }
     throw new IllegalArgumentException(String.valueOf(id));
   }
 
-  static <T extends BinaryTag> @NotNull BinaryTagType<T> register(final Class<T> type, final byte id, final Reader<T> reader, final @Nullable Writer<T> writer) {
-    return register(new Impl<>(type, id, reader, writer));
+  static <T extends BinaryTag> @NotNull BinaryTagType<T> register(final Class<T> type, final byte id, final Reader<T> reader, final Skipper skipper, final @Nullable Writer<T> writer) {
+    return register(new Impl<>(type, id, reader, skipper, writer));
   }
 
-  static <T extends NumberBinaryTag> @NotNull BinaryTagType<T> registerNumeric(final Class<T> type, final byte id, final Reader<T> reader, final Writer<T> writer) {
-    return register(new Impl.Numeric<>(type, id, reader, writer));
+  static <T extends NumberBinaryTag> @NotNull BinaryTagType<T> registerNumeric(final Class<T> type, final byte id, final Reader<T> reader, final Skipper skipper, final Writer<T> writer) {
+    return register(new Impl.Numeric<>(type, id, reader, skipper, writer));
   }
 
   private static <T extends BinaryTag, Y extends BinaryTagType<T>> Y register(final Y type) {
-    TYPES.add(type);
+    final byte id = type.id();
+    if (TYPES[id] != null) {
+      throw new IllegalStateException("A type with id " + id + " is already registered: " + TYPES[id]);
+    }
+    TYPES[id] = type;
     return type;
   }
 
@@ -108,6 +130,13 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
     @NotNull T read(final @NotNull DataInput input) throws IOException;
   }
 
+  /**
+   * A binary tag skipper.
+   */
+  interface Skipper {
+    void skip(final @NotNull DataInput input) throws IOException;
+  }
+
   /**
    * A binary tag writer.
    *
@@ -126,12 +155,14 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
     final Class<T> type;
     final byte id;
     private final Reader<T> reader;
+    private final Skipper skipper;
     private final @Nullable Writer<T> writer;
 
-    Impl(final Class<T> type, final byte id, final Reader<T> reader, final @Nullable Writer<T> writer) {
+    Impl(final Class<T> type, final byte id, final Reader<T> reader, final Skipper skipper, final @Nullable Writer<T> writer) {
       this.type = type;
       this.id = id;
       this.reader = reader;
+      this.skipper = skipper;
       this.writer = writer;
     }
 
@@ -140,6 +171,11 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
       return this.reader.read(input);
     }
 
+    @Override
+    final void skip(final @NotNull DataInput input) throws IOException {
+      this.skipper.skip(input);
+    }
+
     @Override
     public final void write(final @NotNull T tag, final @NotNull DataOutput output) throws IOException {
       if (this.writer != null) this.writer.write(tag, output);
@@ -161,8 +197,8 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
     }
 
     static class Numeric<T extends BinaryTag> extends Impl<T> {
-      Numeric(final Class<T> type, final byte id, final Reader<T> reader, final @Nullable Writer<T> writer) {
-        super(type, id, reader, writer);
+      Numeric(final Class<T> type, final byte id, final Reader<T> reader, final Skipper skipper, final @Nullable Writer<T> writer) {
+        super(type, id, reader, skipper, writer);
       }
 
       @Override
@@ -39,43 +39,43 @@ public final class BinaryTagTypes {
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<EndBinaryTag> END = BinaryTagType.register(EndBinaryTag.class, (byte) 0, input -> EndBinaryTag.get(), null); // nothing to write
+  public static final BinaryTagType<EndBinaryTag> END = BinaryTagType.register(EndBinaryTag.class, (byte) 0, input -> EndBinaryTag.get(), input -> {}, null); // nothing to write
   /**
    * {@link ByteBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<ByteBinaryTag> BYTE = BinaryTagType.registerNumeric(ByteBinaryTag.class, (byte) 1, input -> ByteBinaryTag.of(input.readByte()), (tag, output) -> output.writeByte(tag.value()));
+  public static final BinaryTagType<ByteBinaryTag> BYTE = BinaryTagType.registerNumeric(ByteBinaryTag.class, (byte) 1, input -> ByteBinaryTag.of(input.readByte()), input -> BinaryTagType.skipFully(input, 1), (tag, output) -> output.writeByte(tag.value()));
   /**
    * {@link ShortBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<ShortBinaryTag> SHORT = BinaryTagType.registerNumeric(ShortBinaryTag.class, (byte) 2, input -> ShortBinaryTag.of(input.readShort()), (tag, output) -> output.writeShort(tag.value()));
+  public static final BinaryTagType<ShortBinaryTag> SHORT = BinaryTagType.registerNumeric(ShortBinaryTag.class, (byte) 2, input -> ShortBinaryTag.of(input.readShort()), input -> BinaryTagType.skipFully(input, 2), (tag, output) -> output.writeShort(tag.value()));
   /**
    * {@link IntBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<IntBinaryTag> INT = BinaryTagType.registerNumeric(IntBinaryTag.class, (byte) 3, input -> IntBinaryTag.of(input.readInt()), (tag, output) -> output.writeInt(tag.value()));
+  public static final BinaryTagType<IntBinaryTag> INT = BinaryTagType.registerNumeric(IntBinaryTag.class, (byte) 3, input -> IntBinaryTag.of(input.readInt()), input -> BinaryTagType.skipFully(input, 4), (tag, output) -> output.writeInt(tag.value()));
   /**
    * {@link LongBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<LongBinaryTag> LONG = BinaryTagType.registerNumeric(LongBinaryTag.class, (byte) 4, input -> LongBinaryTag.of(input.readLong()), (tag, output) -> output.writeLong(tag.value()));
+  public static final BinaryTagType<LongBinaryTag> LONG = BinaryTagType.registerNumeric(LongBinaryTag.class, (byte) 4, input -> LongBinaryTag.of(input.readLong()), input -> BinaryTagType.skipFully(input, 8), (tag, output) -> output.writeLong(tag.value()));
   /**
    * {@link FloatBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<FloatBinaryTag> FLOAT = BinaryTagType.registerNumeric(FloatBinaryTag.class, (byte) 5, input -> FloatBinaryTag.of(input.readFloat()), (tag, output) -> output.writeFloat(tag.value()));
+  public static final BinaryTagType<FloatBinaryTag> FLOAT = BinaryTagType.registerNumeric(FloatBinaryTag.class, (byte) 5, input -> FloatBinaryTag.of(input.readFloat()), input -> BinaryTagType.skipFully(input, 4), (tag, output) -> output.writeFloat(tag.value()));
   /**
    * {@link DoubleBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<DoubleBinaryTag> DOUBLE = BinaryTagType.registerNumeric(DoubleBinaryTag.class, (byte) 6, input -> DoubleBinaryTag.of(input.readDouble()), (tag, output) -> output.writeDouble(tag.value()));
+  public static final BinaryTagType<DoubleBinaryTag> DOUBLE = BinaryTagType.registerNumeric(DoubleBinaryTag.class, (byte) 6, input -> DoubleBinaryTag.of(input.readDouble()), input -> BinaryTagType.skipFully(input, 8), (tag, output) -> output.writeDouble(tag.value()));
   /**
    * {@link ByteArrayBinaryTag}.
    *
@@ -89,6 +89,11 @@ public final class BinaryTagTypes {
       input.readFully(value);
       return ByteArrayBinaryTag.of(value);
     }
+  }, input -> {
+    final int length = input.readInt();
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input, length)) {
+      BinaryTagType.skipFully(input, length);
+    }
   }, (tag, output) -> {
     final byte[] value = ByteArrayBinaryTagImpl.value(tag);
     output.writeInt(value.length);
@@ -99,7 +104,7 @@ public final class BinaryTagTypes {
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<StringBinaryTag> STRING = BinaryTagType.register(StringBinaryTag.class, (byte) 8, input -> StringBinaryTag.of(input.readUTF()), (tag, output) -> output.writeUTF(tag.value()));
+  public static final BinaryTagType<StringBinaryTag> STRING = BinaryTagType.register(StringBinaryTag.class, (byte) 8, input -> StringBinaryTag.of(input.readUTF()), input -> BinaryTagType.skipFully(input, input.readUnsignedShort()), (tag, output) -> output.writeUTF(tag.value()));
   /**
    * {@link ListBinaryTag}.
    *
@@ -109,19 +114,34 @@ public final class BinaryTagTypes {
   public static final BinaryTagType<ListBinaryTag> LIST = BinaryTagType.register(ListBinaryTag.class, (byte) 9, input -> {
     final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
     final int length = input.readInt();
-    try(final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 8L)) {
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input, (long) length * BinaryTagSizes.minimumSizeOf(type))) {
+      if (type.numeric() && length > 0) {
+        return new ListBinaryTagImpl(type, NumericTagList.read(type, input, length));
+      }
       final List<BinaryTag> tags = new ArrayList<>(length);
       for (int i = 0; i < length; i++) {
         tags.add(type.read(input));
       }
       return ListBinaryTag.of(type, tags);
     }
+  }, input -> {
+    final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
+    final int length = input.readInt();
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input, (long) length * BinaryTagSizes.minimumSizeOf(type))) {
+      for (int i = 0; i < length; i++) {
+        type.skip(input);
+      }
+    }
   }, (tag, output) -> {
     output.writeByte(tag.elementType().id());
     final int size = tag.size();
     output.writeInt(size);
-    for (final BinaryTag item : tag) {
-      BinaryTagType.write(item.type(), item, output);
+    if (tag instanceof ListBinaryTagImpl) {
+      ((ListBinaryTagImpl) tag).writeElements(output);
+    } else {
+      for (final BinaryTag item : tag) {
+        BinaryTagType.write(item.type(), item, output);
+      }
     }
   });
   /**
@@ -131,6 +151,9 @@ public final class BinaryTagTypes {
    */
   @SuppressWarnings("try")
   public static final BinaryTagType<CompoundBinaryTag> COMPOUND = BinaryTagType.register(CompoundBinaryTag.class, (byte) 10, input -> {
+    if (input instanceof ByteBufferDataInput && ((ByteBufferDataInput) input).lazy()) {
+      return new CompoundBinaryTagImpl(LazyCompoundMap.read((ByteBufferDataInput) input));
+    }
     try(final BinaryTagScope ignored = TrackingDataInput.enter(input)) {
       final Map<String, BinaryTag> tags = new HashMap<>();
       BinaryTagType<? extends BinaryTag> type;
@@ -141,6 +164,14 @@ public final class BinaryTagTypes {
       }
       return new CompoundBinaryTagImpl(tags);
     }
+  }, input -> {
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input)) {
+      BinaryTagType<? extends BinaryTag> type;
+      while ((type = BinaryTagType.of(input.readByte())) != BinaryTagTypes.END) {
+        BinaryTagType.skipFully(input, input.readUnsignedShort()); // key
+        type.skip(input);
+      }
+    }
   }, (tag, output) -> {
     for (final Map.Entry<String, ? extends BinaryTag> entry : tag) {
       final BinaryTag value = entry.getValue();
@@ -165,17 +196,30 @@ public final class BinaryTagTypes {
     final int length = input.readInt();
     try(final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 4L)) {
       final int[] value = new int[length];
-      for (int i = 0; i < length; i++) {
-        value[i] = input.readInt();
+      if (input instanceof ByteBufferDataInput) {
+        ((ByteBufferDataInput) input).readFully(value);
+      } else {
+        for (int i = 0; i < length; i++) {
+          value[i] = input.readInt();
+        }
       }
       return IntArrayBinaryTag.of(value);
     }
+  }, input -> {
+    final int length = input.readInt();
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 4L)) {
+      BinaryTagType.skipFully(input, length * 4L);
+    }
   }, (tag, output) -> {
     final int[] value = IntArrayBinaryTagImpl.value(tag);
     final int length = value.length;
     output.writeInt(length);
-    for (int i = 0; i < length; i++) {
-      output.writeInt(value[i]);
+    if (output instanceof ByteBufferDataOutput) {
+      ((ByteBufferDataOutput) output).writeInts(value);
+    } else {
+      for (int i = 0; i < length; i++) {
+        output.writeInt(value[i]);
+      }
     }
   });
   /**
@@ -188,17 +232,30 @@ public final class BinaryTagTypes {
     final int length = input.readInt();
     try(final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 8L)) {
       final long[] value = new long[length];
-      for (int i = 0; i < length; i++) {
-        value[i] = input.readLong();
+      if (input instanceof ByteBufferDataInput) {
+        ((ByteBufferDataInput) input).readFully(value);
+      } else {
+        for (int i = 0; i < length; i++) {
+          value[i] = input.readLong();
+        }
       }
       return LongArrayBinaryTag.of(value);
     }
+  }, input -> {
+    final int length = input.readInt();
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 8L)) {
+      BinaryTagType.skipFully(input, length * 8L);
+    }
   }, (tag, output) -> {
     final long[] value = LongArrayBinaryTagImpl.value(tag);
     final int length = value.length;
     output.writeInt(length);
-    for (int i = 0; i < length; i++) {
-      output.writeLong(value[i]);
+    if (output instanceof ByteBufferDataOutput) {
+      ((ByteBufferDataOutput) output).writeLongs(value);
+    } else {
+      for (int i = 0; i < length; i++) {
+        output.writeLong(value[i]);
+      }
     }
   });
 
@@ -0,0 +1,261 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A visitor for binary tags, driven directly from binary input by a {@link BinaryTagIO.Reader}.
+ *
+ * <p>Tags are reported in the order they are read, without building any tags. The root tag is
+ * reported like an entry of a compound tag, through {@link #visitKey(String, BinaryTagType)} with
+ * its name.</p>
+ *
+ * <p>Every method returns an {@link Action} deciding how reading continues. All methods
+ * {@link Action#CONTINUE continue} by default.</p>
+ *
+ * @since 4.9.0
+ */
+public interface BinaryTagVisitor {
+  /**
+   * Visits the key of an entry of a compound tag, before its value.
+   *
+   * <p>Returning {@link Action#SKIP} skips the value.</p>
+   *
+   * @param key the key
+   * @param type the type of the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitKey(final @NotNull String key, final @NotNull BinaryTagType<? extends BinaryTag> type) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits the start of a compound tag.
+   *
+   * <p>Returning {@link Action#SKIP} skips the entries of the compound tag, and
+   * {@link #visitCompoundEnd()} is not called for it.</p>
+   *
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitCompoundStart() {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits the end of a compound tag.
+   *
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitCompoundEnd() {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits the start of a list tag.
+   *
+   * <p>Returning {@link Action#SKIP} skips the elements of the list tag, and
+   * {@link #visitListEnd()} is not called for it.</p>
+   *
+   * @param elementType the type of the elements
+   * @param size the number of elements
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitListStart(final @NotNull BinaryTagType<? extends BinaryTag> elementType, final int size) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits an element of a list tag, before its value.
+   *
+   * <p>Returning {@link Action#SKIP} skips the element.</p>
+   *
+   * @param index the index of the element
+   * @param type the type of the element
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitListElement(final int index, final @NotNull BinaryTagType<? extends BinaryTag> type) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits the end of a list tag.
+   *
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitListEnd() {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits a byte tag.
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitByte(final byte value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits a short tag.
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitShort(final short value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits an int tag.
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitInt(final int value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits a long tag.
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitLong(final long value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits a float tag.
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitFloat(final float value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits a double tag.
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitDouble(final double value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits a string tag.
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitString(final @NotNull String value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits a byte array tag.
+   *
+   * <p>The array is not used after this method returns, and may be kept.</p>
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitByteArray(final byte@NotNull[] value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits an int array tag.
+   *
+   * <p>The array is not used after this method returns, and may be kept.</p>
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitIntArray(final int@NotNull[] value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Visits a long array tag.
+   *
+   * <p>The array is not used after this method returns, and may be kept.</p>
+   *
+   * @param value the value
+   * @return how to continue
+   * @since 4.9.0
+   */
+  default @NotNull Action visitLongArray(final long@NotNull[] value) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * How reading continues after a visit.
+   *
+   * @since 4.9.0
+   */
+  enum Action {
+    /**
+     * Continue reading.
+     *
+     * @since 4.9.0
+     */
+    CONTINUE,
+    /**
+     * Skip over the tag about to be visited, without decoding it.
+     *
+     * <p>Only meaningful when returned before a tag, or the contents of a compound or list tag,
+     * are read. Otherwise, it is the same as {@link #CONTINUE}.</p>
+     *
+     * @since 4.9.0
+     */
+    SKIP,
+    /**
+     * Stop reading entirely.
+     *
+     * @since 4.9.0
+     */
+    HALT;
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * Drives a {@link BinaryTagVisitor} from binary input.
+ */
+final class BinaryTagWalker {
+  private BinaryTagWalker() {
+  }
+
+  // visits the root tag, the input positioned before its type id
+  static void walkRoot(final DataInput input, final BinaryTagVisitor visitor) throws IOException {
+    final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
+    BinaryTagReaderImpl.requireCompound(type);
+    final BinaryTagVisitor.Action action = visitor.visitKey(input.readUTF(), type);
+    if (action == BinaryTagVisitor.Action.SKIP) {
+      type.skip(input);
+    } else if (action != BinaryTagVisitor.Action.HALT) {
+      walkCompound(input, visitor);
+    }
+  }
+
+  // returns false if the visitor halted
+  static boolean walk(final BinaryTagType<? extends BinaryTag> type, final DataInput input, final BinaryTagVisitor visitor) throws IOException {
+    switch (type.id()) {
+      case 0: // end
+        return true;
+      case 1: // byte
+        return visitor.visitByte(input.readByte()) != BinaryTagVisitor.Action.HALT;
+      case 2: // short
+        return visitor.visitShort(input.readShort()) != BinaryTagVisitor.Action.HALT;
+      case 3: // int
+        return visitor.visitInt(input.readInt()) != BinaryTagVisitor.Action.HALT;
+      case 4: // long
+        return visitor.visitLong(input.readLong()) != BinaryTagVisitor.Action.HALT;
+      case 5: // float
+        return visitor.visitFloat(input.readFloat()) != BinaryTagVisitor.Action.HALT;
+      case 6: // double
+        return visitor.visitDouble(input.readDouble()) != BinaryTagVisitor.Action.HALT;
+      case 7: // byte array
+        return visitor.visitByteArray(ByteArrayBinaryTagImpl.value(BinaryTagTypes.BYTE_ARRAY.read(input))) != BinaryTagVisitor.Action.HALT;
+      case 8: // string
+        return visitor.visitString(input.readUTF()) != BinaryTagVisitor.Action.HALT;
+      case 9: // list
+        return walkList(input, visitor);
+      case 10: // compound
+        return walkCompound(input, visitor);
+      case 11: // int array
+        return visitor.visitIntArray(IntArrayBinaryTagImpl.value(BinaryTagTypes.INT_ARRAY.read(input))) != BinaryTagVisitor.Action.HALT;
+      case 12: // long array
+        return visitor.visitLongArray(LongArrayBinaryTagImpl.value(BinaryTagTypes.LONG_ARRAY.read(input))) != BinaryTagVisitor.Action.HALT;
+      default:
+        throw new IllegalArgumentException("Unknown tag type: " + type);
+    }
+  }
+
+  @SuppressWarnings("try")
+  private static boolean walkCompound(final DataInput input, final BinaryTagVisitor visitor) throws IOException {
+    final BinaryTagVisitor.Action start = visitor.visitCompoundStart();
+    if (start == BinaryTagVisitor.Action.HALT) {
+      return false;
+    } else if (start == BinaryTagVisitor.Action.SKIP) {
+      BinaryTagTypes.COMPOUND.skip(input);
+      return true;
+    }
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input)) {
+      BinaryTagType<? extends BinaryTag> type;
+      while ((type = BinaryTagType.of(input.readByte())) != BinaryTagTypes.END) {
+        final BinaryTagVisitor.Action action = visitor.visitKey(input.readUTF(), type);
+        if (action == BinaryTagVisitor.Action.HALT) {
+          return false;
+        } else if (action == BinaryTagVisitor.Action.SKIP) {
+          type.skip(input);
+        } else if (!walk(type, input, visitor)) {
+          return false;
+        }
+      }
+    }
+    return visitor.visitCompoundEnd() != BinaryTagVisitor.Action.HALT;
+  }
+
+  @SuppressWarnings("try")
+  private static boolean walkList(final DataInput input, final BinaryTagVisitor visitor) throws IOException {
+    final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
+    final int length = input.readInt();
+    final BinaryTagVisitor.Action start = visitor.visitListStart(type, length);
+    if (start == BinaryTagVisitor.Action.HALT) {
+      return false;
+    }
+    try(final BinaryTagScope ignored = TrackingDataInput.enter(input, (long) length * BinaryTagSizes.minimumSizeOf(type))) {
+      for (int i = 0; i < length; i++) {
+        final BinaryTagVisitor.Action action = start == BinaryTagVisitor.Action.SKIP ? BinaryTagVisitor.Action.SKIP : visitor.visitListElement(i, type);
+        if (action == BinaryTagVisitor.Action.HALT) {
+          return false;
+        } else if (action == BinaryTagVisitor.Action.SKIP) {
+          type.skip(input);
+        } else if (!walk(type, input, visitor)) {
+          return false;
+        }
+      }
+    }
+    return start == BinaryTagVisitor.Action.SKIP || visitor.visitListEnd() != BinaryTagVisitor.Action.HALT;
+  }
+}
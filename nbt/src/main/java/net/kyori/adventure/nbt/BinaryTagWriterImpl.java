@@ -28,6 +28,7 @@ import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
@@ -79,4 +80,21 @@ final class BinaryTagWriterImpl implements BinaryTagIO.Writer {
     output.writeUTF(tag.getKey());
     BinaryTagTypes.COMPOUND.write(tag.getValue(), output);
   }
+
+  // returns either buffer, or a larger buffer with the contents of buffer up to its position copied
+  static ByteBuffer ensureRemaining(final ByteBuffer buffer, final long required) throws IOException {
+    if (buffer.remaining() >= required) {
+      return buffer;
+    }
+    final long minimumCapacity = buffer.position() + required;
+    if (minimumCapacity > Integer.MAX_VALUE) {
+      throw new IOException("Tag of " + required + " bytes is too large to be written to a buffer");
+    }
+    final int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(minimumCapacity, buffer.capacity() * 2L));
+    final ByteBuffer grown = buffer.isDirect() ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    final ByteBuffer written = buffer.duplicate();
+    written.flip();
+    grown.order(buffer.order()).put(written);
+    return grown;
+  }
 }
@@ -57,13 +57,7 @@ public interface ByteBinaryTag extends NumberBinaryTag {
    * @since 4.0.0
    */
   static @NotNull ByteBinaryTag of(final byte value) {
-    if (value == 0) {
-      return ZERO;
-    } else if (value == 1) {
-      return ONE;
-    } else {
-      return new ByteBinaryTagImpl(value);
-    }
+    return ByteBinaryTagImpl.Cache.VALUES[value - Byte.MIN_VALUE];
   }
 
   @Override
@@ -88,6 +82,22 @@ final class ByteBinaryTagImpl extends AbstractBinaryTag implements ByteBinaryTag
     this.value = value;
   }
 
+  // there are few enough values to share a tag for each
+  static final class Cache {
+    static final ByteBinaryTag[] VALUES = new ByteBinaryTag[256];
+
+    static {
+      for (int i = 0; i < VALUES.length; i++) {
+        VALUES[i] = new ByteBinaryTagImpl((byte) (Byte.MIN_VALUE + i));
+      }
+      VALUES[-Byte.MIN_VALUE] = ZERO;
+      VALUES[1 - Byte.MIN_VALUE] = ONE;
+    }
+
+    private Cache() {
+    }
+  }
+
   @Override
   public byte value() {
     return this.value;
@@ -0,0 +1,255 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link DataInput} reading directly from a {@link ByteBuffer}.
+ *
+ * <p>Unlike {@link TrackingDataInput}, the number of bytes read is not counted on every read,
+ * but derived from the position of the buffer when entering and exiting a nesting level.</p>
+ */
+final class ByteBufferDataInput implements DataInput, BinaryTagScope {
+  private final ByteBuffer buffer;
+  private final int start;
+  private final long maxLength;
+  private final boolean lazy;
+  private final @Nullable StringTable strings;
+  private int depth;
+  private byte@Nullable[] scratch;
+
+  ByteBufferDataInput(final ByteBuffer buffer, final long maxLength) {
+    this(buffer, buffer.position(), maxLength, false, null);
+  }
+
+  ByteBufferDataInput(final ByteBuffer buffer, final int position, final long maxLength, final boolean lazy, final @Nullable StringTable strings) {
+    this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    this.buffer.position(position);
+    this.start = position;
+    this.maxLength = maxLength;
+    this.lazy = lazy;
+    this.strings = strings;
+  }
+
+  public int position() {
+    return this.buffer.position();
+  }
+
+  // the buffer being read from, only to be used by creating new inputs at a known position
+  ByteBuffer buffer() {
+    return this.buffer;
+  }
+
+  // whether compound tags should be decoded on demand, see LazyCompoundMap
+  boolean lazy() {
+    return this.lazy;
+  }
+
+  @Nullable StringTable strings() {
+    return this.strings;
+  }
+
+  // enter a nesting level that pre-allocates storage
+  public ByteBufferDataInput enter(final long expectedSize) throws IOException {
+    if (this.depth++ > TrackingDataInput.MAX_DEPTH) {
+      throw new IOException("NBT read exceeded maximum depth of " + TrackingDataInput.MAX_DEPTH);
+    }
+    this.ensureMaxLength(expectedSize);
+    return this;
+  }
+
+  public ByteBufferDataInput enter() throws IOException {
+    return this.enter(0);
+  }
+
+  public void exit() throws IOException {
+    this.depth--;
+    this.ensureMaxLength(0);
+  }
+
+  private void ensureMaxLength(final long expected) throws IOException {
+    if (this.maxLength > 0 && (this.buffer.position() - this.start) + expected > this.maxLength) {
+      throw new IOException("The read NBT was longer than the maximum allowed size of " + this.maxLength + " bytes!");
+    }
+  }
+
+  @Override
+  public void readFully(final byte@NotNull[] array) {
+    this.buffer.get(array);
+  }
+
+  @Override
+  public void readFully(final byte@NotNull[] array, final int off, final int len) {
+    this.buffer.get(array, off, len);
+  }
+
+  // reads big-endian shorts in bulk
+  void readFully(final short@NotNull[] array) {
+    this.buffer.asShortBuffer().get(array);
+    this.buffer.position(this.buffer.position() + array.length * 2);
+  }
+
+  // reads big-endian ints in bulk
+  void readFully(final int@NotNull[] array) {
+    this.buffer.asIntBuffer().get(array);
+    this.buffer.position(this.buffer.position() + array.length * 4);
+  }
+
+  // reads big-endian longs in bulk
+  void readFully(final long@NotNull[] array) {
+    this.buffer.asLongBuffer().get(array);
+    this.buffer.position(this.buffer.position() + array.length * 8);
+  }
+
+  // reads big-endian floats in bulk
+  void readFully(final float@NotNull[] array) {
+    this.buffer.asFloatBuffer().get(array);
+    this.buffer.position(this.buffer.position() + array.length * 4);
+  }
+
+  // reads big-endian doubles in bulk
+  void readFully(final double@NotNull[] array) {
+    this.buffer.asDoubleBuffer().get(array);
+    this.buffer.position(this.buffer.position() + array.length * 8);
+  }
+
+  @Override
+  public int skipBytes(final int n) {
+    final int skipped = Math.max(0, Math.min(n, this.buffer.remaining()));
+    this.buffer.position(this.buffer.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public boolean readBoolean() {
+    return this.buffer.get() != 0;
+  }
+
+  @Override
+  public byte readByte() {
+    return this.buffer.get();
+  }
+
+  @Override
+  public int readUnsignedByte() {
+    return this.buffer.get() & 0xff;
+  }
+
+  @Override
+  public short readShort() {
+    return this.buffer.getShort();
+  }
+
+  @Override
+  public int readUnsignedShort() {
+    return this.buffer.getShort() & 0xffff;
+  }
+
+  @Override
+  public char readChar() {
+    return this.buffer.getChar();
+  }
+
+  @Override
+  public int readInt() {
+    return this.buffer.getInt();
+  }
+
+  @Override
+  public long readLong() {
+    return this.buffer.getLong();
+  }
+
+  @Override
+  public float readFloat() {
+    return this.buffer.getFloat();
+  }
+
+  @Override
+  public double readDouble() {
+    return this.buffer.getDouble();
+  }
+
+  @Override
+  public @Nullable String readLine() {
+    if (!this.buffer.hasRemaining()) {
+      return null;
+    }
+    final StringBuilder line = new StringBuilder();
+    while (this.buffer.hasRemaining()) {
+      final int c = this.buffer.get() & 0xff;
+      if (c == '\n') {
+        break;
+      } else if (c == '\r') {
+        if (this.buffer.hasRemaining() && this.buffer.get(this.buffer.position()) == '\n') {
+          this.buffer.get();
+        }
+        break;
+      }
+      line.append((char) c);
+    }
+    return line.toString();
+  }
+
+  @Override
+  public @NotNull String readUTF() throws IOException {
+    final int length = this.readUnsignedShort();
+    if (this.buffer.hasArray()) {
+      final int position = this.buffer.position();
+      if (length > this.buffer.remaining()) {
+        this.buffer.position(this.buffer.limit());
+        throw new BufferUnderflowException();
+      }
+      this.buffer.position(position + length);
+      return this.decode(this.buffer.array(), this.buffer.arrayOffset() + position, length);
+    }
+
+    byte[] scratch = this.scratch;
+    if (scratch == null || scratch.length < length) {
+      scratch = this.scratch = new byte[Math.max(length, 64)];
+    }
+    this.buffer.get(scratch, 0, length);
+    return this.decode(scratch, 0, length);
+  }
+
+  private String decode(final byte[] bytes, final int offset, final int length) throws UTFDataFormatException {
+    if (this.strings != null) {
+      return this.strings.decode(bytes, offset, length);
+    }
+    return ModifiedUtf8.decode(bytes, offset, length);
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.exit();
+  }
+}
@@ -25,13 +25,18 @@ package net.kyori.adventure.nbt;
 
 /**
  * A character buffer designed to be inspected by a parser.
+ *
+ * <p>The characters are copied into an array up front, so scanning them is a plain array access
+ * and strings are sliced straight out of the array.</p>
  */
 final class CharBuffer {
   private final CharSequence sequence;
+  private final char[] chars;
   private int index;
 
   CharBuffer(final CharSequence sequence) {
     this.sequence = sequence;
+    this.chars = sequence.toString().toCharArray();
   }
 
   /**
@@ -40,11 +45,11 @@ final class CharBuffer {
    * @return The current character
    */
   public char peek() {
-    return this.sequence.charAt(this.index);
+    return this.chars[this.index];
   }
 
   public char peek(final int offset) {
-    return this.sequence.charAt(this.index + offset);
+    return this.chars[this.index + offset];
   }
 
   /**
@@ -53,7 +58,19 @@ final class CharBuffer {
    * @return current character
    */
   public char take() {
-    return this.sequence.charAt(this.index++);
+    return this.chars[this.index++];
+  }
+
+  /**
+   * Get the next {@code length} characters and advance past them.
+   *
+   * @param length the number of characters
+   * @return the characters starting at the current position
+   */
+  public String take(final int length) {
+    final String result = new String(this.chars, this.index, length);
+    this.index += length;
+    return result;
   }
 
   public boolean advance() {
@@ -62,11 +79,11 @@ final class CharBuffer {
   }
 
   public boolean hasMore() {
-    return this.index < this.sequence.length();
+    return this.index < this.chars.length;
   }
 
   public boolean hasMore(final int offset) {
-    return this.index + offset < this.sequence.length();
+    return this.index + offset < this.chars.length;
   }
 
   /**
@@ -75,24 +92,61 @@ final class CharBuffer {
    * @param until Case-insensitive token
    * @return the string starting at the current position (inclusive) and going until the location of {@code until}, exclusive
    */
-  public CharSequence takeUntil(char until) throws StringTagParseException {
-    until = Character.toLowerCase(until);
-    int endIdx = -1;
-    for (int idx = this.index; idx < this.sequence.length(); ++idx) {
-      if (this.sequence.charAt(idx) == Tokens.ESCAPE_MARKER) {
-        idx++;
-      } else if (Character.toLowerCase(this.sequence.charAt(idx)) == until) {
-        endIdx = idx;
-        break;
+  public String takeUntil(final char until) throws StringTagParseException {
+    final int endIdx = this.find(until);
+    final String result = new String(this.chars, this.index, endIdx - this.index);
+    this.index = endIdx + 1;
+    return result;
+  }
+
+  /**
+   * Search for the provided token, and advance the reader index past the {@code until} character, removing escape markers on the way.
+   *
+   * <p>A character following an escape marker is always kept as is.</p>
+   *
+   * @param until Case-insensitive token
+   * @return the unescaped string starting at the current position (inclusive) and going until the location of {@code until}, exclusive
+   */
+  public String takeUnescapedUntil(final char until) throws StringTagParseException {
+    final char lower = Character.toLowerCase(until);
+    final char upper = Character.toUpperCase(until);
+    StringBuilder output = null; // only created once an escape is seen
+    int start = this.index;
+    for (int idx = this.index; idx < this.chars.length; ++idx) {
+      final char c = this.chars[idx];
+      if (c == Tokens.ESCAPE_MARKER) {
+        if (output == null) {
+          output = new StringBuilder(idx - start + 16);
+        }
+        output.append(this.chars, start, idx - start);
+        start = ++idx; // keep the escaped character
+      } else if (matches(c, lower, upper)) {
+        final String result = output == null
+          ? new String(this.chars, start, idx - start)
+          : output.append(this.chars, start, idx - start).toString();
+        this.index = idx + 1;
+        return result;
       }
     }
-    if (endIdx == -1) {
-      throw this.makeError("No occurrence of " + until + " was found");
+    throw this.makeError("No occurrence of " + lower + " was found");
+  }
+
+  private int find(final char until) throws StringTagParseException {
+    final char lower = Character.toLowerCase(until);
+    final char upper = Character.toUpperCase(until);
+    for (int idx = this.index; idx < this.chars.length; ++idx) {
+      final char c = this.chars[idx];
+      if (c == Tokens.ESCAPE_MARKER) {
+        idx++;
+      } else if (matches(c, lower, upper)) {
+        return idx;
+      }
     }
+    throw this.makeError("No occurrence of " + lower + " was found");
+  }
 
-    final CharSequence result = this.sequence.subSequence(this.index, endIdx);
-    this.index = endIdx + 1;
-    return result;
+  private static boolean matches(final char c, final char lower, final char upper) {
+    return c == lower || c == upper || (c >= 0x80 && Character.toLowerCase(c) == lower);
   }
 
   /**
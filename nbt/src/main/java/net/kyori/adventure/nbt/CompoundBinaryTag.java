@@ -68,6 +68,19 @@ public interface CompoundBinaryTag extends BinaryTag, CompoundTagSetter<Compound
     return new CompoundTagBuilder();
   }
 
+  /**
+   * Creates a builder sized to hold {@code expectedSize} tags without resizing.
+   *
+   * @param expectedSize the number of tags expected to be put
+   * @return a new builder
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   * @since 4.9.0
+   */
+  static @NotNull Builder builder(final int expectedSize) {
+    if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+    return new CompoundTagBuilder(expectedSize);
+  }
+
   @Override
   default @NotNull BinaryTagType<CompoundBinaryTag> type() {
     return BinaryTagTypes.COMPOUND;
@@ -41,11 +41,19 @@ import static java.util.Objects.requireNonNull;
 final class CompoundBinaryTagImpl extends AbstractBinaryTag implements CompoundBinaryTag {
   static final CompoundBinaryTag EMPTY = new CompoundBinaryTagImpl(Collections.emptyMap());
   private final Map<String, BinaryTag> tags;
-  private final int hashCode;
+  // whether this tag was made by editing another one, and is likely to be edited again
+  private final boolean edited;
+  private int hashCode;
+  private volatile long encodedSize = -1;
+  private volatile long fingerprint;
 
   CompoundBinaryTagImpl(final Map<String, BinaryTag> tags) {
-    this.tags = Collections.unmodifiableMap(tags);
-    this.hashCode = tags.hashCode();
+    this(tags, tags instanceof PersistentCompoundMap);
+  }
+
+  private CompoundBinaryTagImpl(final Map<String, BinaryTag> tags, final boolean edited) {
+    this.tags = tags instanceof PersistentCompoundMap ? tags : Collections.unmodifiableMap(tags);
+    this.edited = edited;
   }
 
   public boolean contains(final @NotNull String key, final @NotNull BinaryTagType<?> type) {
@@ -65,11 +73,21 @@ final class CompoundBinaryTagImpl extends AbstractBinaryTag implements CompoundB
 
   @Override
   public @NotNull CompoundBinaryTag put(final @NotNull String key, final @NotNull BinaryTag tag) {
+    if (this.edited) {
+      return new CompoundBinaryTagImpl(this.persistent().with(requireNonNull(key, "key"), requireNonNull(tag, "tag")));
+    }
     return this.edit(map -> map.put(key, tag));
   }
 
   @Override
   public @NotNull CompoundBinaryTag put(final @NotNull CompoundBinaryTag tag) {
+    if (this.edited) {
+      PersistentCompoundMap tags = this.persistent();
+      for (final String key : tag.keySet()) {
+        tags = tags.with(key, requireNonNull(tag.get(key), "tag"));
+      }
+      return new CompoundBinaryTagImpl(tags);
+    }
     return this.edit(map -> {
       for (final String key : tag.keySet()) {
         map.put(key, tag.get(key));
@@ -79,149 +97,171 @@ final class CompoundBinaryTagImpl extends AbstractBinaryTag implements CompoundB
 
   @Override
   public @NotNull CompoundBinaryTag put(final @NotNull Map<String, ? extends BinaryTag> tags) {
+    if (this.edited) {
+      PersistentCompoundMap edited = this.persistent();
+      for (final Map.Entry<String, ? extends BinaryTag> entry : tags.entrySet()) {
+        edited = edited.with(requireNonNull(entry.getKey(), "key"), requireNonNull(entry.getValue(), "tag"));
+      }
+      return new CompoundBinaryTagImpl(edited);
+    }
     return this.edit(map -> map.putAll(tags));
   }
 
   @Override
   public @NotNull CompoundBinaryTag remove(final @NotNull String key, final @Nullable Consumer<? super BinaryTag> removed) {
-    if (!this.tags.containsKey(key)) {
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag == null) {
       return this;
     }
-    return this.edit(map -> {
-      final BinaryTag tag = map.remove(key);
-      if (removed != null) {
-        removed.accept(tag);
-      }
-    });
+    if (removed != null) {
+      removed.accept(tag);
+    }
+    if (this.edited) {
+      return new CompoundBinaryTagImpl(this.persistent().without(key));
+    }
+    return this.edit(map -> map.remove(key));
   }
 
   @Override
   public byte getByte(final @NotNull String key, final byte defaultValue) {
-    if (this.contains(key, BinaryTagTypes.BYTE)) {
-      return ((NumberBinaryTag) this.tags.get(key)).byteValue();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.BYTE.test(tag.type())) {
+      return ((NumberBinaryTag) tag).byteValue();
     }
     return defaultValue;
   }
 
   @Override
   public short getShort(final @NotNull String key, final short defaultValue) {
-    if (this.contains(key, BinaryTagTypes.SHORT)) {
-      return ((NumberBinaryTag) this.tags.get(key)).shortValue();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.SHORT.test(tag.type())) {
+      return ((NumberBinaryTag) tag).shortValue();
     }
     return defaultValue;
   }
 
   @Override
   public int getInt(final @NotNull String key, final int defaultValue) {
-    if (this.contains(key, BinaryTagTypes.INT)) {
-      return ((NumberBinaryTag) this.tags.get(key)).intValue();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.INT.test(tag.type())) {
+      return ((NumberBinaryTag) tag).intValue();
     }
     return defaultValue;
   }
 
   @Override
   public long getLong(final @NotNull String key, final long defaultValue) {
-    if (this.contains(key, BinaryTagTypes.LONG)) {
-      return ((NumberBinaryTag) this.tags.get(key)).longValue();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.LONG.test(tag.type())) {
+      return ((NumberBinaryTag) tag).longValue();
     }
     return defaultValue;
   }
 
   @Override
   public float getFloat(final @NotNull String key, final float defaultValue) {
-    if (this.contains(key, BinaryTagTypes.FLOAT)) {
-      return ((NumberBinaryTag) this.tags.get(key)).floatValue();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.FLOAT.test(tag.type())) {
+      return ((NumberBinaryTag) tag).floatValue();
     }
     return defaultValue;
   }
 
   @Override
   public double getDouble(final @NotNull String key, final double defaultValue) {
-    if (this.contains(key, BinaryTagTypes.DOUBLE)) {
-      return ((NumberBinaryTag) this.tags.get(key)).doubleValue();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.DOUBLE.test(tag.type())) {
+      return ((NumberBinaryTag) tag).doubleValue();
     }
     return defaultValue;
   }
 
   @Override
   public byte@NotNull[] getByteArray(final @NotNull String key) {
-    if (this.contains(key, BinaryTagTypes.BYTE_ARRAY)) {
-      return ((ByteArrayBinaryTag) this.tags.get(key)).value();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.BYTE_ARRAY.test(tag.type())) {
+      return ((ByteArrayBinaryTag) tag).value();
     }
     return new byte[0];
   }
 
   @Override
   public byte@NotNull[] getByteArray(final @NotNull String key, final byte@NotNull[] defaultValue) {
-    if (this.contains(key, BinaryTagTypes.BYTE_ARRAY)) {
-      return ((ByteArrayBinaryTag) this.tags.get(key)).value();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.BYTE_ARRAY.test(tag.type())) {
+      return ((ByteArrayBinaryTag) tag).value();
     }
     return defaultValue;
   }
 
   @Override
   public @NotNull String getString(final @NotNull String key, final @NotNull String defaultValue) {
-    if (this.contains(key, BinaryTagTypes.STRING)) {
-      return ((StringBinaryTag) this.tags.get(key)).value();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.STRING.test(tag.type())) {
+      return ((StringBinaryTag) tag).value();
     }
     return defaultValue;
   }
 
   @Override
   public @NotNull ListBinaryTag getList(final @NotNull String key, final @NotNull ListBinaryTag defaultValue) {
-    if (this.contains(key, BinaryTagTypes.LIST)) {
-      return (ListBinaryTag) this.tags.get(key);
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.LIST.test(tag.type())) {
+      return (ListBinaryTag) tag;
     }
     return defaultValue;
   }
 
   @Override
   public @NotNull ListBinaryTag getList(final @NotNull String key, final @NotNull BinaryTagType<? extends BinaryTag> expectedType, final @NotNull ListBinaryTag defaultValue) {
-    if (this.contains(key, BinaryTagTypes.LIST)) {
-      final ListBinaryTag tag = (ListBinaryTag) this.tags.get(key);
-      if (expectedType.test(tag.elementType())) {
-        return tag;
-      }
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.LIST.test(tag.type()) && expectedType.test(((ListBinaryTag) tag).elementType())) {
+      return (ListBinaryTag) tag;
     }
     return defaultValue;
   }
 
   @Override
   public @NotNull CompoundBinaryTag getCompound(final @NotNull String key, final @NotNull CompoundBinaryTag defaultValue) {
-    if (this.contains(key, BinaryTagTypes.COMPOUND)) {
-      return (CompoundBinaryTag) this.tags.get(key);
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.COMPOUND.test(tag.type())) {
+      return (CompoundBinaryTag) tag;
     }
     return defaultValue;
   }
 
   @Override
   public int@NotNull[] getIntArray(final @NotNull String key) {
-    if (this.contains(key, BinaryTagTypes.INT_ARRAY)) {
-      return ((IntArrayBinaryTag) this.tags.get(key)).value();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.INT_ARRAY.test(tag.type())) {
+      return ((IntArrayBinaryTag) tag).value();
     }
     return new int[0];
   }
 
   @Override
   public int@NotNull[] getIntArray(final @NotNull String key, final int@NotNull[] defaultValue) {
-    if (this.contains(key, BinaryTagTypes.INT_ARRAY)) {
-      return ((IntArrayBinaryTag) this.tags.get(key)).value();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.INT_ARRAY.test(tag.type())) {
+      return ((IntArrayBinaryTag) tag).value();
     }
     return defaultValue;
   }
 
   @Override
   public long@NotNull[] getLongArray(final @NotNull String key) {
-    if (this.contains(key, BinaryTagTypes.LONG_ARRAY)) {
-      return ((LongArrayBinaryTag) this.tags.get(key)).value();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.LONG_ARRAY.test(tag.type())) {
+      return ((LongArrayBinaryTag) tag).value();
     }
     return new long[0];
   }
 
   @Override
   public long@NotNull[] getLongArray(final @NotNull String key, final long@NotNull[] defaultValue) {
-    if (this.contains(key, BinaryTagTypes.LONG_ARRAY)) {
-      return ((LongArrayBinaryTag) this.tags.get(key)).value();
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag != null && BinaryTagTypes.LONG_ARRAY.test(tag.type())) {
+      return ((LongArrayBinaryTag) tag).value();
     }
     return defaultValue;
   }
@@ -229,17 +269,58 @@ final class CompoundBinaryTagImpl extends AbstractBinaryTag implements CompoundB
   private CompoundBinaryTag edit(final Consumer<Map<String, BinaryTag>> consumer) {
     final Map<String, BinaryTag> tags = new HashMap<>(this.tags);
     consumer.accept(tags);
-    return new CompoundBinaryTagImpl(tags);
+    return new CompoundBinaryTagImpl(tags, true);
+  }
+
+  private PersistentCompoundMap persistent() {
+    // a tag being edited repeatedly moves to a map that shares its structure between edits, so only this edit copies every entry
+    return PersistentCompoundMap.copyOf(this.tags);
+  }
+
+  long encodedSize() {
+    long encodedSize = this.encodedSize;
+    if (encodedSize < 0) {
+      encodedSize = BinaryTagSizes.sizeOfCompound(this);
+      this.encodedSize = encodedSize;
+    }
+    return encodedSize;
+  }
+
+  @Override
+  public long fingerprint() {
+    long fingerprint = this.fingerprint;
+    if (fingerprint == 0) { // computed on demand, like the hash code
+      fingerprint = BinaryTagFingerprints.fingerprintOfCompound(this);
+      this.fingerprint = fingerprint;
+    }
+    return fingerprint;
   }
 
   @Override
   public boolean equals(final Object that) {
-    return this == that || (that instanceof CompoundBinaryTagImpl && this.tags.equals(((CompoundBinaryTagImpl) that).tags));
+    if (this == that) {
+      return true;
+    } else if (!(that instanceof CompoundBinaryTagImpl)) {
+      return false;
+    }
+    final CompoundBinaryTagImpl other = (CompoundBinaryTagImpl) that;
+    // fingerprints already known for both tags settle most unequal tags without comparing them
+    final long fingerprint = this.fingerprint;
+    final long otherFingerprint = other.fingerprint;
+    if (fingerprint != 0 && otherFingerprint != 0 && fingerprint != otherFingerprint) {
+      return false;
+    }
+    return this.tags.equals(other.tags);
   }
 
   @Override
   public int hashCode() {
-    return this.hashCode;
+    int hashCode = this.hashCode;
+    if (hashCode == 0) { // computed on demand, as computing it would decode every tag of a lazily read compound
+      hashCode = this.tags.hashCode();
+      this.hashCode = hashCode;
+    }
+    return hashCode;
   }
 
   @Override
@@ -30,15 +30,35 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 final class CompoundTagBuilder implements CompoundBinaryTag.Builder {
+  // the number of tags the caller expects to put, or -1 if unknown
+  private final int expectedSize;
   private @Nullable Map<String, BinaryTag> tags;
+  // whether tags has been handed to a built tag, and must be copied before it is changed
+  private boolean shared;
+
+  CompoundTagBuilder() {
+    this(-1);
+  }
+
+  CompoundTagBuilder(final int expectedSize) {
+    this.expectedSize = expectedSize;
+  }
 
   private Map<String, BinaryTag> tags() {
     if (this.tags == null) {
-      this.tags = new HashMap<>();
+      this.tags = new HashMap<>(capacity(this.expectedSize));
+    } else if (this.shared) {
+      this.tags = new HashMap<>(this.tags);
+      this.shared = false;
     }
     return this.tags;
   }
 
+  // the initial capacity of a hash map that can hold expectedSize entries without resizing
+  static int capacity(final int expectedSize) {
+    return expectedSize < 0 ? 16 : (int) (expectedSize / 0.75f) + 1;
+  }
+
   @Override
   public CompoundBinaryTag.@NotNull Builder put(final @NotNull String key, final @NotNull BinaryTag tag) {
     this.tags().put(key, tag);
@@ -63,7 +83,7 @@ final class CompoundTagBuilder implements CompoundBinaryTag.Builder {
   @Override
   public CompoundBinaryTag.@NotNull Builder remove(final @NotNull String key, final @Nullable Consumer<? super BinaryTag> removed) {
     if (this.tags != null) {
-      final BinaryTag tag = this.tags.remove(key);
+      final BinaryTag tag = this.tags().remove(key);
       if (removed != null) {
         removed.accept(tag);
       }
@@ -74,6 +94,8 @@ final class CompoundTagBuilder implements CompoundBinaryTag.Builder {
   @Override
   public @NotNull CompoundBinaryTag build() {
     if (this.tags == null) return CompoundBinaryTag.empty();
-    return new CompoundBinaryTagImpl(new HashMap<>(this.tags));
+    // hand our map over rather than copying it, and copy it later only if this builder is used again
+    this.shared = true;
+    return new CompoundBinaryTagImpl(this.tags);
   }
 }
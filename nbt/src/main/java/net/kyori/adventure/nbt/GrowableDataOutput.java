@@ -0,0 +1,152 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link DataOutput} writing into a heap buffer that grows as needed.
+ *
+ * <p>Unlike a stream, bytes already written can be changed, so that a header can be written
+ * before the contents it describes are known.</p>
+ */
+final class GrowableDataOutput implements DataOutput {
+  private ByteBuffer buffer;
+
+  GrowableDataOutput(final int initialCapacity) {
+    this.buffer = ByteBuffer.allocate(initialCapacity);
+  }
+
+  int position() {
+    return this.buffer.position();
+  }
+
+  // replaces a byte already written
+  void setByte(final int index, final int v) {
+    this.buffer.put(index, (byte) v);
+  }
+
+  // replaces an int already written
+  void setInt(final int index, final int v) {
+    this.buffer.putInt(index, v);
+  }
+
+  byte@NotNull[] toByteArray() {
+    return Arrays.copyOf(this.buffer.array(), this.buffer.position());
+  }
+
+  void writeTo(final @NotNull DataOutput output) throws IOException {
+    output.write(this.buffer.array(), 0, this.buffer.position());
+  }
+
+  private ByteBuffer ensure(final int length) {
+    if (this.buffer.remaining() < length) {
+      final int required = this.buffer.position() + length;
+      final ByteBuffer grown = ByteBuffer.allocate(Math.max(required, this.buffer.capacity() << 1));
+      this.buffer.flip();
+      this.buffer = grown.put(this.buffer);
+    }
+    return this.buffer;
+  }
+
+  @Override
+  public void write(final int b) {
+    this.ensure(Byte.BYTES).put((byte) b);
+  }
+
+  @Override
+  public void write(final byte@NotNull[] b) {
+    this.ensure(b.length).put(b);
+  }
+
+  @Override
+  public void write(final byte@NotNull[] b, final int off, final int len) {
+    this.ensure(len).put(b, off, len);
+  }
+
+  @Override
+  public void writeBoolean(final boolean v) {
+    this.ensure(Byte.BYTES).put((byte) (v ? 1 : 0));
+  }
+
+  @Override
+  public void writeByte(final int v) {
+    this.ensure(Byte.BYTES).put((byte) v);
+  }
+
+  @Override
+  public void writeShort(final int v) {
+    this.ensure(Short.BYTES).putShort((short) v);
+  }
+
+  @Override
+  public void writeChar(final int v) {
+    this.ensure(Character.BYTES).putChar((char) v);
+  }
+
+  @Override
+  public void writeInt(final int v) {
+    this.ensure(Integer.BYTES).putInt(v);
+  }
+
+  @Override
+  public void writeLong(final long v) {
+    this.ensure(Long.BYTES).putLong(v);
+  }
+
+  @Override
+  public void writeFloat(final float v) {
+    this.ensure(Float.BYTES).putFloat(v);
+  }
+
+  @Override
+  public void writeDouble(final double v) {
+    this.ensure(Double.BYTES).putDouble(v);
+  }
+
+  @Override
+  public void writeBytes(final @NotNull String s) {
+    final ByteBuffer buffer = this.ensure(s.length());
+    for (int i = 0, length = s.length(); i < length; i++) {
+      buffer.put((byte) s.charAt(i));
+    }
+  }
+
+  @Override
+  public void writeChars(final @NotNull String s) {
+    final ByteBuffer buffer = this.ensure(s.length() * Character.BYTES);
+    for (int i = 0, length = s.length(); i < length; i++) {
+      buffer.putChar(s.charAt(i));
+    }
+  }
+
+  @Override
+  public void writeUTF(final @NotNull String s) throws IOException {
+    ModifiedUtf8.encode(s, this.ensure(Short.BYTES + ModifiedUtf8.encodedLength(s)));
+  }
+}
@@ -26,6 +26,7 @@ package net.kyori.adventure.nbt;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 final class IOStreamUtil {
   private IOStreamUtil() {
@@ -50,6 +51,30 @@ final class IOStreamUtil {
     };
   }
 
+  static InputStream inputStream(final ByteBuffer buffer) {
+    return new InputStream() {
+      @Override
+      public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) {
+        if (!buffer.hasRemaining()) {
+          return len == 0 ? 0 : -1;
+        }
+        final int read = Math.min(len, buffer.remaining());
+        buffer.get(b, off, read);
+        return read;
+      }
+
+      @Override
+      public int available() {
+        return buffer.remaining();
+      }
+    };
+  }
+
   static OutputStream closeShield(final OutputStream stream) {
     return new OutputStream() {
       @Override
@@ -43,6 +43,9 @@ public interface IntBinaryTag extends NumberBinaryTag {
    * @since 4.0.0
    */
   static @NotNull IntBinaryTag of(final int value) {
+    if (value >= IntBinaryTagImpl.Cache.LOW && value <= IntBinaryTagImpl.Cache.HIGH) {
+      return IntBinaryTagImpl.Cache.VALUES[value - IntBinaryTagImpl.Cache.LOW];
+    }
     return new IntBinaryTagImpl(value);
   }
 
@@ -68,6 +71,22 @@ final class IntBinaryTagImpl extends AbstractBinaryTag implements IntBinaryTag {
     this.value = value;
   }
 
+  // small values are common, so tags for them are shared
+  static final class Cache {
+    static final int LOW = -128;
+    static final int HIGH = 1023;
+    static final IntBinaryTag[] VALUES = new IntBinaryTag[HIGH - LOW + 1];
+
+    static {
+      for (int i = 0; i < VALUES.length; i++) {
+        VALUES[i] = new IntBinaryTagImpl(LOW + i);
+      }
+    }
+
+    private Cache() {
+    }
+  }
+
   @Override
   public int value() {
     return this.value;
@@ -0,0 +1,242 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The entries of a compound tag read from a buffer, where values are only decoded once requested.
+ *
+ * <p>When reading, keys are decoded and values are skipped over, remembering their position
+ * in the buffer. A value is decoded the first time it is requested, and then kept.</p>
+ */
+final class LazyCompoundMap extends AbstractMap<String, BinaryTag> {
+  private static final int INITIAL_CAPACITY = 8;
+  private final ByteBuffer buffer;
+  private final @Nullable StringTable strings;
+  private final int size;
+  private final String[] keys;
+  private final BinaryTagType<?>[] types;
+  private final int[] offsets;
+  private final @Nullable BinaryTag[] values;
+  // open addressing, each slot holds an entry index plus one, or zero if empty
+  private final int[] table;
+
+  private LazyCompoundMap(final ByteBuffer buffer, final @Nullable StringTable strings, final int size, final String[] keys, final BinaryTagType<?>[] types, final int[] offsets, final int[] table) {
+    this.buffer = buffer;
+    this.strings = strings;
+    this.size = size;
+    this.keys = keys;
+    this.types = types;
+    this.offsets = offsets;
+    this.values = new BinaryTag[size];
+    this.table = table;
+  }
+
+  @SuppressWarnings("try")
+  static LazyCompoundMap read(final ByteBufferDataInput input) throws IOException {
+    try(final BinaryTagScope ignored = input.enter()) {
+      int size = 0;
+      String[] keys = new String[INITIAL_CAPACITY];
+      BinaryTagType<?>[] types = new BinaryTagType<?>[INITIAL_CAPACITY];
+      int[] offsets = new int[INITIAL_CAPACITY];
+      BinaryTagType<? extends BinaryTag> type;
+      while ((type = BinaryTagType.of(input.readByte())) != BinaryTagTypes.END) {
+        if (size == keys.length) {
+          keys = Arrays.copyOf(keys, size * 2);
+          types = Arrays.copyOf(types, size * 2);
+          offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        keys[size] = input.readUTF();
+        types[size] = type;
+        offsets[size] = input.position();
+        type.skip(input);
+        size++;
+      }
+
+      int[] table = index(keys, size);
+      final int unique = count(table);
+      if (unique != size) {
+        // duplicate keys, keep only the last value like a map being filled in order would
+        final String[] uniqueKeys = new String[unique];
+        final BinaryTagType<?>[] uniqueTypes = new BinaryTagType<?>[unique];
+        final int[] uniqueOffsets = new int[unique];
+        int i = 0;
+        for (final int slot : table) {
+          if (slot != 0) {
+            uniqueKeys[i] = keys[slot - 1];
+            uniqueTypes[i] = types[slot - 1];
+            uniqueOffsets[i] = offsets[slot - 1];
+            i++;
+          }
+        }
+        keys = uniqueKeys;
+        types = uniqueTypes;
+        offsets = uniqueOffsets;
+        size = unique;
+        table = index(keys, size);
+      }
+      return new LazyCompoundMap(input.buffer(), input.strings(), size, keys, types, offsets, table);
+    }
+  }
+
+  private static int[] index(final String[] keys, final int size) {
+    final int[] table = new int[Math.max(2, Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1)];
+    final int mask = table.length - 1;
+    for (int i = 0; i < size; i++) {
+      int slot = keys[i].hashCode() & mask;
+      while (table[slot] != 0 && !keys[table[slot] - 1].equals(keys[i])) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = i + 1;
+    }
+    return table;
+  }
+
+  private static int count(final int[] table) {
+    int count = 0;
+    for (final int slot : table) {
+      if (slot != 0) count++;
+    }
+    return count;
+  }
+
+  private int indexOf(final Object key) {
+    if (!(key instanceof String)) return -1;
+    final int mask = this.table.length - 1;
+    int slot = key.hashCode() & mask;
+    int entry;
+    while ((entry = this.table[slot]) != 0) {
+      if (this.keys[entry - 1].equals(key)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private BinaryTag value(final int index) {
+    BinaryTag value = this.values[index];
+    if (value == null) {
+      try {
+        value = this.types[index].read(new ByteBufferDataInput(this.buffer, this.offsets[index], -1L, true, this.strings));
+      } catch (final IOException ex) {
+        throw new UncheckedIOException("Failed to decode the value of '" + this.keys[index] + "'", ex);
+      }
+      this.values[index] = value;
+    }
+    return value;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return this.indexOf(key) != -1;
+  }
+
+  @Override
+  public @Nullable BinaryTag get(final Object key) {
+    final int index = this.indexOf(key);
+    return index == -1 ? null : this.value(index);
+  }
+
+  @Override
+  public @NotNull Set<String> keySet() {
+    return new AbstractSet<String>() {
+      @Override
+      public @NotNull Iterator<String> iterator() {
+        return new Itr<String>() {
+          @Override
+          String element(final int index) {
+            return LazyCompoundMap.this.keys[index];
+          }
+        };
+      }
+
+      @Override
+      public boolean contains(final Object key) {
+        return LazyCompoundMap.this.containsKey(key);
+      }
+
+      @Override
+      public int size() {
+        return LazyCompoundMap.this.size;
+      }
+    };
+  }
+
+  @Override
+  public @NotNull Set<Entry<String, BinaryTag>> entrySet() {
+    return new AbstractSet<Entry<String, BinaryTag>>() {
+      @Override
+      public @NotNull Iterator<Entry<String, BinaryTag>> iterator() {
+        return new Itr<Entry<String, BinaryTag>>() {
+          @Override
+          Entry<String, BinaryTag> element(final int index) {
+            return new SimpleImmutableEntry<>(LazyCompoundMap.this.keys[index], LazyCompoundMap.this.value(index));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return LazyCompoundMap.this.size;
+      }
+    };
+  }
+
+  private abstract class Itr<E> implements Iterator<E> {
+    private int index;
+
+    abstract E element(final int index);
+
+    @Override
+    public boolean hasNext() {
+      return this.index < LazyCompoundMap.this.size;
+    }
+
+    @Override
+    public E next() {
+      if (this.index >= LazyCompoundMap.this.size) {
+        throw new NoSuchElementException();
+      }
+      return this.element(this.index++);
+    }
+  }
+}
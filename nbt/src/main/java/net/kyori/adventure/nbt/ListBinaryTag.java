@@ -23,6 +23,7 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -56,7 +57,8 @@ public interface ListBinaryTag extends ListTagSetter<ListBinaryTag, BinaryTag>,
    * @since 4.4.0
    */
   static @NotNull ListBinaryTag from(final @NotNull Iterable<? extends BinaryTag> tags) {
-    return builder().add(tags).build();
+    final Builder<BinaryTag> builder = tags instanceof Collection<?> ? builder(((Collection<?>) tags).size()) : builder();
+    return builder.add(tags).build();
   }
 
   /**
@@ -69,6 +71,19 @@ public interface ListBinaryTag extends ListTagSetter<ListBinaryTag, BinaryTag>,
     return new ListTagBuilder<>();
   }
 
+  /**
+   * Creates a builder sized to hold {@code expectedSize} tags without resizing.
+   *
+   * @param expectedSize the number of tags expected to be added
+   * @return a new builder
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   * @since 4.9.0
+   */
+  static @NotNull Builder<BinaryTag> builder(final int expectedSize) {
+    if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+    return new ListTagBuilder<>(BinaryTagTypes.END, expectedSize);
+  }
+
   /**
    * Creates a builder.
    *
@@ -83,6 +98,22 @@ public interface ListBinaryTag extends ListTagSetter<ListBinaryTag, BinaryTag>,
     return new ListTagBuilder<>(type);
   }
 
+  /**
+   * Creates a builder sized to hold {@code expectedSize} tags without resizing.
+   *
+   * @param type the element type
+   * @param expectedSize the number of tags expected to be added
+   * @param <T> the element type
+   * @return a new builder
+   * @throws IllegalArgumentException if {@code type} is {@link BinaryTagTypes#END}, or {@code expectedSize} is negative
+   * @since 4.9.0
+   */
+  static <T extends BinaryTag> @NotNull Builder<T> builder(final @NotNull BinaryTagType<T> type, final int expectedSize) {
+    if (type == BinaryTagTypes.END) throw new IllegalArgumentException("Cannot create a list of " + BinaryTagTypes.END);
+    if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+    return new ListTagBuilder<>(type, expectedSize);
+  }
+
   /**
    * Creates a tag.
    *
@@ -23,6 +23,8 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -43,12 +45,35 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
   static final ListBinaryTag EMPTY = new ListBinaryTagImpl(BinaryTagTypes.END, Collections.emptyList());
   private final List<BinaryTag> tags;
   private final BinaryTagType<? extends BinaryTag> elementType;
-  private final int hashCode;
+  // set on lists made by set, add or remove, so that their next edit moves the elements into a trie
+  private final boolean edited;
+  private int hashCode;
+  private volatile long encodedSize = -1;
+  private volatile long fingerprint;
+  // the elements of an edited numeric list, packed again for writing
+  private volatile @Nullable NumericTagList packed;
 
   ListBinaryTagImpl(final BinaryTagType<? extends BinaryTag> elementType, final List<BinaryTag> tags) {
-    this.tags = Collections.unmodifiableList(tags);
+    this(elementType, tags, tags instanceof PersistentTagList);
+  }
+
+  private ListBinaryTagImpl(final BinaryTagType<? extends BinaryTag> elementType, final List<BinaryTag> tags, final boolean edited) {
+    this.tags = pack(elementType, tags);
     this.elementType = elementType;
-    this.hashCode = tags.hashCode();
+    this.edited = edited;
+  }
+
+  // numbers are stored as an array of primitives, rather than a tag for each
+  private static List<BinaryTag> pack(final BinaryTagType<? extends BinaryTag> elementType, final List<BinaryTag> tags) {
+    if (tags instanceof NumericTagList || tags instanceof PersistentTagList) {
+      return tags;
+    } else if (elementType.numeric() && !tags.isEmpty()) {
+      final NumericTagList numeric = NumericTagList.pack(elementType, tags);
+      if (numeric != null) {
+        return numeric;
+      }
+    }
+    return Collections.unmodifiableList(tags);
   }
 
   @Override
@@ -68,6 +93,14 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
 
   @Override
   public @NotNull ListBinaryTag set(final int index, final @NotNull BinaryTag newTag, final @Nullable Consumer<? super BinaryTag> removed) {
+    if (this.edited) {
+      final PersistentTagList tags = this.persistent();
+      final BinaryTag oldTag = tags.get(index);
+      if (removed != null) {
+        removed.accept(oldTag);
+      }
+      return this.edited(tags.with(index, newTag), newTag.type());
+    }
     return this.edit(tags -> {
       final BinaryTag oldTag = tags.set(index, newTag);
       if (removed != null) {
@@ -78,6 +111,14 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
 
   @Override
   public @NotNull ListBinaryTag remove(final int index, final @Nullable Consumer<? super BinaryTag> removed) {
+    if (this.edited) {
+      final PersistentTagList tags = this.persistent();
+      final BinaryTag oldTag = tags.get(index);
+      if (removed != null) {
+        removed.accept(oldTag);
+      }
+      return this.edited(tags.without(index), null);
+    }
     return this.edit(tags -> {
       final BinaryTag oldTag = tags.remove(index);
       if (removed != null) {
@@ -92,6 +133,9 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
     if (this.elementType != BinaryTagTypes.END) {
       mustBeSameType(tag, this.elementType);
     }
+    if (this.edited) {
+      return this.edited(this.persistent().plus(tag), tag.type());
+    }
     return this.edit(tags -> tags.add(tag), tag.type());
   }
 
@@ -101,6 +145,13 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
       return this;
     }
     final BinaryTagType<?> type = ListBinaryTagImpl.mustBeSameType(tagsToAdd);
+    if (this.edited) {
+      PersistentTagList tags = this.persistent();
+      for (final BinaryTag tag : tagsToAdd) {
+        tags = tags.plus(tag);
+      }
+      return this.edited(tags, type);
+    }
     return this.edit(tags -> {
       for (final BinaryTag tag : tagsToAdd) {
         tags.add(tag);
@@ -143,7 +194,21 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
     if (maybeElementType != null && elementType == BinaryTagTypes.END) {
       elementType = maybeElementType;
     }
-    return new ListBinaryTagImpl(elementType, tags);
+    return new ListBinaryTagImpl(elementType, tags, true);
+  }
+
+  private ListBinaryTag edited(final PersistentTagList tags, final @Nullable BinaryTagType<? extends BinaryTag> maybeElementType) {
+    BinaryTagType<? extends BinaryTag> elementType = this.elementType;
+    // set the type if it has not yet been set
+    if (maybeElementType != null && elementType == BinaryTagTypes.END) {
+      elementType = maybeElementType;
+    }
+    return new ListBinaryTagImpl(elementType, tags, true);
+  }
+
+  private PersistentTagList persistent() {
+    // the elements are only copied into a trie on the second edit in a row, later edits reuse the trie
+    return PersistentTagList.copyOf(this.tags);
   }
 
   @Override
@@ -182,14 +247,78 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
     return Spliterators.spliterator(this.tags, Spliterator.ORDERED | Spliterator.IMMUTABLE);
   }
 
+  // writes the elements of this list, in bulk when possible
+  void writeElements(final DataOutput output) throws IOException {
+    final @Nullable NumericTagList numeric = this.numeric();
+    if (numeric != null) {
+      numeric.write(output);
+    } else {
+      for (final BinaryTag item : this.tags) {
+        BinaryTagType.write(item.type(), item, output);
+      }
+    }
+  }
+
+  // edited numeric lists keep their elements boxed in a trie, and are packed again the first time they are written or measured
+  private @Nullable NumericTagList numeric() {
+    if (this.tags instanceof NumericTagList) {
+      return (NumericTagList) this.tags;
+    } else if (!(this.tags instanceof PersistentTagList) || !this.elementType.numeric() || this.tags.isEmpty()) {
+      return null;
+    }
+    NumericTagList packed = this.packed;
+    if (packed == null) {
+      packed = NumericTagList.pack(this.elementType, this.tags);
+      this.packed = packed;
+    }
+    return packed;
+  }
+
+  long encodedSize() {
+    long encodedSize = this.encodedSize;
+    if (encodedSize < 0) {
+      final @Nullable NumericTagList numeric = this.numeric();
+      encodedSize = numeric != null ? 1 + 4 + numeric.payloadSize() : BinaryTagSizes.sizeOfList(this);
+      this.encodedSize = encodedSize;
+    }
+    return encodedSize;
+  }
+
+  @Override
+  public long fingerprint() {
+    long fingerprint = this.fingerprint;
+    if (fingerprint == 0) { // computed on demand, like the hash code
+      fingerprint = BinaryTagFingerprints.fingerprintOfList(this);
+      this.fingerprint = fingerprint;
+    }
+    return fingerprint;
+  }
+
   @Override
   public boolean equals(final Object that) {
-    return this == that || (that instanceof ListBinaryTagImpl && this.tags.equals(((ListBinaryTagImpl) that).tags));
+    if (this == that) {
+      return true;
+    } else if (!(that instanceof ListBinaryTagImpl)) {
+      return false;
+    }
+    final ListBinaryTagImpl other = (ListBinaryTagImpl) that;
+    // fingerprints already known for both tags settle most unequal tags without comparing them
+    final long fingerprint = this.fingerprint;
+    final long otherFingerprint = other.fingerprint;
+    if (fingerprint != 0 && otherFingerprint != 0 && fingerprint != otherFingerprint) {
+      return false;
+    }
+    return this.tags.equals(other.tags);
   }
 
   @Override
   public int hashCode() {
-    return this.hashCode;
+    int hashCode = this.hashCode;
+    if (hashCode == 0) { // computed on demand, as edits would otherwise have to go over every element
+      hashCode = this.tags.hashCode();
+      this.hashCode = hashCode;
+    }
+    return hashCode;
   }
 
   @Override
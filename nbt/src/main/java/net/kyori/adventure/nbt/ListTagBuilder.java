@@ -29,7 +29,11 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 final class ListTagBuilder<T extends BinaryTag> implements ListBinaryTag.Builder<T> {
+  // the number of tags the caller expects to add, or -1 if unknown
+  private final int expectedSize;
   private @Nullable List<BinaryTag> tags;
+  // whether tags has been handed to a built tag, and must be copied before it is changed
+  private boolean shared;
   private BinaryTagType<? extends BinaryTag> elementType;
 
   ListTagBuilder() {
@@ -37,7 +41,12 @@ final class ListTagBuilder<T extends BinaryTag> implements ListBinaryTag.Builder
   }
 
   ListTagBuilder(final BinaryTagType<? extends BinaryTag> type) {
+    this(type, -1);
+  }
+
+  ListTagBuilder(final BinaryTagType<? extends BinaryTag> type, final int expectedSize) {
     this.elementType = type;
+    this.expectedSize = expectedSize;
   }
 
   @Override
@@ -50,7 +59,10 @@ final class ListTagBuilder<T extends BinaryTag> implements ListBinaryTag.Builder
     // check after changing from an empty tag
     ListBinaryTagImpl.mustBeSameType(tag, this.elementType);
     if (this.tags == null) {
-      this.tags = new ArrayList<>();
+      this.tags = this.expectedSize < 0 ? new ArrayList<>() : new ArrayList<>(this.expectedSize);
+    } else if (this.shared) {
+      this.tags = new ArrayList<>(this.tags);
+      this.shared = false;
     }
     this.tags.add(tag);
     return this;
@@ -67,6 +79,8 @@ final class ListTagBuilder<T extends BinaryTag> implements ListBinaryTag.Builder
   @Override
   public @NotNull ListBinaryTag build() {
     if (this.tags == null) return ListBinaryTag.empty();
-    return new ListBinaryTagImpl(this.elementType, new ArrayList<>(this.tags));
+    // hand our list over rather than copying it, and copy it later only if this builder is used again
+    this.shared = true;
+    return new ListBinaryTagImpl(this.elementType, this.tags);
   }
 }
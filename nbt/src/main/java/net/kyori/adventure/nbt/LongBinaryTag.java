@@ -43,6 +43,9 @@ public interface LongBinaryTag extends NumberBinaryTag {
    * @since 4.0.0
    */
   static @NotNull LongBinaryTag of(final long value) {
+    if (value >= LongBinaryTagImpl.Cache.LOW && value <= LongBinaryTagImpl.Cache.HIGH) {
+      return LongBinaryTagImpl.Cache.VALUES[(int) value - LongBinaryTagImpl.Cache.LOW];
+    }
     return new LongBinaryTagImpl(value);
   }
 
@@ -68,6 +71,22 @@ final class LongBinaryTagImpl extends AbstractBinaryTag implements LongBinaryTag
     this.value = value;
   }
 
+  // small values are common, so tags for them are shared
+  static final class Cache {
+    static final int LOW = -128;
+    static final int HIGH = 1023;
+    static final LongBinaryTag[] VALUES = new LongBinaryTag[HIGH - LOW + 1];
+
+    static {
+      for (int i = 0; i < VALUES.length; i++) {
+        VALUES[i] = new LongBinaryTagImpl((long) (LOW + i));
+      }
+    }
+
+    private Cache() {
+    }
+  }
+
   @Override
   public long value() {
     return this.value;
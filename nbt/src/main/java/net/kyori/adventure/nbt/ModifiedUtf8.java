@@ -0,0 +1,127 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for the modified UTF-8 encoding used by {@link java.io.DataInput#readUTF()}.
+ */
+final class ModifiedUtf8 {
+  static final int MAX_LENGTH = 65535;
+
+  private ModifiedUtf8() {
+  }
+
+  static int encodedLength(final String string) {
+    final int length = string.length();
+    int encoded = length;
+    for (int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      if (c >= 0x80 || c == 0) {
+        encoded += c >= 0x800 ? 2 : 1;
+      }
+    }
+    return encoded;
+  }
+
+  // writes the encoded length, followed by the encoded string
+  static void encode(final String string, final ByteBuffer buffer) throws UTFDataFormatException {
+    final int encodedLength = encodedLength(string);
+    if (encodedLength > MAX_LENGTH) {
+      throw new UTFDataFormatException("encoded string too long: " + encodedLength + " bytes");
+    }
+    buffer.putShort((short) encodedLength);
+    final int length = string.length();
+    if (encodedLength == length) { // only ascii
+      for (int i = 0; i < length; i++) {
+        buffer.put((byte) string.charAt(i));
+      }
+      return;
+    }
+    for (int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      if (c != 0 && c < 0x80) {
+        buffer.put((byte) c);
+      } else if (c >= 0x800) {
+        buffer.put((byte) (0xe0 | ((c >> 12) & 0x0f)));
+        buffer.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+        buffer.put((byte) (0x80 | (c & 0x3f)));
+      } else {
+        buffer.put((byte) (0xc0 | ((c >> 6) & 0x1f)));
+        buffer.put((byte) (0x80 | (c & 0x3f)));
+      }
+    }
+  }
+
+  static String decode(final byte[] bytes, final int offset, final int length) throws UTFDataFormatException {
+    final int end = offset + length;
+    int index = offset;
+    while (index < end && bytes[index] >= 0) {
+      index++;
+    }
+    if (index == end) { // only ascii, which is a direct byte -> char mapping
+      return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    final char[] chars = new char[length];
+    int count = index - offset;
+    for (int i = offset; i < index; i++) {
+      chars[i - offset] = (char) bytes[i];
+    }
+    while (index < end) {
+      final int c = bytes[index] & 0xff;
+      if (c < 0x80) { // 0xxxxxxx
+        index++;
+        chars[count++] = (char) c;
+      } else if ((c & 0xe0) == 0xc0) { // 110xxxxx 10xxxxxx
+        index += 2;
+        if (index > end) {
+          throw new UTFDataFormatException("malformed input: partial character at end");
+        }
+        final int c2 = bytes[index - 1];
+        if ((c2 & 0xc0) != 0x80) {
+          throw new UTFDataFormatException("malformed input around byte " + (index - offset));
+        }
+        chars[count++] = (char) (((c & 0x1f) << 6) | (c2 & 0x3f));
+      } else if ((c & 0xf0) == 0xe0) { // 1110xxxx 10xxxxxx 10xxxxxx
+        index += 3;
+        if (index > end) {
+          throw new UTFDataFormatException("malformed input: partial character at end");
+        }
+        final int c2 = bytes[index - 2];
+        final int c3 = bytes[index - 1];
+        if ((c2 & 0xc0) != 0x80 || (c3 & 0xc0) != 0x80) {
+          throw new UTFDataFormatException("malformed input around byte " + (index - 1 - offset));
+        }
+        chars[count++] = (char) (((c & 0x0f) << 12) | ((c2 & 0x3f) << 6) | (c3 & 0x3f));
+      } else { // 10xxxxxx, 1111xxxx
+        throw new UTFDataFormatException("malformed input around byte " + (index - offset));
+      }
+    }
+    return new String(chars, 0, count);
+  }
+}
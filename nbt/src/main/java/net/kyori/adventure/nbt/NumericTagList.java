@@ -0,0 +1,458 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The elements of a list tag of numbers, stored as an array of primitives.
+ *
+ * <p>Tags are only created when elements are requested. Equality and hash codes are the same as
+ * for a list of the tags themselves.</p>
+ */
+abstract class NumericTagList extends AbstractList<BinaryTag> implements RandomAccess {
+  // reads length elements of a numeric type, in bulk when possible
+  static NumericTagList read(final BinaryTagType<? extends BinaryTag> type, final DataInput input, final int length) throws IOException {
+    switch (type.id()) {
+      case 1: // byte
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new OfByte(bytes);
+      case 2: // short
+        final short[] shorts = new short[length];
+        if (input instanceof ByteBufferDataInput) {
+          ((ByteBufferDataInput) input).readFully(shorts);
+        } else {
+          for (int i = 0; i < length; i++) {
+            shorts[i] = input.readShort();
+          }
+        }
+        return new OfShort(shorts);
+      case 3: // int
+        final int[] ints = new int[length];
+        if (input instanceof ByteBufferDataInput) {
+          ((ByteBufferDataInput) input).readFully(ints);
+        } else {
+          for (int i = 0; i < length; i++) {
+            ints[i] = input.readInt();
+          }
+        }
+        return new OfInt(ints);
+      case 4: // long
+        final long[] longs = new long[length];
+        if (input instanceof ByteBufferDataInput) {
+          ((ByteBufferDataInput) input).readFully(longs);
+        } else {
+          for (int i = 0; i < length; i++) {
+            longs[i] = input.readLong();
+          }
+        }
+        return new OfLong(longs);
+      case 5: // float
+        final float[] floats = new float[length];
+        if (input instanceof ByteBufferDataInput) {
+          ((ByteBufferDataInput) input).readFully(floats);
+        } else {
+          for (int i = 0; i < length; i++) {
+            floats[i] = input.readFloat();
+          }
+        }
+        return new OfFloat(floats);
+      case 6: // double
+        final double[] doubles = new double[length];
+        if (input instanceof ByteBufferDataInput) {
+          ((ByteBufferDataInput) input).readFully(doubles);
+        } else {
+          for (int i = 0; i < length; i++) {
+            doubles[i] = input.readDouble();
+          }
+        }
+        return new OfDouble(doubles);
+      default:
+        throw new IllegalArgumentException("Not a numeric type: " + type);
+    }
+  }
+
+  // copies tags into an array, or returns null if they are not all of the numeric type
+  static @Nullable NumericTagList pack(final BinaryTagType<? extends BinaryTag> type, final List<BinaryTag> tags) {
+    final int size = tags.size();
+    for (int i = 0; i < size; i++) {
+      if (tags.get(i).type() != type) {
+        return null;
+      }
+    }
+    switch (type.id()) {
+      case 1: // byte
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+          bytes[i] = ((ByteBinaryTag) tags.get(i)).value();
+        }
+        return new OfByte(bytes);
+      case 2: // short
+        final short[] shorts = new short[size];
+        for (int i = 0; i < size; i++) {
+          shorts[i] = ((ShortBinaryTag) tags.get(i)).value();
+        }
+        return new OfShort(shorts);
+      case 3: // int
+        final int[] ints = new int[size];
+        for (int i = 0; i < size; i++) {
+          ints[i] = ((IntBinaryTag) tags.get(i)).value();
+        }
+        return new OfInt(ints);
+      case 4: // long
+        final long[] longs = new long[size];
+        for (int i = 0; i < size; i++) {
+          longs[i] = ((LongBinaryTag) tags.get(i)).value();
+        }
+        return new OfLong(longs);
+      case 5: // float
+        final float[] floats = new float[size];
+        for (int i = 0; i < size; i++) {
+          floats[i] = ((FloatBinaryTag) tags.get(i)).value();
+        }
+        return new OfFloat(floats);
+      case 6: // double
+        final double[] doubles = new double[size];
+        for (int i = 0; i < size; i++) {
+          doubles[i] = ((DoubleBinaryTag) tags.get(i)).value();
+        }
+        return new OfDouble(doubles);
+      default:
+        return null;
+    }
+  }
+
+  // the number of bytes written by write
+  abstract long payloadSize();
+
+  abstract void write(final DataOutput output) throws IOException;
+
+  static final class OfByte extends NumericTagList {
+    private final byte[] values;
+
+    OfByte(final byte[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return ByteBinaryTag.of(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    long payloadSize() {
+      return 1L * this.values.length;
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      output.write(this.values);
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final byte value : this.values) {
+        hashCode = 31 * hashCode + Byte.hashCode(value);
+      }
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof OfByte) {
+        return Arrays.equals(this.values, ((OfByte) other).values);
+      }
+      return super.equals(other);
+    }
+  }
+
+  static final class OfShort extends NumericTagList {
+    private final short[] values;
+
+    OfShort(final short[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return ShortBinaryTag.of(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    long payloadSize() {
+      return 2L * this.values.length;
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      if (output instanceof ByteBufferDataOutput) {
+        ((ByteBufferDataOutput) output).writeShorts(this.values);
+      } else {
+        for (final short value : this.values) {
+          output.writeShort(value);
+        }
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final short value : this.values) {
+        hashCode = 31 * hashCode + Short.hashCode(value);
+      }
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof OfShort) {
+        return Arrays.equals(this.values, ((OfShort) other).values);
+      }
+      return super.equals(other);
+    }
+  }
+
+  static final class OfInt extends NumericTagList {
+    private final int[] values;
+
+    OfInt(final int[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return IntBinaryTag.of(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    long payloadSize() {
+      return 4L * this.values.length;
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      if (output instanceof ByteBufferDataOutput) {
+        ((ByteBufferDataOutput) output).writeInts(this.values);
+      } else {
+        for (final int value : this.values) {
+          output.writeInt(value);
+        }
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final int value : this.values) {
+        hashCode = 31 * hashCode + Integer.hashCode(value);
+      }
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof OfInt) {
+        return Arrays.equals(this.values, ((OfInt) other).values);
+      }
+      return super.equals(other);
+    }
+  }
+
+  static final class OfLong extends NumericTagList {
+    private final long[] values;
+
+    OfLong(final long[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return LongBinaryTag.of(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    long payloadSize() {
+      return 8L * this.values.length;
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      if (output instanceof ByteBufferDataOutput) {
+        ((ByteBufferDataOutput) output).writeLongs(this.values);
+      } else {
+        for (final long value : this.values) {
+          output.writeLong(value);
+        }
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final long value : this.values) {
+        hashCode = 31 * hashCode + Long.hashCode(value);
+      }
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof OfLong) {
+        return Arrays.equals(this.values, ((OfLong) other).values);
+      }
+      return super.equals(other);
+    }
+  }
+
+  static final class OfFloat extends NumericTagList {
+    private final float[] values;
+
+    OfFloat(final float[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return FloatBinaryTag.of(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    long payloadSize() {
+      return 4L * this.values.length;
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      if (output instanceof ByteBufferDataOutput) {
+        ((ByteBufferDataOutput) output).writeFloats(this.values);
+      } else {
+        for (final float value : this.values) {
+          output.writeFloat(value);
+        }
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final float value : this.values) {
+        hashCode = 31 * hashCode + Float.hashCode(value);
+      }
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof OfFloat) {
+        return Arrays.equals(this.values, ((OfFloat) other).values);
+      }
+      return super.equals(other);
+    }
+  }
+
+  static final class OfDouble extends NumericTagList {
+    private final double[] values;
+
+    OfDouble(final double[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return DoubleBinaryTag.of(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    long payloadSize() {
+      return 8L * this.values.length;
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      if (output instanceof ByteBufferDataOutput) {
+        ((ByteBufferDataOutput) output).writeDoubles(this.values);
+      } else {
+        for (final double value : this.values) {
+          output.writeDouble(value);
+        }
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final double value : this.values) {
+        hashCode = 31 * hashCode + Double.hashCode(value);
+      }
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof OfDouble) {
+        return Arrays.equals(this.values, ((OfDouble) other).values);
+      }
+      return super.equals(other);
+    }
+  }
+}
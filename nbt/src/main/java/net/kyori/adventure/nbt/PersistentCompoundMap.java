@@ -0,0 +1,419 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable map of the entries of a compound tag, where adding or removing an entry creates a
+ * new map sharing most of its structure with the old one.
+ *
+ * <p>Entries are stored in a hash trie, with each level of nodes indexed by five bits of the
+ * hash of the key. Changing an entry only copies the nodes on the path to it, so it takes
+ * time logarithmic in the size of the map rather than copying the whole map.</p>
+ */
+final class PersistentCompoundMap extends AbstractMap<String, BinaryTag> {
+  static final PersistentCompoundMap EMPTY = new PersistentCompoundMap(Node.EMPTY, 0);
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final int HASH_BITS = 32;
+  private static final int MAX_DEPTH = (HASH_BITS + BITS - 1) / BITS + 1;
+  private final Node root;
+  private final int size;
+
+  private PersistentCompoundMap(final Node root, final int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Creates a map with the entries of {@code map}.
+   *
+   * @param map the entries
+   * @return a map
+   */
+  static PersistentCompoundMap copyOf(final Map<String, ? extends BinaryTag> map) {
+    if (map instanceof PersistentCompoundMap) {
+      return (PersistentCompoundMap) map;
+    }
+    final int size = map.size();
+    if (size == 0) {
+      return EMPTY;
+    }
+    final String[] keys = new String[size];
+    final BinaryTag[] values = new BinaryTag[size];
+    final int[] hashes = new int[size];
+    final int[] order = new int[size];
+    int i = 0;
+    for (final Map.Entry<String, ? extends BinaryTag> entry : map.entrySet()) {
+      keys[i] = entry.getKey();
+      values[i] = entry.getValue();
+      hashes[i] = entry.getKey().hashCode();
+      order[i] = i;
+      i++;
+    }
+    return new PersistentCompoundMap(Node.build(keys, values, hashes, order, new int[size], 0, size, 0), size);
+  }
+
+  /**
+   * Creates a map with {@code key} set to {@code value}.
+   *
+   * @param key the key
+   * @param value the value
+   * @return a map
+   */
+  PersistentCompoundMap with(final String key, final BinaryTag value) {
+    final Change change = new Change();
+    final Node root = this.root.put(key, value, key.hashCode(), 0, change);
+    if (root == this.root) {
+      return this;
+    }
+    return new PersistentCompoundMap(root, change.added ? this.size + 1 : this.size);
+  }
+
+  /**
+   * Creates a map without {@code key}.
+   *
+   * @param key the key
+   * @return a map
+   */
+  PersistentCompoundMap without(final String key) {
+    final Node root = this.root.remove(key, key.hashCode(), 0);
+    if (root == this.root) {
+      return this;
+    }
+    return new PersistentCompoundMap(root, this.size - 1);
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return key instanceof String && this.root.get((String) key, key.hashCode(), 0) != null;
+  }
+
+  @Override
+  public @Nullable BinaryTag get(final Object key) {
+    return key instanceof String ? this.root.get((String) key, key.hashCode(), 0) : null;
+  }
+
+  @Override
+  public @NotNull Set<Entry<String, BinaryTag>> entrySet() {
+    return new AbstractSet<Entry<String, BinaryTag>>() {
+      @Override
+      public @NotNull Iterator<Entry<String, BinaryTag>> iterator() {
+        return new EntryIterator(PersistentCompoundMap.this.root);
+      }
+
+      @Override
+      public int size() {
+        return PersistentCompoundMap.this.size;
+      }
+    };
+  }
+
+  static final class Change {
+    boolean added;
+  }
+
+  /**
+   * A node of the trie.
+   *
+   * <p>The content of a node holds the key and value of each entry, followed by the child nodes
+   * in reverse order. Below the last level of hash bits, a node only holds entries whose keys have
+   * the same hash, and is searched linearly.</p>
+   */
+  static final class Node {
+    static final Node EMPTY = new Node(0, 0, new Object[0]);
+    final int dataMap;
+    final int nodeMap;
+    final Object[] content;
+
+    Node(final int dataMap, final int nodeMap, final Object[] content) {
+      this.dataMap = dataMap;
+      this.nodeMap = nodeMap;
+      this.content = content;
+    }
+
+    static Node build(final String[] keys, final BinaryTag[] values, final int[] hashes, final int[] order, final int[] scratch, final int from, final int to, final int shift) {
+      if (shift >= HASH_BITS) {
+        final Object[] content = new Object[(to - from) * 2];
+        for (int i = from; i < to; i++) {
+          content[(i - from) * 2] = keys[order[i]];
+          content[(i - from) * 2 + 1] = values[order[i]];
+        }
+        return new Node(0, 0, content);
+      }
+      // counting sort the range by the hash bits of this level
+      final int[] starts = new int[MASK + 2];
+      for (int i = from; i < to; i++) {
+        starts[((hashes[order[i]] >>> shift) & MASK) + 1]++;
+      }
+      int dataMap = 0;
+      int nodeMap = 0;
+      for (int bucket = 0; bucket <= MASK; bucket++) {
+        final int count = starts[bucket + 1];
+        if (count == 1) {
+          dataMap |= 1 << bucket;
+        } else if (count > 1) {
+          nodeMap |= 1 << bucket;
+        }
+        starts[bucket + 1] += starts[bucket];
+      }
+      final int[] positions = starts.clone();
+      for (int i = from; i < to; i++) {
+        scratch[from + positions[(hashes[order[i]] >>> shift) & MASK]++] = order[i];
+      }
+      System.arraycopy(scratch, from, order, from, to - from);
+
+      final int dataArity = Integer.bitCount(dataMap);
+      final Object[] content = new Object[dataArity * 2 + Integer.bitCount(nodeMap)];
+      int data = 0;
+      int nodes = content.length;
+      for (int bucket = 0; bucket <= MASK; bucket++) {
+        final int start = from + starts[bucket];
+        final int end = from + starts[bucket + 1];
+        if (end - start == 1) {
+          content[data++] = keys[order[start]];
+          content[data++] = values[order[start]];
+        } else if (end - start > 1) {
+          content[--nodes] = build(keys, values, hashes, order, scratch, start, end, shift + BITS);
+        }
+      }
+      return new Node(dataMap, nodeMap, content);
+    }
+
+    private static Node merge(final String key0, final BinaryTag value0, final int hash0, final String key1, final BinaryTag value1, final int hash1, final int shift) {
+      if (shift >= HASH_BITS) {
+        return new Node(0, 0, new Object[] {key0, value0, key1, value1});
+      }
+      final int bucket0 = (hash0 >>> shift) & MASK;
+      final int bucket1 = (hash1 >>> shift) & MASK;
+      if (bucket0 == bucket1) {
+        return new Node(0, 1 << bucket0, new Object[] {merge(key0, value0, hash0, key1, value1, hash1, shift + BITS)});
+      } else if (bucket0 < bucket1) {
+        return new Node((1 << bucket0) | (1 << bucket1), 0, new Object[] {key0, value0, key1, value1});
+      } else {
+        return new Node((1 << bucket0) | (1 << bucket1), 0, new Object[] {key1, value1, key0, value0});
+      }
+    }
+
+    int dataArity() {
+      return this.dataMap == 0 && this.nodeMap == 0 ? this.content.length / 2 : Integer.bitCount(this.dataMap);
+    }
+
+    int nodeArity() {
+      return Integer.bitCount(this.nodeMap);
+    }
+
+    Node node(final int index) {
+      return (Node) this.content[this.content.length - 1 - index];
+    }
+
+    @Nullable BinaryTag get(final String key, final int hash, final int shift) {
+      Node node = this;
+      for (int level = shift; level < HASH_BITS; level += BITS) {
+        final int bit = 1 << ((hash >>> level) & MASK);
+        if ((node.dataMap & bit) != 0) {
+          final int index = Integer.bitCount(node.dataMap & (bit - 1)) * 2;
+          return key.equals(node.content[index]) ? (BinaryTag) node.content[index + 1] : null;
+        } else if ((node.nodeMap & bit) == 0) {
+          return null;
+        }
+        node = node.node(Integer.bitCount(node.nodeMap & (bit - 1)));
+      }
+      for (int i = 0; i < node.content.length; i += 2) {
+        if (key.equals(node.content[i])) {
+          return (BinaryTag) node.content[i + 1];
+        }
+      }
+      return null;
+    }
+
+    Node put(final String key, final BinaryTag value, final int hash, final int shift, final Change change) {
+      if (shift >= HASH_BITS) {
+        for (int i = 0; i < this.content.length; i += 2) {
+          if (key.equals(this.content[i])) {
+            return this.content[i + 1] == value ? this : this.withValue(i + 1, value);
+          }
+        }
+        change.added = true;
+        final Object[] content = new Object[this.content.length + 2];
+        System.arraycopy(this.content, 0, content, 0, this.content.length);
+        content[this.content.length] = key;
+        content[this.content.length + 1] = value;
+        return new Node(0, 0, content);
+      }
+      final int bit = 1 << ((hash >>> shift) & MASK);
+      if ((this.dataMap & bit) != 0) {
+        final int index = Integer.bitCount(this.dataMap & (bit - 1)) * 2;
+        final String existing = (String) this.content[index];
+        if (key.equals(existing)) {
+          return this.content[index + 1] == value ? this : this.withValue(index + 1, value);
+        }
+        change.added = true;
+        final Node child = merge(existing, (BinaryTag) this.content[index + 1], existing.hashCode(), key, value, hash, shift + BITS);
+        return this.withDataMovedToNode(bit, index, child);
+      } else if ((this.nodeMap & bit) != 0) {
+        final int index = this.content.length - 1 - Integer.bitCount(this.nodeMap & (bit - 1));
+        final Node child = (Node) this.content[index];
+        final Node updated = child.put(key, value, hash, shift + BITS, change);
+        return updated == child ? this : this.withValue(index, updated);
+      }
+      change.added = true;
+      final int index = Integer.bitCount(this.dataMap & (bit - 1)) * 2;
+      final Object[] content = new Object[this.content.length + 2];
+      System.arraycopy(this.content, 0, content, 0, index);
+      content[index] = key;
+      content[index + 1] = value;
+      System.arraycopy(this.content, index, content, index + 2, this.content.length - index);
+      return new Node(this.dataMap | bit, this.nodeMap, content);
+    }
+
+    Node remove(final String key, final int hash, final int shift) {
+      if (shift >= HASH_BITS) {
+        for (int i = 0; i < this.content.length; i += 2) {
+          if (key.equals(this.content[i])) {
+            final Object[] content = new Object[this.content.length - 2];
+            System.arraycopy(this.content, 0, content, 0, i);
+            System.arraycopy(this.content, i + 2, content, i, content.length - i);
+            return new Node(0, 0, content);
+          }
+        }
+        return this;
+      }
+      final int bit = 1 << ((hash >>> shift) & MASK);
+      if ((this.dataMap & bit) != 0) {
+        final int index = Integer.bitCount(this.dataMap & (bit - 1)) * 2;
+        if (!key.equals(this.content[index])) {
+          return this;
+        }
+        final Object[] content = new Object[this.content.length - 2];
+        System.arraycopy(this.content, 0, content, 0, index);
+        System.arraycopy(this.content, index + 2, content, index, content.length - index);
+        return new Node(this.dataMap ^ bit, this.nodeMap, content);
+      } else if ((this.nodeMap & bit) != 0) {
+        final int index = this.content.length - 1 - Integer.bitCount(this.nodeMap & (bit - 1));
+        final Node child = (Node) this.content[index];
+        final Node updated = child.remove(key, hash, shift + BITS);
+        if (updated == child) {
+          return this;
+        } else if (updated.nodeArity() == 0 && updated.dataArity() == 1) {
+          // a single entry left, which moves up to this node
+          return this.withNodeMovedToData(bit, index, (String) updated.content[0], (BinaryTag) updated.content[1]);
+        }
+        return this.withValue(index, updated);
+      }
+      return this;
+    }
+
+    private Node withValue(final int index, final Object value) {
+      final Object[] content = this.content.clone();
+      content[index] = value;
+      return new Node(this.dataMap, this.nodeMap, content);
+    }
+
+    private Node withDataMovedToNode(final int bit, final int dataIndex, final Node child) {
+      final int nodeIndex = this.content.length - 2 - Integer.bitCount(this.nodeMap & (bit - 1));
+      final Object[] content = new Object[this.content.length - 1];
+      System.arraycopy(this.content, 0, content, 0, dataIndex);
+      System.arraycopy(this.content, dataIndex + 2, content, dataIndex, nodeIndex - dataIndex);
+      content[nodeIndex] = child;
+      System.arraycopy(this.content, nodeIndex + 2, content, nodeIndex + 1, this.content.length - nodeIndex - 2);
+      return new Node(this.dataMap ^ bit, this.nodeMap | bit, content);
+    }
+
+    private Node withNodeMovedToData(final int bit, final int nodeIndex, final String key, final BinaryTag value) {
+      final int dataIndex = Integer.bitCount(this.dataMap & (bit - 1)) * 2;
+      final Object[] content = new Object[this.content.length + 1];
+      System.arraycopy(this.content, 0, content, 0, dataIndex);
+      content[dataIndex] = key;
+      content[dataIndex + 1] = value;
+      System.arraycopy(this.content, dataIndex, content, dataIndex + 2, nodeIndex - dataIndex);
+      System.arraycopy(this.content, nodeIndex + 1, content, nodeIndex + 2, this.content.length - nodeIndex - 1);
+      return new Node(this.dataMap | bit, this.nodeMap ^ bit, content);
+    }
+  }
+
+  static final class EntryIterator implements Iterator<Entry<String, BinaryTag>> {
+    private final Node[] nodes = new Node[MAX_DEPTH];
+    private final int[] positions = new int[MAX_DEPTH];
+    private int depth;
+    private @Nullable Node next;
+    private int nextIndex;
+
+    EntryIterator(final Node root) {
+      this.nodes[0] = root;
+      this.advance();
+    }
+
+    private void advance() {
+      while (true) {
+        final Node node = this.nodes[this.depth];
+        final int position = this.positions[this.depth]++;
+        final int dataArity = node.dataArity();
+        if (position < dataArity) {
+          this.next = node;
+          this.nextIndex = position * 2;
+          return;
+        } else if (position - dataArity < node.nodeArity()) {
+          this.depth++;
+          this.nodes[this.depth] = node.node(position - dataArity);
+          this.positions[this.depth] = 0;
+        } else if (this.depth == 0) {
+          this.next = null;
+          return;
+        } else {
+          this.nodes[this.depth--] = null;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.next != null;
+    }
+
+    @Override
+    public Entry<String, BinaryTag> next() {
+      final Node node = this.next;
+      if (node == null) {
+        throw new NoSuchElementException();
+      }
+      final Entry<String, BinaryTag> entry = new SimpleImmutableEntry<>((String) node.content[this.nextIndex], (BinaryTag) node.content[this.nextIndex + 1]);
+      this.advance();
+      return entry;
+    }
+  }
+}
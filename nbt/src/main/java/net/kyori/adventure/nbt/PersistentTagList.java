@@ -0,0 +1,302 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable list of the elements of a list tag, where changing or appending an element
+ * creates a new list sharing most of its structure with the old one.
+ *
+ * <p>Elements are stored in a trie of arrays of 32 elements, with the last, partially filled
+ * array kept outside of the trie. Appending only copies that array until it is full, and setting an
+ * element only copies the arrays on the path to it. Removing the last element is as cheap, but
+ * removing any other element copies the list.</p>
+ */
+final class PersistentTagList extends AbstractList<BinaryTag> implements RandomAccess {
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  private static final Object[] EMPTY_NODE = new Object[WIDTH];
+  static final PersistentTagList EMPTY = new PersistentTagList(0, BITS, EMPTY_NODE, new Object[0]);
+  private final int size;
+  private final int shift;
+  private final Object[] root;
+  private final Object[] tail;
+
+  private PersistentTagList(final int size, final int shift, final Object[] root, final Object[] tail) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  /**
+   * Creates a list with the elements of {@code list}.
+   *
+   * @param list the elements
+   * @return a list
+   */
+  static PersistentTagList copyOf(final List<? extends BinaryTag> list) {
+    if (list instanceof PersistentTagList) {
+      return (PersistentTagList) list;
+    }
+    return of(list.toArray());
+  }
+
+  private static PersistentTagList of(final Object[] elements) {
+    final int size = elements.length;
+    if (size == 0) {
+      return EMPTY;
+    }
+    final int tailOffset = tailOffset(size);
+    Object[] nodes = new Object[tailOffset >>> BITS];
+    for (int i = 0; i < nodes.length; i++) {
+      final Object[] leaf = new Object[WIDTH];
+      System.arraycopy(elements, i << BITS, leaf, 0, WIDTH);
+      nodes[i] = leaf;
+    }
+    int shift = BITS;
+    while (nodes.length > WIDTH) {
+      final Object[] parents = new Object[(nodes.length + MASK) >>> BITS];
+      for (int i = 0; i < parents.length; i++) {
+        final Object[] parent = new Object[WIDTH];
+        System.arraycopy(nodes, i << BITS, parent, 0, Math.min(WIDTH, nodes.length - (i << BITS)));
+        parents[i] = parent;
+      }
+      nodes = parents;
+      shift += BITS;
+    }
+    final Object[] root = new Object[WIDTH];
+    System.arraycopy(nodes, 0, root, 0, nodes.length);
+    final Object[] tail = new Object[size - tailOffset];
+    System.arraycopy(elements, tailOffset, tail, 0, tail.length);
+    return new PersistentTagList(size, shift, root, tail);
+  }
+
+  private static int tailOffset(final int size) {
+    return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+  }
+
+  private Object[] leafFor(final int index) {
+    if (index >= tailOffset(this.size)) {
+      return this.tail;
+    }
+    Object[] node = this.root;
+    for (int level = this.shift; level > 0; level -= BITS) {
+      node = (Object[]) node[(index >>> level) & MASK];
+    }
+    return node;
+  }
+
+  @Override
+  public BinaryTag get(final int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+    return (BinaryTag) this.leafFor(index)[index & MASK];
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Creates a list with {@code element} appended.
+   *
+   * @param element the element
+   * @return a list
+   */
+  PersistentTagList plus(final BinaryTag element) {
+    requireNonNull(element, "element");
+    if (this.size - tailOffset(this.size) < WIDTH) {
+      final Object[] tail = new Object[this.tail.length + 1];
+      System.arraycopy(this.tail, 0, tail, 0, this.tail.length);
+      tail[this.tail.length] = element;
+      return new PersistentTagList(this.size + 1, this.shift, this.root, tail);
+    }
+    // the tail is full, and moves into the trie
+    final Object[] root;
+    int shift = this.shift;
+    if ((this.size >>> BITS) > (1 << this.shift)) {
+      root = new Object[WIDTH];
+      root[0] = this.root;
+      root[1] = path(this.shift, this.tail);
+      shift += BITS;
+    } else {
+      root = this.pushTail(this.shift, this.root);
+    }
+    return new PersistentTagList(this.size + 1, shift, root, new Object[] {element});
+  }
+
+  private Object[] pushTail(final int level, final Object[] parent) {
+    final int index = ((this.size - 1) >>> level) & MASK;
+    final Object[] copy = parent.clone();
+    if (level == BITS) {
+      copy[index] = this.tail;
+    } else {
+      final Object[] child = (Object[]) parent[index];
+      copy[index] = child != null ? this.pushTail(level - BITS, child) : path(level - BITS, this.tail);
+    }
+    return copy;
+  }
+
+  private static Object[] path(final int level, final Object[] leaf) {
+    if (level == 0) {
+      return leaf;
+    }
+    final Object[] node = new Object[WIDTH];
+    node[0] = path(level - BITS, leaf);
+    return node;
+  }
+
+  /**
+   * Creates a list with the element at {@code index} replaced by {@code element}.
+   *
+   * @param index the index
+   * @param element the element
+   * @return a list
+   */
+  PersistentTagList with(final int index, final BinaryTag element) {
+    requireNonNull(element, "element");
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+    if (index >= tailOffset(this.size)) {
+      final Object[] tail = this.tail.clone();
+      tail[index & MASK] = element;
+      return new PersistentTagList(this.size, this.shift, this.root, tail);
+    }
+    return new PersistentTagList(this.size, this.shift, with(this.shift, this.root, index, element), this.tail);
+  }
+
+  private static Object[] with(final int level, final Object[] node, final int index, final BinaryTag element) {
+    final Object[] copy = node.clone();
+    if (level == 0) {
+      copy[index & MASK] = element;
+    } else {
+      final int child = (index >>> level) & MASK;
+      copy[child] = with(level - BITS, (Object[]) node[child], index, element);
+    }
+    return copy;
+  }
+
+  /**
+   * Creates a list without the element at {@code index}.
+   *
+   * @param index the index
+   * @return a list
+   */
+  PersistentTagList without(final int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+    if (index != this.size - 1) {
+      final Object[] elements = this.toArray();
+      final Object[] remaining = new Object[elements.length - 1];
+      System.arraycopy(elements, 0, remaining, 0, index);
+      System.arraycopy(elements, index + 1, remaining, index, remaining.length - index);
+      return of(remaining);
+    } else if (this.size == 1) {
+      return EMPTY;
+    } else if (this.size - tailOffset(this.size) > 1) {
+      final Object[] tail = new Object[this.tail.length - 1];
+      System.arraycopy(this.tail, 0, tail, 0, tail.length);
+      return new PersistentTagList(this.size - 1, this.shift, this.root, tail);
+    }
+    // the tail is emptied, and the last array of the trie becomes the tail
+    final Object[] tail = this.leafFor(this.size - 2);
+    Object[] root = this.popTail(this.shift, this.root);
+    int shift = this.shift;
+    if (root == null) {
+      root = EMPTY_NODE;
+    }
+    if (shift > BITS && root[1] == null) {
+      root = (Object[]) root[0];
+      shift -= BITS;
+    }
+    return new PersistentTagList(this.size - 1, shift, root, tail);
+  }
+
+  private Object[] popTail(final int level, final Object[] node) {
+    final int index = ((this.size - 2) >>> level) & MASK;
+    if (level > BITS) {
+      final Object[] child = this.popTail(level - BITS, (Object[]) node[index]);
+      if (child == null && index == 0) {
+        return null;
+      }
+      final Object[] copy = node.clone();
+      copy[index] = child;
+      return copy;
+    } else if (index == 0) {
+      return null;
+    }
+    final Object[] copy = node.clone();
+    copy[index] = null;
+    return copy;
+  }
+
+  @Override
+  public Iterator<BinaryTag> iterator() {
+    return new Iterator<BinaryTag>() {
+      private int index;
+      private Object[] leaf = PersistentTagList.this.size == 0 ? PersistentTagList.this.tail : PersistentTagList.this.leafFor(0);
+
+      @Override
+      public boolean hasNext() {
+        return this.index < PersistentTagList.this.size;
+      }
+
+      @Override
+      public BinaryTag next() {
+        if (this.index >= PersistentTagList.this.size) {
+          throw new NoSuchElementException();
+        }
+        if (this.index != 0 && (this.index & MASK) == 0) {
+          this.leaf = PersistentTagList.this.leafFor(this.index);
+        }
+        return (BinaryTag) this.leaf[this.index++ & MASK];
+      }
+    };
+  }
+
+  @Override
+  public void forEach(final Consumer<? super BinaryTag> action) {
+    requireNonNull(action, "action");
+    for (int start = 0; start < this.size; start += WIDTH) {
+      final Object[] leaf = this.leafFor(start);
+      for (int i = 0, end = Math.min(WIDTH, this.size - start); i < end; i++) {
+        action.accept((BinaryTag) leaf[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,375 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * GZIP and ZLIB compression that reuses its {@link Inflater}s and {@link Deflater}s.
+ *
+ * <p>Each stream borrows an inflater or deflater from a small pool, and resets and returns it
+ * when closed, rather than allocating native memory for every tag read or written.</p>
+ */
+final class PooledCompression extends BinaryTagIO.Compression {
+  static final int DEFAULT_BUFFER_SIZE = 512; // the same as the JDK streams
+  private static final int POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+  // inflaters have no settings, so they are shared between all instances
+  private static final Pool<Inflater> GZIP_INFLATERS = new Pool<>(() -> new Inflater(true));
+  private static final Pool<Inflater> ZLIB_INFLATERS = new Pool<>(Inflater::new);
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+  private static final byte[] GZIP_HEADER = {(byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+  private final boolean gzip;
+  private final int level;
+  private final int strategy;
+  private final int bufferSize;
+  private final @Nullable String name;
+  private final Pool<Deflater> deflaters;
+
+  PooledCompression(final boolean gzip, final int level, final int strategy, final int bufferSize, final @Nullable String name) {
+    if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) throw new IllegalArgumentException("Invalid compression level: " + level);
+    if (strategy != Deflater.DEFAULT_STRATEGY && strategy != Deflater.FILTERED && strategy != Deflater.HUFFMAN_ONLY) throw new IllegalArgumentException("Invalid compression strategy: " + strategy);
+    if (bufferSize <= 0) throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+    this.gzip = gzip;
+    this.level = level;
+    this.strategy = strategy;
+    this.bufferSize = bufferSize;
+    this.name = name;
+    this.deflaters = new Pool<>(() -> {
+      final Deflater deflater = new Deflater(level, gzip);
+      deflater.setStrategy(strategy);
+      return deflater;
+    });
+  }
+
+  boolean gzip() {
+    return this.gzip;
+  }
+
+  @Override
+  @NotNull InputStream decompress(final @NotNull InputStream is) throws IOException {
+    if (this.gzip) {
+      return new GzipInputStream(is, this.bufferSize);
+    }
+    return new PooledInflaterInputStream(is, ZLIB_INFLATERS, this.bufferSize);
+  }
+
+  @Override
+  @NotNull OutputStream compress(final @NotNull OutputStream os) throws IOException {
+    if (this.gzip) {
+      return new GzipOutputStream(os, this.deflaters, this.bufferSize);
+    }
+    return new PooledDeflaterOutputStream(os, this.deflaters, this.bufferSize);
+  }
+
+  @Override
+  public String toString() {
+    if (this.name != null) {
+      return this.name;
+    }
+    return "Compression." + (this.gzip ? "gzip" : "zlib") + "(level=" + this.level + ", strategy=" + this.strategy + ", bufferSize=" + this.bufferSize + ")";
+  }
+
+  /**
+   * A bounded, lock-free pool. Objects that do not fit when returned are ended.
+   */
+  static final class Pool<T> {
+    private final Supplier<T> factory;
+    private final AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(POOL_SIZE);
+
+    Pool(final Supplier<T> factory) {
+      this.factory = factory;
+    }
+
+    T take() {
+      for (int i = 0; i < POOL_SIZE; i++) {
+        if (this.slots.get(i) != null) {
+          final T value = this.slots.getAndSet(i, null);
+          if (value != null) {
+            return value;
+          }
+        }
+      }
+      return this.factory.get();
+    }
+
+    boolean offer(final T value) {
+      for (int i = 0; i < POOL_SIZE; i++) {
+        if (this.slots.get(i) == null && this.slots.compareAndSet(i, null, value)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  static void release(final Pool<Inflater> pool, final Inflater inflater) {
+    inflater.reset();
+    if (!pool.offer(inflater)) {
+      inflater.end();
+    }
+  }
+
+  static void release(final Pool<Deflater> pool, final Deflater deflater) {
+    deflater.reset();
+    if (!pool.offer(deflater)) {
+      deflater.end();
+    }
+  }
+
+  static class PooledInflaterInputStream extends InflaterInputStream {
+    private final Pool<Inflater> pool;
+    private boolean released;
+
+    PooledInflaterInputStream(final InputStream in, final Pool<Inflater> pool, final int size) {
+      super(in, pool.take(), size);
+      this.pool = pool;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        this.release();
+      }
+    }
+
+    final void release() {
+      if (!this.released) {
+        this.released = true;
+        PooledCompression.release(this.pool, this.inf);
+      }
+    }
+  }
+
+  static class PooledDeflaterOutputStream extends DeflaterOutputStream {
+    private final Pool<Deflater> pool;
+    private boolean released;
+
+    PooledDeflaterOutputStream(final OutputStream out, final Pool<Deflater> pool, final int size) {
+      super(out, pool.take(), size);
+      this.pool = pool;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (!this.released) {
+          this.released = true;
+          release(this.pool, this.def);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads GZIP members like {@link java.util.zip.GZIPInputStream}, which always allocates its own inflater.
+   */
+  static final class GzipInputStream extends PooledInflaterInputStream {
+    private final CRC32 crc = new CRC32();
+    private boolean eos;
+
+    GzipInputStream(final InputStream in, final int size) throws IOException {
+      super(in, GZIP_INFLATERS, size);
+      try {
+        readHeader(in);
+      } catch (final IOException e) {
+        this.release();
+        throw e;
+      }
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      if (this.eos) {
+        return -1;
+      }
+      final int n = super.read(b, off, len);
+      if (n == -1) {
+        if (this.readTrailer()) {
+          this.eos = true;
+        } else {
+          return this.read(b, off, len);
+        }
+      } else {
+        this.crc.update(b, off, n);
+      }
+      return n;
+    }
+
+    // returns true at the end of the input, or false when another member follows
+    private boolean readTrailer() throws IOException {
+      InputStream in = this.in;
+      final int remaining = this.inf.getRemaining();
+      if (remaining > 0) {
+        in = new SequenceInputStream(new ByteArrayInputStream(this.buf, this.len - remaining, remaining), new FilterInputStream(in) {
+          @Override
+          public void close() {
+          }
+        });
+      }
+      if (readUInt(in) != this.crc.getValue() || readUInt(in) != (this.inf.getBytesWritten() & 0xffffffffL)) {
+        throw new ZipException("Corrupt GZIP trailer");
+      }
+      if (this.in.available() > 0 || remaining > 26) {
+        int read = 8;
+        try {
+          read += readHeader(in);
+        } catch (final IOException e) {
+          return true; // ignore trailing garbage, as GZIPInputStream does
+        }
+        this.inf.reset();
+        this.crc.reset();
+        if (remaining > read) {
+          this.inf.setInput(this.buf, this.len - remaining + read, remaining - read);
+        }
+        return false;
+      }
+      return true;
+    }
+
+    // returns the number of bytes read
+    private static int readHeader(final InputStream in) throws IOException {
+      final CRC32 crc = new CRC32();
+      if (readUShort(in, crc) != GZIP_MAGIC) {
+        throw new ZipException("Not in GZIP format");
+      }
+      if (readUByte(in, crc) != Deflater.DEFLATED) {
+        throw new ZipException("Unsupported compression method");
+      }
+      final int flags = readUByte(in, crc);
+      skipBytes(in, crc, 6); // modification time, extra flags, and operating system
+      int read = 10;
+      if ((flags & FEXTRA) != 0) {
+        final int length = readUShort(in, crc);
+        skipBytes(in, crc, length);
+        read += length + 2;
+      }
+      if ((flags & FNAME) != 0) {
+        do {
+          read++;
+        } while (readUByte(in, crc) != 0);
+      }
+      if ((flags & FCOMMENT) != 0) {
+        do {
+          read++;
+        } while (readUByte(in, crc) != 0);
+      }
+      if ((flags & FHCRC) != 0) {
+        final int expected = (int) crc.getValue() & 0xffff;
+        if (readUShort(in, null) != expected) {
+          throw new ZipException("Corrupt GZIP header");
+        }
+        read += 2;
+      }
+      return read;
+    }
+
+    private static long readUInt(final InputStream in) throws IOException {
+      final long low = readUShort(in, null);
+      return ((long) readUShort(in, null) << 16) | low;
+    }
+
+    private static int readUShort(final InputStream in, final @Nullable CRC32 crc) throws IOException {
+      final int low = readUByte(in, crc);
+      return (readUByte(in, crc) << 8) | low;
+    }
+
+    private static int readUByte(final InputStream in, final @Nullable CRC32 crc) throws IOException {
+      final int b = in.read();
+      if (b == -1) {
+        throw new EOFException();
+      }
+      if (crc != null) {
+        crc.update(b);
+      }
+      return b;
+    }
+
+    private static void skipBytes(final InputStream in, final CRC32 crc, final int n) throws IOException {
+      for (int i = 0; i < n; i++) {
+        readUByte(in, crc);
+      }
+    }
+  }
+
+  /**
+   * Writes a single GZIP member like {@link java.util.zip.GZIPOutputStream}, which always allocates its own deflater.
+   */
+  static final class GzipOutputStream extends PooledDeflaterOutputStream {
+    private final CRC32 crc = new CRC32();
+
+    GzipOutputStream(final OutputStream out, final Pool<Deflater> pool, final int size) throws IOException {
+      super(out, pool, size);
+      out.write(GZIP_HEADER);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      super.write(b, off, len);
+      this.crc.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      if (!this.def.finished()) {
+        super.finish();
+        final byte[] trailer = new byte[8];
+        writeInt((int) this.crc.getValue(), trailer, 0);
+        writeInt((int) this.def.getBytesRead(), trailer, 4);
+        this.out.write(trailer);
+      }
+    }
+
+    private static void writeInt(final int value, final byte[] bytes, final int offset) {
+      bytes[offset] = (byte) value;
+      bytes[offset + 1] = (byte) (value >> 8);
+      bytes[offset + 2] = (byte) (value >> 16);
+      bytes[offset + 3] = (byte) (value >> 24);
+    }
+  }
+}
@@ -0,0 +1,469 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A region file, storing the tags of 32 by 32 chunks in the Anvil format.
+ *
+ * <p>A region file starts with a table of the location of each chunk, in sectors of
+ * {@value #SECTOR_SIZE} bytes, followed by a table of when each chunk was last written. Each chunk is
+ * stored in whole sectors, as its length, its compression, and the compressed tag.</p>
+ *
+ * <p>The file is memory-mapped, so reading a chunk only touches the sectors of that chunk. Writing
+ * a chunk stores it in free sectors and forces it to the disk before the table is updated and the
+ * old sectors are released, so the previous version of the chunk stays intact if the write is
+ * interrupted.</p>
+ *
+ * <p>Chunk coordinates are taken modulo 32, so either the coordinates of a chunk within its region
+ * or in the world may be used. Chunks stored in separate files, as the game does for chunks larger
+ * than 1 MiB, are not supported.</p>
+ *
+ * <p>Region files are safe to use from multiple threads.</p>
+ *
+ * @since 4.9.0
+ */
+public final class RegionFile implements Closeable {
+  /**
+   * The size of a sector, in bytes.
+   *
+   * @since 4.9.0
+   */
+  public static final int SECTOR_SIZE = 4096;
+  private static final int CHUNKS = 32 * 32;
+  private static final int HEADER_SECTORS = 2;
+  private static final int MAX_SECTORS = 255;
+  private static final int CHUNK_HEADER_SIZE = 5; // the length, and the compression
+  private static final byte GZIP = 1;
+  private static final byte ZLIB = 2;
+  private static final byte NONE = 3;
+  private static final byte EXTERNAL = (byte) 128;
+  private final FileChannel channel;
+  private final boolean readOnly;
+  private final int[] locations = new int[CHUNKS];
+  private final int[] timestamps = new int[CHUNKS];
+  private final BitSet used = new BitSet();
+  private @Nullable MappedByteBuffer mapped;
+
+  /**
+   * Opens a region file for reading and writing, creating it if it does not exist.
+   *
+   * @param path the path
+   * @return a region file
+   * @throws IOException if the file could not be opened, or its header is malformed
+   * @since 4.9.0
+   */
+  public static @NotNull RegionFile open(final @NotNull Path path) throws IOException {
+    return new RegionFile(FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE), false);
+  }
+
+  /**
+   * Opens an existing region file for reading.
+   *
+   * @param path the path
+   * @return a region file
+   * @throws IOException if the file could not be opened, or its header is malformed
+   * @since 4.9.0
+   */
+  public static @NotNull RegionFile openReadOnly(final @NotNull Path path) throws IOException {
+    return new RegionFile(FileChannel.open(path, StandardOpenOption.READ), true);
+  }
+
+  private RegionFile(final FileChannel channel, final boolean readOnly) throws IOException {
+    this.channel = channel;
+    this.readOnly = readOnly;
+    try {
+      this.readHeader();
+    } catch (final IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private void readHeader() throws IOException {
+    final long size = this.channel.size();
+    if (size == 0 && !this.readOnly) {
+      this.channel.write(ByteBuffer.allocate(HEADER_SECTORS * SECTOR_SIZE), 0);
+    } else if (size < HEADER_SECTORS * SECTOR_SIZE) {
+      throw new IOException("Region file is too short for its header: " + size + " bytes");
+    } else {
+      final ByteBuffer header = this.map().duplicate();
+      header.asIntBuffer().get(this.locations).get(this.timestamps);
+    }
+    this.used.set(0, HEADER_SECTORS);
+    final long sectors = (this.channel.size() + SECTOR_SIZE - 1) / SECTOR_SIZE;
+    for (int i = 0; i < CHUNKS; i++) {
+      final int location = this.locations[i];
+      if (location == 0) {
+        continue;
+      }
+      final int offset = offset(location);
+      final int count = count(location);
+      if (offset < HEADER_SECTORS || count == 0 || offset + count > sectors) {
+        this.locations[i] = 0; // like the game, forget chunks that point outside of the file
+        continue;
+      }
+      this.used.set(offset, offset + count);
+    }
+  }
+
+  /**
+   * Gets whether a chunk is stored.
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @return {@code true} if the chunk is stored
+   * @since 4.9.0
+   */
+  public synchronized boolean contains(final int x, final int z) {
+    return this.locations[index(x, z)] != 0;
+  }
+
+  /**
+   * Gets when a chunk was last written, in seconds since the epoch.
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @return the timestamp, or {@code 0} if the chunk is not stored
+   * @since 4.9.0
+   */
+  public synchronized int timestamp(final int x, final int z) {
+    return this.timestamps[index(x, z)];
+  }
+
+  /**
+   * Reads a chunk with an {@link BinaryTagIO#unlimitedReader() unlimited reader}.
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @return the chunk tag, or {@code null} if the chunk is not stored
+   * @throws IOException if the chunk could not be read
+   * @since 4.9.0
+   */
+  public @Nullable CompoundBinaryTag read(final int x, final int z) throws IOException {
+    return this.read(x, z, BinaryTagIO.unlimitedReader());
+  }
+
+  /**
+   * Reads a chunk.
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @param reader the reader to read the tag with
+   * @return the chunk tag, or {@code null} if the chunk is not stored
+   * @throws IOException if the chunk could not be read
+   * @since 4.9.0
+   */
+  public @Nullable CompoundBinaryTag read(final int x, final int z, final BinaryTagIO.@NotNull Reader reader) throws IOException {
+    requireNonNull(reader, "reader");
+    final byte compression;
+    final ByteBuffer payload;
+    synchronized (this) {
+      final int location = this.locations[index(x, z)];
+      if (location == 0) {
+        return null;
+      }
+      final int start = offset(location) * SECTOR_SIZE;
+      final int end = start + count(location) * SECTOR_SIZE;
+      ByteBuffer sectors = this.mapped;
+      if (sectors == null || sectors.capacity() < end) {
+        sectors = this.map();
+      }
+      sectors = (ByteBuffer) sectors.duplicate().limit(Math.min(end, sectors.capacity())).position(start);
+      if (sectors.remaining() < CHUNK_HEADER_SIZE) {
+        throw new IOException("Chunk [" + x + ", " + z + "] is truncated");
+      }
+      final int length = sectors.getInt() - 1;
+      compression = sectors.get();
+      if (length < 0 || length > sectors.remaining()) {
+        throw new IOException("Chunk [" + x + ", " + z + "] has an invalid length " + (length + 1));
+      }
+      // copy while holding the lock, as these sectors may be reused once the chunk is written again
+      final byte[] bytes = new byte[length];
+      sectors.get(bytes);
+      payload = ByteBuffer.wrap(bytes);
+    }
+    if ((compression & EXTERNAL) != 0) {
+      throw new IOException("Chunk [" + x + ", " + z + "] is stored in a separate file, which is not supported");
+    }
+    switch (compression) {
+      case GZIP:
+        return reader.read(IOStreamUtil.inputStream(payload), BinaryTagIO.Compression.GZIP);
+      case ZLIB:
+        return reader.read(IOStreamUtil.inputStream(payload), BinaryTagIO.Compression.ZLIB);
+      case NONE:
+        return reader.read(payload);
+      default:
+        throw new IOException("Chunk [" + x + ", " + z + "] has an unsupported compression " + compression);
+    }
+  }
+
+  /**
+   * Reads every stored chunk in parallel.
+   *
+   * <p>Each chunk is read by a task on {@code executor}, and {@code consumer} is called with each tag as soon as it
+   * has been read. As the consumer may be called from several threads at once, it must be thread-safe. Chunks written
+   * while reading may or may not be seen.</p>
+   *
+   * <p>The returned future completes once every chunk has been read. If any chunk could not be read, the remaining
+   * chunks are still read, and the future then completes exceptionally with the {@link UncheckedIOException} of the
+   * chunk that failed first. If {@code executor} rejects a task, no more chunks are submitted, and the future
+   * completes exceptionally with the {@link java.util.concurrent.RejectedExecutionException} once the chunks already
+   * submitted have been read.</p>
+   *
+   * @param reader the reader to read each tag with
+   * @param executor the executor to read on
+   * @param consumer the consumer of the coordinates within this region, from {@code 0} to {@code 31}, and tag of each chunk
+   * @return a future that completes once every chunk has been read
+   * @since 4.9.0
+   */
+  public @NotNull CompletableFuture<Void> readAll(final BinaryTagIO.@NotNull Reader reader, final @NotNull Executor executor, final @NotNull ChunkConsumer consumer) {
+    requireNonNull(reader, "reader");
+    requireNonNull(consumer, "consumer");
+    final List<Integer> chunks = new ArrayList<>();
+    for (int i = 0; i < CHUNKS; i++) {
+      if (this.contains(i & 31, i >> 5)) {
+        chunks.add(i);
+      }
+    }
+    return BinaryTagReaderImpl.forEachAsync(chunks, executor, i -> {
+      final int x = i & 31;
+      final int z = i >> 5;
+      final @Nullable CompoundBinaryTag tag;
+      try {
+        tag = this.read(x, z, reader);
+      } catch (final IOException ex) {
+        throw new UncheckedIOException("Failed to read chunk [" + x + ", " + z + "]", ex);
+      }
+      if (tag != null) {
+        consumer.accept(x, z, tag);
+      }
+    });
+  }
+
+  /**
+   * Writes a chunk with {@link BinaryTagIO.Compression#ZLIB ZLIB} compression.
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @param tag the chunk tag
+   * @throws IOException if the chunk could not be written
+   * @since 4.9.0
+   */
+  public void write(final int x, final int z, final @NotNull CompoundBinaryTag tag) throws IOException {
+    this.write(x, z, tag, BinaryTagIO.Compression.ZLIB);
+  }
+
+  /**
+   * Writes a chunk.
+   *
+   * <p>{@link BinaryTagIO.Compression#NONE}, and any GZIP or ZLIB compression is supported.</p>
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @param tag the chunk tag
+   * @param compression the compression
+   * @throws IOException if the chunk could not be written, or is too large for a region file
+   * @since 4.9.0
+   */
+  public void write(final int x, final int z, final @NotNull CompoundBinaryTag tag, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+    final byte type = type(compression);
+    final ChunkOutput output = new ChunkOutput();
+    BinaryTagIO.writer().write(tag, output, compression);
+    final ByteBuffer chunk = output.finish(type);
+    final int count = (chunk.remaining() + SECTOR_SIZE - 1) / SECTOR_SIZE;
+    if (count > MAX_SECTORS) {
+      throw new IOException("Chunk [" + x + ", " + z + "] is too large for a region file: " + chunk.remaining() + " bytes");
+    }
+    synchronized (this) {
+      this.checkWritable();
+      final int index = index(x, z);
+      final int offset = this.allocate(count);
+      try {
+        this.channel.write(chunk, (long) offset * SECTOR_SIZE);
+        this.channel.force(false);
+      } catch (final IOException ex) {
+        this.used.clear(offset, offset + count);
+        throw ex;
+      }
+      this.release(this.locations[index]);
+      this.setHeader(index, offset << 8 | count, (int) (System.currentTimeMillis() / 1000L));
+    }
+  }
+
+  /**
+   * Removes a chunk, freeing its sectors for other chunks.
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @throws IOException if the header could not be written
+   * @since 4.9.0
+   */
+  public synchronized void remove(final int x, final int z) throws IOException {
+    this.checkWritable();
+    final int index = index(x, z);
+    final int location = this.locations[index];
+    if (location != 0) {
+      this.setHeader(index, 0, 0);
+      this.release(location);
+    }
+  }
+
+  /**
+   * Closes the file.
+   *
+   * <p>The memory mapping is not unmapped, as there is no supported way to do so. It is only
+   * released once it is garbage collected.</p>
+   *
+   * @throws IOException if the file could not be closed
+   * @since 4.9.0
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    this.mapped = null;
+    this.channel.close();
+  }
+
+  /**
+   * A consumer of chunks read from a region file.
+   *
+   * @since 4.9.0
+   */
+  @FunctionalInterface
+  public interface ChunkConsumer {
+    /**
+     * Accepts a chunk.
+     *
+     * @param x the chunk x coordinate within the region
+     * @param z the chunk z coordinate within the region
+     * @param tag the chunk tag
+     * @since 4.9.0
+     */
+    void accept(final int x, final int z, final @NotNull CompoundBinaryTag tag);
+  }
+
+  // finds the first run of free sectors that is long enough, which may be past the end of the file
+  private int allocate(final int count) throws IOException {
+    int start = this.used.nextClearBit(HEADER_SECTORS);
+    while (true) {
+      final int end = this.used.nextSetBit(start);
+      if (end == -1 || end - start >= count) {
+        break;
+      }
+      start = this.used.nextClearBit(end);
+    }
+    final long fileEnd = (long) (start + count) * SECTOR_SIZE;
+    if (this.channel.size() < fileEnd) {
+      // pad the file to a whole number of sectors, as the game expects
+      this.channel.write(ByteBuffer.allocate(1), fileEnd - 1);
+    }
+    this.used.set(start, start + count);
+    return start;
+  }
+
+  private void release(final int location) {
+    if (location != 0) {
+      this.used.clear(offset(location), offset(location) + count(location));
+    }
+  }
+
+  private void setHeader(final int index, final int location, final int timestamp) throws IOException {
+    final ByteBuffer entry = ByteBuffer.allocate(4);
+    entry.putInt(0, timestamp);
+    this.channel.write(entry, SECTOR_SIZE + index * 4L);
+    entry.putInt(0, location).rewind();
+    this.channel.write(entry, index * 4L);
+    this.locations[index] = location;
+    this.timestamps[index] = timestamp;
+  }
+
+  private void checkWritable() throws IOException {
+    if (this.readOnly) {
+      throw new IOException("Region file was opened read-only");
+    }
+  }
+
+  // maps the whole file, which may have grown since it was last mapped
+  private ByteBuffer map() throws IOException {
+    final long length = this.channel.size();
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Region file is too large to map: " + length + " bytes");
+    }
+    return this.mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+  }
+
+  private static byte type(final BinaryTagIO.Compression compression) {
+    if (compression == BinaryTagIO.Compression.NONE) {
+      return NONE;
+    } else if (compression instanceof PooledCompression) {
+      return ((PooledCompression) compression).gzip() ? GZIP : ZLIB;
+    }
+    throw new IllegalArgumentException("Unsupported compression " + compression);
+  }
+
+  private static int index(final int x, final int z) {
+    return (x & 31) + (z & 31) * 32;
+  }
+
+  private static int offset(final int location) {
+    return location >>> 8;
+  }
+
+  private static int count(final int location) {
+    return location & 0xff;
+  }
+
+  // collects a chunk after space for its length and compression
+  static final class ChunkOutput extends ByteArrayOutputStream {
+    ChunkOutput() {
+      super(SECTOR_SIZE);
+      this.count = CHUNK_HEADER_SIZE;
+    }
+
+    ByteBuffer finish(final byte compression) {
+      final ByteBuffer buffer = ByteBuffer.wrap(this.buf, 0, this.count);
+      buffer.putInt(0, this.count - 4);
+      buffer.put(4, compression);
+      return buffer;
+    }
+  }
+}
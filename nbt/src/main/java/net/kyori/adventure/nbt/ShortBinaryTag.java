@@ -43,6 +43,9 @@ public interface ShortBinaryTag extends NumberBinaryTag {
    * @since 4.0.0
    */
   static @NotNull ShortBinaryTag of(final short value) {
+    if (value >= ShortBinaryTagImpl.Cache.LOW && value <= ShortBinaryTagImpl.Cache.HIGH) {
+      return ShortBinaryTagImpl.Cache.VALUES[value - ShortBinaryTagImpl.Cache.LOW];
+    }
     return new ShortBinaryTagImpl(value);
   }
 
@@ -68,6 +71,22 @@ final class ShortBinaryTagImpl extends AbstractBinaryTag implements ShortBinaryT
     this.value = value;
   }
 
+  // small values are common, so tags for them are shared
+  static final class Cache {
+    static final int LOW = -128;
+    static final int HIGH = 1023;
+    static final ShortBinaryTag[] VALUES = new ShortBinaryTag[HIGH - LOW + 1];
+
+    static {
+      for (int i = 0; i < VALUES.length; i++) {
+        VALUES[i] = new ShortBinaryTagImpl((short) (LOW + i));
+      }
+    }
+
+    private Cache() {
+    }
+  }
+
   @Override
   public short value() {
     return this.value;
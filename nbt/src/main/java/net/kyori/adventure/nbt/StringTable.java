@@ -0,0 +1,83 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
+
+/**
+ * A bounded table of strings, used to share strings decoded from the same bytes.
+ *
+ * <p>Each encoded string maps to a single slot, and a string replaces whatever was in its slot
+ * before, so the table never grows. Lookups compare the encoded bytes, meaning a string is only
+ * decoded when it is not in the table. Only short strings, like the keys of compound tags, are
+ * stored.</p>
+ *
+ * <p>The table may be shared between threads, at worst a string is decoded more than once.</p>
+ */
+final class StringTable {
+  static final int MAX_LENGTH = 64;
+  private static final int SIZE = 4096;
+  private final Entry[] entries = new Entry[SIZE];
+
+  String decode(final byte[] bytes, final int offset, final int length) throws UTFDataFormatException {
+    if (length > MAX_LENGTH) {
+      return ModifiedUtf8.decode(bytes, offset, length);
+    }
+    int hash = length;
+    for (int i = offset, end = offset + length; i < end; i++) {
+      hash = 31 * hash + bytes[i];
+    }
+    final int index = (hash ^ (hash >>> 16)) & (SIZE - 1);
+    final Entry entry = this.entries[index];
+    if (entry != null && entry.matches(bytes, offset, length)) {
+      return entry.value;
+    }
+    final String value = ModifiedUtf8.decode(bytes, offset, length);
+    this.entries[index] = new Entry(Arrays.copyOfRange(bytes, offset, offset + length), value);
+    return value;
+  }
+
+  static final class Entry {
+    final byte[] bytes;
+    final String value;
+
+    Entry(final byte[] bytes, final String value) {
+      this.bytes = bytes;
+      this.value = value;
+    }
+
+    boolean matches(final byte[] bytes, final int offset, final int length) {
+      if (this.bytes.length != length) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (this.bytes[i] != bytes[offset + i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -23,7 +23,9 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.DataOutput;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.Arrays;
 import org.jetbrains.annotations.NotNull;
@@ -35,6 +37,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class TagStringIO {
   private static final TagStringIO INSTANCE = new TagStringIO(new Builder());
+  private static final int MAX_POOLED_CAPACITY = 1 << 16;
+  private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<>();
 
   /**
    * Get an instance of {@link TagStringIO} that creates reads and writes using standard options.
@@ -92,6 +96,58 @@ public final class TagStringIO {
     }
   }
 
+  /**
+   * Reads a compound tag in string format, and returns its binary form.
+   *
+   * <p>The string is transcoded directly, without building any tags. The result is a complete
+   * binary tag with an empty name, as written by {@link BinaryTagIO.Writer#write(CompoundBinaryTag, DataOutput)}.</p>
+   *
+   * <p>When working with untrusted input (such as from the network), users should be careful
+   * to validate that the {@code input} string is of a reasonable size.</p>
+   *
+   * @param input input data
+   * @return the binary form
+   * @throws IOException on any syntax errors
+   * @since 4.9.0
+   */
+  public byte@NotNull[] asBinary(final @NotNull String input) throws IOException {
+    return this.transcode(input).toByteArray();
+  }
+
+  /**
+   * Reads a compound tag in string format, and writes its binary form to {@code output}.
+   *
+   * <p>The string is transcoded directly, without building any tags. The output is a complete
+   * binary tag with an empty name, as written by {@link BinaryTagIO.Writer#write(CompoundBinaryTag, DataOutput)}.
+   * Nothing is written if the input is not valid.</p>
+   *
+   * @param input input data
+   * @param output the output
+   * @throws IOException on any syntax errors, or if the output cannot be written
+   * @since 4.9.0
+   */
+  public void toBinary(final @NotNull String input, final @NotNull DataOutput output) throws IOException {
+    this.transcode(input).writeTo(output);
+  }
+
+  private GrowableDataOutput transcode(final String input) throws IOException {
+    try {
+      final CharBuffer buffer = new CharBuffer(input);
+      final TagStringReader parser = new TagStringReader(buffer);
+      parser.legacy(this.acceptLegacy);
+      final GrowableDataOutput output = new GrowableDataOutput(Math.max(64, input.length()));
+      output.writeByte(BinaryTagTypes.COMPOUND.id());
+      output.writeUTF("");
+      parser.writeCompound(output);
+      if (buffer.skipWhitespace().hasMore()) {
+        throw new IOException("Document had trailing content after first CompoundTag");
+      }
+      return output;
+    } catch (final StringTagParseException ex) {
+      throw new IOException(ex);
+    }
+  }
+
   /**
    * Get a string representation of the provided tag.
    *
@@ -101,12 +157,59 @@ public final class TagStringIO {
    * @since 4.0.0
    */
   public String asString(final CompoundBinaryTag input) throws IOException {
-    final StringBuilder sb = new StringBuilder();
-    try(final TagStringWriter emit = new TagStringWriter(sb, this.indent)) {
+    StringBuilder sb = BUILDER.get();
+    if (sb == null) {
+      sb = new StringBuilder();
+    } else {
+      BUILDER.set(null); // taken, in case a tag is written while this one is
+      sb.setLength(0);
+    }
+    try {
+      this.toAppendable(input, sb);
+      return sb.toString();
+    } finally {
+      if (sb.capacity() <= MAX_POOLED_CAPACITY) {
+        BUILDER.set(sb);
+      }
+    }
+  }
+
+  /**
+   * Writes a tag in string format to {@code dest}.
+   *
+   * <p>Writing to a {@link StringBuilder} avoids creating intermediate strings for numbers.</p>
+   *
+   * @param input tag to write
+   * @param dest the destination to append to
+   * @throws IOException if any errors occur while writing
+   * @since 4.9.0
+   */
+  public void toAppendable(final @NotNull CompoundBinaryTag input, final @NotNull Appendable dest) throws IOException {
+    try(final TagStringWriter emit = new TagStringWriter(dest, this.indent)) {
       emit.legacy(this.emitLegacy);
       emit.writeTag(input);
     }
-    return sb.toString();
+  }
+
+  /**
+   * Creates a visitor writing the tag it visits in string format to {@code dest}.
+   *
+   * <p>The visitor is driven by a {@link BinaryTagIO.Reader}, transcoding binary input straight
+   * to string format without building any tags:</p>
+   *
+   * <pre>{@code
+   * BinaryTagIO.reader().visit(input, compression, TagStringIO.get().visitor(dest));
+   * }</pre>
+   *
+   * <p>The visitor is single-use. If appending to {@code dest} fails, the {@link IOException}
+   * is rethrown wrapped in an {@link UncheckedIOException}.</p>
+   *
+   * @param dest the destination to append to
+   * @return a visitor
+   * @since 4.9.0
+   */
+  public @NotNull BinaryTagVisitor visitor(final @NotNull Appendable dest) {
+    return new TagStringVisitor(new TagStringWriter(dest, this.indent).legacy(this.emitLegacy));
   }
 
   /**
@@ -120,10 +223,7 @@ public final class TagStringIO {
    * @since 4.0.0
    */
   public void toWriter(final CompoundBinaryTag input, final Writer dest) throws IOException {
-    try(final TagStringWriter emit = new TagStringWriter(dest, this.indent)) {
-      emit.legacy(this.emitLegacy);
-      emit.writeTag(input);
-    }
+    this.toAppendable(input, dest);
   }
 
   /**
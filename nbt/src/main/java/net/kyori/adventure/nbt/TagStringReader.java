@@ -23,6 +23,7 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
@@ -80,6 +81,92 @@ final class TagStringReader {
     throw this.buffer.makeError("Reached end of file without end of list tag!");
   }
 
+  // the binary counterparts of compound(), list() and tag(), which write tags as they are parsed instead of building them
+
+  /**
+   * Parses a compound tag, writing its binary form to {@code output}.
+   *
+   * <p>The type of each entry is only known once its value has been parsed, so it is written afterwards
+   * in the place left for it.</p>
+   *
+   * @param output the output
+   * @throws IOException on any syntax errors, or if the output cannot be written
+   */
+  public void writeCompound(final GrowableDataOutput output) throws IOException {
+    this.buffer.expect(Tokens.COMPOUND_BEGIN);
+    if (this.buffer.takeIf(Tokens.COMPOUND_END)) {
+      output.writeByte(BinaryTagTypes.END.id());
+      return;
+    }
+
+    while (this.buffer.hasMore()) {
+      final int type = output.position();
+      output.writeByte(BinaryTagTypes.END.id());
+      output.writeUTF(this.key());
+      output.setByte(type, this.writeTag(output).id());
+      if (this.separatorOrCompleteWith(Tokens.COMPOUND_END)) {
+        output.writeByte(BinaryTagTypes.END.id());
+        return;
+      }
+    }
+    throw this.buffer.makeError("Unterminated compound tag!");
+  }
+
+  private void writeList(final GrowableDataOutput output) throws IOException {
+    this.buffer.expect(Tokens.ARRAY_BEGIN);
+    final int header = output.position();
+    output.writeByte(BinaryTagTypes.END.id());
+    output.writeInt(0);
+    final boolean prefixedIndex = this.acceptLegacy && this.buffer.peek() == '0' && this.buffer.peek(1) == ':';
+    if (!prefixedIndex && this.buffer.takeIf(Tokens.ARRAY_END)) {
+      return;
+    }
+    BinaryTagType<?> elementType = null;
+    int size = 0;
+    while (this.buffer.hasMore()) {
+      if (prefixedIndex) {
+        this.buffer.takeUntil(':');
+      }
+
+      final BinaryTagType<?> type = this.writeTag(output);
+      if (elementType == null) {
+        elementType = type;
+      } else if (type != elementType) {
+        throw this.buffer.makeError("Trying to add tag of type " + type + " to list of " + elementType);
+      }
+      size++;
+      if (this.separatorOrCompleteWith(Tokens.ARRAY_END)) {
+        output.setByte(header, elementType.id());
+        output.setInt(header + 1, size);
+        return;
+      }
+    }
+    throw this.buffer.makeError("Reached end of file without end of list tag!");
+  }
+
+  private BinaryTagType<?> writeTag(final GrowableDataOutput output) throws IOException {
+    final char startToken = this.buffer.skipWhitespace().peek();
+    if (startToken == Tokens.COMPOUND_BEGIN || (startToken == Tokens.ARRAY_BEGIN && !(this.buffer.hasMore(2) && this.buffer.peek(2) == ';'))) {
+      if (this.depth++ > MAX_DEPTH) {
+        throw this.buffer.makeError("Exceeded maximum allowed depth of " + MAX_DEPTH + " when reading tag");
+      }
+      try {
+        if (startToken == Tokens.COMPOUND_BEGIN) {
+          this.writeCompound(output);
+          return BinaryTagTypes.COMPOUND;
+        }
+        this.writeList(output);
+        return BinaryTagTypes.LIST;
+      } finally {
+        this.depth--;
+      }
+    }
+    // arrays and scalars have no nested tags, so are parsed as usual
+    final BinaryTag tag = this.tag();
+    BinaryTagType.write(tag.type(), tag, output);
+    return tag.type();
+  }
+
   /**
    * Similar to a list tag in syntax, but returning a single array tag rather than a list of tags.
    *
@@ -109,9 +196,9 @@ final class TagStringReader {
 
     final List<Byte> bytes = new ArrayList<>();
     while (this.buffer.hasMore()) {
-      final CharSequence value = this.buffer.skipWhitespace().takeUntil(Tokens.TYPE_BYTE);
+      final String value = this.buffer.skipWhitespace().takeUntil(Tokens.TYPE_BYTE);
       try {
-        bytes.add(Byte.valueOf(value.toString()));
+        bytes.add(Byte.valueOf(value));
       } catch (final NumberFormatException ex) {
         throw this.buffer.makeError("All elements of a byte array must be bytes!");
       }
@@ -153,9 +240,9 @@ final class TagStringReader {
 
     final LongStream.Builder longs = LongStream.builder();
     while (this.buffer.hasMore()) {
-      final CharSequence value = this.buffer.skipWhitespace().takeUntil(Tokens.TYPE_LONG);
+      final String value = this.buffer.skipWhitespace().takeUntil(Tokens.TYPE_LONG);
       try {
-        longs.add(Long.parseLong(value.toString()));
+        longs.add(Long.parseLong(value));
       } catch (final NumberFormatException ex) {
         throw this.buffer.makeError("All elements of a long array must be longs!");
       }
@@ -172,10 +259,18 @@ final class TagStringReader {
     final char starChar = this.buffer.peek();
     try {
       if (starChar == Tokens.SINGLE_QUOTE || starChar == Tokens.DOUBLE_QUOTE) {
-        return unescape(this.buffer.takeUntil(this.buffer.take()).toString());
+        return this.buffer.takeUnescapedUntil(this.buffer.take());
       }
 
-      final StringBuilder builder = new StringBuilder();
+      int length = 0;
+      while (this.buffer.hasMore(length) && Tokens.id(this.buffer.peek(length))) {
+        length++;
+      }
+      if (!this.acceptLegacy || !this.buffer.hasMore(length) || this.buffer.peek(length) == Tokens.COMPOUND_KEY_TERMINATOR) {
+        return this.buffer.take(length);
+      }
+
+      final StringBuilder builder = new StringBuilder().append(this.buffer.take(length));
       while (this.buffer.hasMore()) {
         final char peek = this.buffer.peek();
         if (!Tokens.id(peek)) {
@@ -220,7 +315,7 @@ final class TagStringReader {
         case Tokens.DOUBLE_QUOTE:
           // definitely a string tag
           this.buffer.advance();
-          return StringBinaryTag.of(unescape(this.buffer.takeUntil(startToken).toString()));
+          return StringBinaryTag.of(this.buffer.takeUnescapedUntil(startToken));
         default: // scalar
           return this.scalar();
       }
@@ -234,74 +329,144 @@ final class TagStringReader {
    *
    * <p>Does not detect quoted strings, so those should have been parsed already.</p>
    *
+   * <p>Numbers are recognised in a single pass over the leading run of {@link Tokens#numeric(char) numeric}
+   * characters, which is then either followed by a type suffix, ends the scalar, or makes it a string.</p>
+   *
    * @return a parsed tag
    */
   private BinaryTag scalar() {
-    final StringBuilder builder = new StringBuilder();
-    boolean possiblyNumeric = true;
-    while (this.buffer.hasMore()) {
-      final char current = this.buffer.peek();
-      if (possiblyNumeric && !Tokens.numeric(current)) {
-        if (builder.length() != 0) {
-          BinaryTag result = null;
-          try {
-            switch (Character.toLowerCase(current)) { // try to read and return as a number
-              // case Tokens.TYPE_INTEGER: // handled below, ints are ~special~
-              case Tokens.TYPE_BYTE:
-                result = ByteBinaryTag.of(Byte.parseByte(builder.toString()));
-                break;
-              case Tokens.TYPE_SHORT:
-                result = ShortBinaryTag.of(Short.parseShort(builder.toString()));
-                break;
-              case Tokens.TYPE_LONG:
-                result = LongBinaryTag.of(Long.parseLong(builder.toString()));
-                break;
-              case Tokens.TYPE_FLOAT:
-                result = FloatBinaryTag.of(Float.parseFloat(builder.toString()));
-                break;
-              case Tokens.TYPE_DOUBLE:
-                result = DoubleBinaryTag.of(Double.parseDouble(builder.toString()));
-                break;
+    boolean valid = true;
+    boolean negative = false;
+    boolean overflow = false;
+    boolean decimal = false;
+    boolean exponent = false;
+    int digits = 0;
+    int exponentDigits = 0;
+    long value = 0; // accumulated negatively, so Long.MIN_VALUE fits
+    int length = 0;
+    for (; this.buffer.hasMore(length); length++) {
+      final char c = this.buffer.peek(length);
+      if (c >= '0' && c <= '9') {
+        if (exponent) {
+          exponentDigits++;
+        } else {
+          digits++;
+          if (!decimal && !overflow) {
+            final int digit = c - '0';
+            final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+            if (value < limit / 10 || value * 10 < limit + digit) {
+              overflow = true;
+            } else {
+              value = value * 10 - digit;
             }
-          } catch (final NumberFormatException ex) {
-            possiblyNumeric = false; // fallback to treating as a String
-          }
-          if (result != null) {
-            this.buffer.take();
-            return result;
           }
         }
-      }
-      if (current == '\\') { // escape -- we are significantly more lenient than original format at the moment
-        this.buffer.advance();
-        builder.append(this.buffer.take());
-      } else if (Tokens.id(current)) {
-        builder.append(this.buffer.take());
-      } else { // end of value
+      } else if (c == '+' || c == '-') {
+        if (length == 0) {
+          negative = c == '-';
+        } else if (!exponent || exponentDigits != 0 || !isExponent(this.buffer.peek(length - 1))) {
+          valid = false;
+        }
+      } else if (c == '.') {
+        valid &= !decimal && !exponent;
+        decimal = true;
+      } else if (isExponent(c)) {
+        valid &= !exponent && digits != 0;
+        exponent = true;
+      } else {
         break;
       }
     }
-    // if we run out of content without an explicit value separator, then we're either an integer or string tag -- all others have a character at the end
-    final String built = builder.toString();
-    if (possiblyNumeric) {
-      try {
-        return IntBinaryTag.of(Integer.parseInt(built));
-      } catch (final NumberFormatException ex) {
-        try {
-          return DoubleBinaryTag.of(Double.parseDouble(built));
-        } catch (final NumberFormatException ex2) {
-          // ignore
+
+    final boolean integer = valid && !decimal && !exponent && digits != 0;
+    final boolean floating = valid && digits != 0 && (!exponent || exponentDigits != 0);
+    final long number = negative ? value : -value;
+    final char next = this.buffer.hasMore(length) ? Character.toLowerCase(this.buffer.peek(length)) : Tokens.EOF;
+    if (length != 0 && next != Tokens.EOF && (Tokens.id(next) || next == Tokens.ESCAPE_MARKER)) {
+      BinaryTag result = null;
+      switch (next) {
+        case Tokens.TYPE_BYTE:
+          if (integer && !overflow && number >= Byte.MIN_VALUE && number <= Byte.MAX_VALUE) {
+            result = ByteBinaryTag.of((byte) number);
+          }
+          break;
+        case Tokens.TYPE_SHORT:
+          if (integer && !overflow && number >= Short.MIN_VALUE && number <= Short.MAX_VALUE) {
+            result = ShortBinaryTag.of((short) number);
+          }
+          break;
+        case Tokens.TYPE_LONG:
+          if (integer && !overflow) {
+            result = LongBinaryTag.of(number);
+          }
+          break;
+        case Tokens.TYPE_FLOAT:
+          if (floating) {
+            result = FloatBinaryTag.of(Float.parseFloat(this.buffer.take(length)));
+          }
+          break;
+        case Tokens.TYPE_DOUBLE:
+          if (floating) {
+            result = DoubleBinaryTag.of(Double.parseDouble(this.buffer.take(length)));
+          }
+          break;
+      }
+      if (result != null) {
+        if (next != Tokens.TYPE_FLOAT && next != Tokens.TYPE_DOUBLE) {
+          this.buffer.take(length);
         }
+        this.buffer.advance(); // suffix
+        return result;
       }
+    } else if (integer && !overflow && number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+      this.buffer.take(length);
+      return IntBinaryTag.of((int) number);
+    } else if (floating) {
+      // if we run out of content without a type suffix, then we're either an integer or a double -- out of range integers become doubles
+      return DoubleBinaryTag.of(Double.parseDouble(this.buffer.take(length)));
     }
 
-    if (built.equalsIgnoreCase(Tokens.LITERAL_TRUE)) {
+    final String string = this.unquotedString();
+    if (string.equalsIgnoreCase(Tokens.LITERAL_TRUE)) {
       return ByteBinaryTag.ONE;
-    } else if (built.equalsIgnoreCase(Tokens.LITERAL_FALSE)) {
+    } else if (string.equalsIgnoreCase(Tokens.LITERAL_FALSE)) {
       return ByteBinaryTag.ZERO;
     }
-    return StringBinaryTag.of(built);
+    return StringBinaryTag.of(string);
+  }
+
+  private static boolean isExponent(final char c) {
+    return c == 'e' || c == 'E';
+  }
+
+  private String unquotedString() {
+    int length = 0;
+    while (this.buffer.hasMore(length)) {
+      final char c = this.buffer.peek(length);
+      if (c == Tokens.ESCAPE_MARKER) {
+        return this.escapedUnquotedString(length);
+      } else if (!Tokens.id(c)) {
+        break;
+      }
+      length++;
+    }
+    return this.buffer.take(length);
+  }
 
+  private String escapedUnquotedString(final int prefix) {
+    final StringBuilder builder = new StringBuilder().append(this.buffer.take(prefix));
+    while (this.buffer.hasMore()) {
+      final char current = this.buffer.peek();
+      if (current == Tokens.ESCAPE_MARKER) { // escape -- we are significantly more lenient than original format at the moment
+        this.buffer.advance();
+        builder.append(this.buffer.take());
+      } else if (Tokens.id(current)) {
+        builder.append(this.buffer.take());
+      } else { // end of value
+        break;
+      }
+    }
+    return builder.toString();
   }
 
   private boolean separatorOrCompleteWith(final char endCharacter) throws StringTagParseException {
@@ -312,27 +477,6 @@ final class TagStringReader {
     return false;
   }
 
-  /**
-   * Remove simple escape sequences from a string.
-   *
-   * @param withEscapes input string with escapes
-   * @return string with escapes processed
-   */
-  private static String unescape(final String withEscapes) {
-    int escapeIdx = withEscapes.indexOf(Tokens.ESCAPE_MARKER);
-    if (escapeIdx == -1) { // nothing to unescape
-      return withEscapes;
-    }
-    int lastEscape = 0;
-    final StringBuilder output = new StringBuilder(withEscapes.length());
-    do {
-      output.append(withEscapes, lastEscape, escapeIdx);
-      lastEscape = escapeIdx + 1;
-    } while ((escapeIdx = withEscapes.indexOf(Tokens.ESCAPE_MARKER, lastEscape + 1)) != -1); // add one extra character to make sure we don't include escaped backslashes
-    output.append(withEscapes.substring(lastEscape));
-    return output.toString();
-  }
-
   public void legacy(final boolean acceptLegacy) {
     this.acceptLegacy = acceptLegacy;
   }
@@ -0,0 +1,209 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A visitor writing tags in string format as they are read, without building them.
+ *
+ * <p>Failures to append are rethrown as {@link UncheckedIOException}s.</p>
+ */
+final class TagStringVisitor implements BinaryTagVisitor {
+  private final TagStringWriter writer;
+  private boolean root = true;
+  private int level; // the number of open compounds and lists
+  private int depth; // the number of open lists
+  private boolean[] lineBreaks = new boolean[8]; // whether each open list breaks its elements over lines
+
+  TagStringVisitor(final TagStringWriter writer) {
+    this.writer = writer;
+  }
+
+  @Override
+  public @NotNull Action visitKey(final @NotNull String key, final @NotNull BinaryTagType<? extends BinaryTag> type) {
+    if (this.root) { // the name of the root tag is not part of the string format
+      this.root = false;
+      return Action.CONTINUE;
+    }
+    try {
+      this.writer.key(key);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitCompoundStart() {
+    try {
+      this.writer.beginCompound();
+      this.level++;
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitCompoundEnd() {
+    try {
+      this.writer.endCompound();
+      if (--this.level == 0) { // the root tag is complete
+        this.writer.close();
+      }
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitListStart(final @NotNull BinaryTagType<? extends BinaryTag> elementType, final int size) {
+    if (this.depth == this.lineBreaks.length) {
+      this.lineBreaks = Arrays.copyOf(this.lineBreaks, this.depth << 1);
+    }
+    this.lineBreaks[this.depth++] = this.writer.lineBreaks(elementType);
+    try {
+      this.writer.beginList();
+      this.level++;
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitListElement(final int index, final @NotNull BinaryTagType<? extends BinaryTag> type) {
+    try {
+      this.writer.listElement(index, this.lineBreaks[this.depth - 1]);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitListEnd() {
+    try {
+      this.writer.endList(this.lineBreaks[--this.depth]);
+      this.level--;
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitByte(final byte value) {
+    return this.value(value, Tokens.TYPE_BYTE);
+  }
+
+  @Override
+  public @NotNull Action visitShort(final short value) {
+    return this.value(value, Tokens.TYPE_SHORT);
+  }
+
+  @Override
+  public @NotNull Action visitInt(final int value) {
+    return this.value(value, Tokens.TYPE_INT);
+  }
+
+  @Override
+  public @NotNull Action visitLong(final long value) {
+    return this.value(value, Character.toUpperCase(Tokens.TYPE_LONG)); // special-case
+  }
+
+  private Action value(final long value, final char valueType) {
+    try {
+      this.writer.value(value, valueType);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitFloat(final float value) {
+    try {
+      this.writer.value(value);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitDouble(final double value) {
+    try {
+      this.writer.value(value);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitString(final @NotNull String value) {
+    try {
+      this.writer.value(value, Tokens.EOF);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitByteArray(final byte@NotNull[] value) {
+    try {
+      this.writer.writeByteArray(value);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitIntArray(final int@NotNull[] value) {
+    try {
+      this.writer.writeIntArray(value);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public @NotNull Action visitLongArray(final long@NotNull[] value) {
+    try {
+      this.writer.writeLongArray(value);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return Action.CONTINUE;
+  }
+}
@@ -26,6 +26,7 @@ package net.kyori.adventure.nbt;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Map;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * An emitter for the SNBT format.
@@ -34,6 +35,7 @@ import java.util.Map;
  */
 final class TagStringWriter implements AutoCloseable {
   private final Appendable out;
+  private final @Nullable StringBuilder builder; // the same as out, when numbers can be appended to it directly
   private final String indent; // TODO: pretty-printing
   private int level;
   /**
@@ -44,6 +46,7 @@ final class TagStringWriter implements AutoCloseable {
 
   TagStringWriter(final Appendable out, final String indent) {
     this.out = out;
+    this.builder = out instanceof StringBuilder ? (StringBuilder) out : null;
     this.indent = indent;
   }
 
@@ -69,17 +72,17 @@ final class TagStringWriter implements AutoCloseable {
     } else if (type == BinaryTagTypes.STRING) {
       return this.value(((StringBinaryTag) tag).value(), Tokens.EOF);
     } else if (type == BinaryTagTypes.BYTE) {
-      return this.value(Byte.toString(((ByteBinaryTag) tag).value()), Tokens.TYPE_BYTE);
+      return this.value(((ByteBinaryTag) tag).value(), Tokens.TYPE_BYTE);
     } else if (type == BinaryTagTypes.SHORT) {
-      return this.value(Short.toString(((ShortBinaryTag) tag).value()), Tokens.TYPE_SHORT);
+      return this.value(((ShortBinaryTag) tag).value(), Tokens.TYPE_SHORT);
     } else if (type == BinaryTagTypes.INT) {
-      return this.value(Integer.toString(((IntBinaryTag) tag).value()), Tokens.TYPE_INT);
+      return this.value(((IntBinaryTag) tag).value(), Tokens.TYPE_INT);
     } else if (type == BinaryTagTypes.LONG) {
-      return this.value(Long.toString(((LongBinaryTag) tag).value()), Character.toUpperCase(Tokens.TYPE_LONG)); // special-case
+      return this.value(((LongBinaryTag) tag).value(), Character.toUpperCase(Tokens.TYPE_LONG)); // special-case
     } else if (type == BinaryTagTypes.FLOAT) {
-      return this.value(Float.toString(((FloatBinaryTag) tag).value()), Tokens.TYPE_FLOAT);
+      return this.value(((FloatBinaryTag) tag).value());
     } else if (type == BinaryTagTypes.DOUBLE) {
-      return this.value(Double.toString(((DoubleBinaryTag) tag).value()), Tokens.TYPE_DOUBLE);
+      return this.value(((DoubleBinaryTag) tag).value());
     } else {
       throw new IOException("Unknown tag type: " + type);
       // unknown!
@@ -99,70 +102,105 @@ final class TagStringWriter implements AutoCloseable {
   private TagStringWriter writeList(final ListBinaryTag tag) throws IOException {
     this.beginList();
     int idx = 0;
-    final boolean lineBreaks = this.prettyPrinting() && this.breakListElement(tag.elementType());
+    final boolean lineBreaks = this.lineBreaks(tag.elementType());
     for (final BinaryTag el : tag) {
-      this.printAndResetSeparator(!lineBreaks);
-      if (lineBreaks) {
-        this.newlineIndent();
-      }
-      if (this.legacy) {
-        this.out.append(String.valueOf(idx++));
-        this.appendSeparator(Tokens.COMPOUND_KEY_TERMINATOR);
-      }
-
+      this.listElement(idx++, lineBreaks);
       this.writeTag(el);
     }
     this.endList(lineBreaks);
     return this;
   }
 
+  // whether a list of elementType puts each element on its own line
+  boolean lineBreaks(final BinaryTagType<?> elementType) {
+    return this.prettyPrinting() && this.breakListElement(elementType);
+  }
+
+  // starts an element of a list, before its value
+  void listElement(final int index, final boolean lineBreaks) throws IOException {
+    this.printAndResetSeparator(!lineBreaks);
+    if (lineBreaks) {
+      this.newlineIndent();
+    }
+    if (this.legacy) {
+      this.append(index);
+      this.appendSeparator(Tokens.COMPOUND_KEY_TERMINATOR);
+    }
+  }
+
   private TagStringWriter writeByteArray(final ByteArrayBinaryTag tag) throws IOException {
+    return this.writeByteArray(ByteArrayBinaryTagImpl.value(tag));
+  }
+
+  TagStringWriter writeByteArray(final byte[] value) throws IOException {
     if (this.legacy) {
       throw new IOException("Legacy Mojangson only supports integer arrays!");
     }
     this.beginArray(Tokens.TYPE_BYTE);
 
     final char byteArrayType = Character.toUpperCase(Tokens.TYPE_BYTE); // special case to match vanilla format
-    final byte[] value = ByteArrayBinaryTagImpl.value(tag);
     for (int i = 0, length = value.length; i < length; i++) {
-      this.printAndResetSeparator(true);
-      this.value(Byte.toString(value[i]), byteArrayType);
+      this.arraySeparator(i);
+      this.append(value[i]);
+      this.out.append(byteArrayType);
     }
     this.endArray();
     return this;
   }
 
   private TagStringWriter writeIntArray(final IntArrayBinaryTag tag) throws IOException {
+    return this.writeIntArray(IntArrayBinaryTagImpl.value(tag));
+  }
+
+  TagStringWriter writeIntArray(final int[] value) throws IOException {
     if (this.legacy) {
       this.beginList();
     } else {
       this.beginArray(Tokens.TYPE_INT);
     }
 
-    final int[] value = IntArrayBinaryTagImpl.value(tag);
+    if (this.builder != null) {
+      this.builder.ensureCapacity(this.builder.length() + value.length * 8);
+    }
     for (int i = 0, length = value.length; i < length; i++) {
-      this.printAndResetSeparator(true);
-      this.value(Integer.toString(value[i]), Tokens.TYPE_INT);
+      this.arraySeparator(i);
+      this.append(value[i]);
     }
     this.endArray();
     return this;
   }
 
   private TagStringWriter writeLongArray(final LongArrayBinaryTag tag) throws IOException {
+    return this.writeLongArray(LongArrayBinaryTagImpl.value(tag));
+  }
+
+  TagStringWriter writeLongArray(final long[] value) throws IOException {
     if (this.legacy) {
       throw new IOException("Legacy Mojangson only supports integer arrays!");
     }
     this.beginArray(Tokens.TYPE_LONG);
 
-    final long[] value = LongArrayBinaryTagImpl.value(tag);
+    if (this.builder != null) {
+      this.builder.ensureCapacity(this.builder.length() + value.length * 16);
+    }
     for (int i = 0, length = value.length; i < length; i++) {
-      this.printAndResetSeparator(true);
-      this.value(Long.toString(value[i]), Tokens.TYPE_LONG);
+      this.arraySeparator(i);
+      this.append(value[i]);
+      this.out.append(Tokens.TYPE_LONG);
     }
     this.endArray();
     return this;
   }
 
+  private void arraySeparator(final int index) throws IOException {
+    if (index != 0) {
+      this.out.append(Tokens.VALUE_SEPARATOR);
+      if (this.prettyPrinting()) {
+        this.out.append(' ');
+      }
+    }
+  }
+
   // Value types
 
   public TagStringWriter beginCompound() throws IOException {
@@ -201,6 +239,45 @@ final class TagStringWriter implements AutoCloseable {
     return this;
   }
 
+  TagStringWriter value(final long value, final char valueType) throws IOException {
+    this.append(value);
+    if (valueType != Tokens.TYPE_INT) {
+      this.out.append(valueType);
+    }
+    this.needsSeparator = true;
+    return this;
+  }
+
+  TagStringWriter value(final float value) throws IOException {
+    if (this.builder != null) {
+      this.builder.append(value);
+    } else {
+      this.out.append(Float.toString(value));
+    }
+    this.out.append(Tokens.TYPE_FLOAT);
+    this.needsSeparator = true;
+    return this;
+  }
+
+  TagStringWriter value(final double value) throws IOException {
+    if (this.builder != null) {
+      this.builder.append(value);
+    } else {
+      this.out.append(Double.toString(value));
+    }
+    this.out.append(Tokens.TYPE_DOUBLE);
+    this.needsSeparator = true;
+    return this;
+  }
+
+  private void append(final long value) throws IOException {
+    if (this.builder != null) {
+      this.builder.append(value);
+    } else {
+      this.out.append(Long.toString(value));
+    }
+  }
+
   public TagStringWriter beginList() throws IOException {
     this.printAndResetSeparator(false);
     this.level++;
@@ -245,23 +322,24 @@ final class TagStringWriter implements AutoCloseable {
     }
     if (requireQuotes) { // TODO: single quotes
       this.out.append(Tokens.DOUBLE_QUOTE);
-      this.out.append(escape(content, Tokens.DOUBLE_QUOTE));
+      this.writeEscaped(content, Tokens.DOUBLE_QUOTE);
       this.out.append(Tokens.DOUBLE_QUOTE);
     } else {
       this.out.append(content);
     }
   }
 
-  private static String escape(final String content, final char quoteChar) {
-    final StringBuilder output = new StringBuilder(content.length());
+  private void writeEscaped(final String content, final char quoteChar) throws IOException {
+    int start = 0;
     for (int i = 0; i < content.length(); ++i) {
       final char c = content.charAt(i);
       if (c == quoteChar || c == '\\') {
-        output.append(Tokens.ESCAPE_MARKER);
+        this.out.append(content, start, i);
+        this.out.append(Tokens.ESCAPE_MARKER);
+        start = i; // the character itself is written with the next run
       }
-      output.append(c);
     }
-    return output.toString();
+    this.out.append(content, start, content.length());
   }
 
   private void printAndResetSeparator(final boolean pad) throws IOException {
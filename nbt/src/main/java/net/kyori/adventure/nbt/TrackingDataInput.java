@@ -29,20 +29,29 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 final class TrackingDataInput implements DataInput, BinaryTagScope {
-  private static final int MAX_DEPTH = 512;
+  static final int MAX_DEPTH = 512;
   private final DataInput input;
   private final long maxLength;
+  private final @Nullable StringTable strings;
   private long counter;
   private int depth;
+  private byte@Nullable[] scratch;
 
   TrackingDataInput(final DataInput input, final long maxLength) {
+    this(input, maxLength, null);
+  }
+
+  TrackingDataInput(final DataInput input, final long maxLength, final @Nullable StringTable strings) {
     this.input = input;
     this.maxLength = maxLength;
+    this.strings = strings;
   }
 
   public static BinaryTagScope enter(final DataInput input) throws IOException {
     if (input instanceof TrackingDataInput) {
       return ((TrackingDataInput) input).enter();
+    } else if (input instanceof ByteBufferDataInput) {
+      return ((ByteBufferDataInput) input).enter();
     } else {
       return NoOp.INSTANCE;
     }
@@ -51,6 +60,8 @@ final class TrackingDataInput implements DataInput, BinaryTagScope {
   public static BinaryTagScope enter(final DataInput input, final long expectedSize) throws IOException {
     if (input instanceof TrackingDataInput) {
       return ((TrackingDataInput) input).enter(expectedSize);
+    } else if (input instanceof ByteBufferDataInput) {
+      return ((ByteBufferDataInput) input).enter(expectedSize);
     } else {
       return NoOp.INSTANCE;
     }
@@ -91,19 +102,22 @@ final class TrackingDataInput implements DataInput, BinaryTagScope {
 
   @Override
   public void readFully(final byte@NotNull[] array) throws IOException {
-    this.counter += array.length;
-    this.input.readFully(array);
+    this.readFully(array, 0, array.length);
   }
 
   @Override
   public void readFully(final byte@NotNull[] array, final int off, final int len) throws IOException {
+    this.ensureMaxLength(len);
     this.counter += len;
     this.input.readFully(array, off, len);
   }
 
   @Override
   public int skipBytes(final int n) throws IOException {
-    return this.input.skipBytes(n);
+    this.ensureMaxLength(n);
+    final int skipped = this.input.skipBytes(n);
+    this.counter += skipped;
+    return skipped;
   }
 
   @Override
@@ -177,9 +191,19 @@ final class TrackingDataInput implements DataInput, BinaryTagScope {
 
   @Override
   public @NotNull String readUTF() throws IOException {
-    final String result = this.input.readUTF();
-    this.counter += (result.length() * 2L) + 2; // not entirely accurate, but the closest we can get without doing implementation details
-    return result;
+    // decode the string here, rather than with the underlying input, to know exactly how many bytes it takes
+    final int length = this.readUnsignedShort();
+    this.ensureMaxLength(length);
+    byte[] scratch = this.scratch;
+    if (scratch == null || scratch.length < length) {
+      scratch = this.scratch = new byte[Math.max(length, StringTable.MAX_LENGTH)];
+    }
+    this.input.readFully(scratch, 0, length);
+    this.counter += length;
+    if (this.strings != null) {
+      return this.strings.decode(scratch, 0, length);
+    }
+    return ModifiedUtf8.decode(scratch, 0, length);
   }
 
   @Override
@@ -25,10 +25,50 @@ package net.kyori.adventure.nbt;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class BinaryTagIOTest {
   @Test
@@ -60,4 +100,460 @@ class BinaryTagIOTest {
     BinaryTagIO.writer().write(tag, output, BinaryTagIO.Compression.ZLIB);
     assertEquals(tag, BinaryTagIO.reader().read(new ByteArrayInputStream(output.toByteArray()), BinaryTagIO.Compression.ZLIB));
   }
+
+  @Test
+  void testCompressionInteroperability() throws IOException {
+    final CompoundBinaryTag tag = BinaryTagIO.reader().read(new ByteArrayInputStream(bigTest()));
+    for (final BinaryTagIO.Compression compression : Arrays.asList(BinaryTagIO.Compression.gzip(1), BinaryTagIO.Compression.gzip(9, Deflater.FILTERED, 64))) {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      BinaryTagIO.writer().write(tag, output, compression);
+      try(final InputStream is = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+        assertEquals(tag, BinaryTagIO.reader().read(is));
+      }
+      // reading again reuses the pooled inflater
+      for (int i = 0; i < 3; i++) {
+        assertEquals(tag, BinaryTagIO.reader().read(new ByteArrayInputStream(output.toByteArray()), compression));
+      }
+    }
+
+    // headers written by other tools may have optional fields
+    final ByteArrayOutputStream named = new ByteArrayOutputStream();
+    named.write(new byte[]{0x1f, (byte) 0x8b, 8, 8 | 16, 0, 0, 0, 0, 0, 0});
+    named.write("bigtest.nbt\0a comment\0".getBytes(StandardCharsets.US_ASCII));
+    final ByteArrayOutputStream member = new ByteArrayOutputStream();
+    try(final GZIPOutputStream os = new GZIPOutputStream(member)) {
+      os.write(bigTest());
+    }
+    named.write(member.toByteArray(), 10, member.size() - 10);
+    assertEquals(tag, BinaryTagIO.reader().read(new ByteArrayInputStream(named.toByteArray()), BinaryTagIO.Compression.GZIP));
+
+    final ByteArrayOutputStream zlib = new ByteArrayOutputStream();
+    try(final DeflaterOutputStream os = new DeflaterOutputStream(zlib)) {
+      os.write(bigTest());
+    }
+    assertEquals(tag, BinaryTagIO.reader().read(new ByteArrayInputStream(zlib.toByteArray()), BinaryTagIO.Compression.zlib(9)));
+    assertThrows(ZipException.class, () -> BinaryTagIO.reader().read(new ByteArrayInputStream(zlib.toByteArray()), BinaryTagIO.Compression.GZIP));
+  }
+
+  @Test
+  void testInvalidCompression() {
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Compression.gzip(10));
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Compression.zlib(-2));
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Compression.zlib(1, 3, 512));
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Compression.gzip(1, Deflater.DEFAULT_STRATEGY, 0));
+  }
+
+  @Test
+  void testReadHeapBuffer() throws IOException {
+    final byte[] bytes = bigTest();
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    assertEquals(BinaryTagIO.reader().read(new ByteArrayInputStream(bytes)), BinaryTagIO.reader().read(buffer));
+    assertEquals(bytes.length, buffer.position());
+  }
+
+  @Test
+  void testReadDirectBuffer() throws IOException {
+    final byte[] bytes = bigTest();
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes).flip();
+    final Map.Entry<String, CompoundBinaryTag> named = BinaryTagIO.reader().readNamed(buffer);
+    assertEquals("Level", named.getKey());
+    assertEquals(BinaryTagIO.reader().read(new ByteArrayInputStream(bytes)), named.getValue());
+    assertEquals(bytes.length, buffer.position());
+  }
+
+  @Test
+  void testReadBufferThroughOtherReader() throws IOException {
+    final byte[] bytes = bigTest();
+    final ByteBuffer buffer = ByteBuffer.allocate(bytes.length * 2);
+    buffer.put(bytes).put(bytes).flip();
+    final BinaryTagIO.Reader reader = new ForwardingReader(BinaryTagIO.reader());
+    assertEquals(BinaryTagIO.reader().read(new ByteArrayInputStream(bytes)), reader.read(buffer));
+    assertEquals(bytes.length, buffer.position());
+    assertEquals("Level", reader.readNamed(buffer).getKey());
+    assertEquals(bytes.length * 2, buffer.position());
+  }
+
+  @Test
+  void testReadTruncatedBuffer() throws IOException {
+    final byte[] bytes = bigTest();
+    final ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length / 2));
+    assertThrows(EOFException.class, () -> BinaryTagIO.reader().read(buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void testReadBufferSizeLimit() throws IOException {
+    final ByteBuffer buffer = ByteBuffer.wrap(bigTest());
+    assertThrows(IOException.class, () -> BinaryTagIO.reader(256).read(buffer));
+  }
+
+  @Test
+  void testReadSizeLimitIsExact() throws IOException {
+    final byte[] bytes = bigTest();
+    final ByteArrayOutputStream named = new ByteArrayOutputStream();
+    BinaryTagIO.writer().writeNamed(new AbstractMap.SimpleImmutableEntry<>("a name", CompoundBinaryTag.empty()), named);
+    for (final byte[] tag : Arrays.asList(bytes, named.toByteArray())) {
+      assertEquals(BinaryTagIO.reader().readNamed(new ByteArrayInputStream(tag)), BinaryTagIO.reader(tag.length).readNamed(new ByteArrayInputStream(tag)));
+      assertThrows(IOException.class, () -> BinaryTagIO.reader(tag.length - 1).readNamed(new ByteArrayInputStream(tag)));
+      assertThrows(IOException.class, () -> BinaryTagIO.reader(tag.length - 1).readNamed((DataInput) new DataInputStream(new ByteArrayInputStream(tag))));
+      assertThrows(IOException.class, () -> BinaryTagIO.reader(tag.length - 1).read(new ByteArrayInputStream(tag)));
+      assertThrows(IOException.class, () -> BinaryTagIO.reader(tag.length - 1).read(ByteBuffer.wrap(tag)));
+    }
+
+    // skipped bytes count too
+    final CompoundBinaryTag large = CompoundBinaryTag.builder()
+      .putByteArray("skipped", new byte[1000])
+      .putString("kept", "value")
+      .build();
+    final byte[] largeBytes = bytes(large);
+    final BinaryTagIO.Reader filtered = BinaryTagIO.Reader.builder().maxBytes(500).include("kept").build();
+    assertThrows(IOException.class, () -> filtered.read(new ByteArrayInputStream(largeBytes)));
+    assertEquals(1000, BinaryTagIO.reader(largeBytes.length).read(new ByteArrayInputStream(largeBytes)).getByteArray("skipped").length);
+
+    // lists of small elements are not rejected for being long
+    final CompoundBinaryTag list = CompoundBinaryTag.builder()
+      .put("bytes", ListBinaryTag.from(Collections.nCopies(1000, ByteBinaryTag.of((byte) 1))))
+      .build();
+    final byte[] listBytes = bytes(list);
+    assertEquals(list, BinaryTagIO.reader(listBytes.length).read(new ByteArrayInputStream(listBytes)));
+  }
+
+  @Test
+  void testWriteHeapBuffer() throws IOException {
+    final CompoundBinaryTag tag = BinaryTagIO.reader().read(new ByteArrayInputStream(bigTest()));
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    final byte[] expected = output.toByteArray();
+    assertEquals(expected.length, BinaryTagIO.writer().size(tag));
+
+    final ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+    assertSame(buffer, BinaryTagIO.writer().write(tag, buffer));
+    assertEquals(expected.length, buffer.position());
+    assertArrayEquals(expected, buffer.array());
+  }
+
+  @Test
+  void testWriteNamedDirectBuffer() throws IOException {
+    final Map.Entry<String, CompoundBinaryTag> named = BinaryTagIO.reader().readNamed(new ByteArrayInputStream(bigTest()));
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().writeNamed(named, output);
+    final byte[] expected = output.toByteArray();
+    assertEquals(expected.length, BinaryTagIO.writer().sizeNamed(named));
+
+    final ByteBuffer buffer = BinaryTagIO.writer().writeNamed(named, ByteBuffer.allocateDirect(expected.length));
+    assertEquals(expected.length, buffer.position());
+    buffer.flip();
+    final byte[] written = new byte[buffer.remaining()];
+    buffer.get(written);
+    assertArrayEquals(expected, written);
+  }
+
+  @Test
+  void testWriteBufferThroughOtherWriter() throws IOException {
+    final Map.Entry<String, CompoundBinaryTag> named = BinaryTagIO.reader().readNamed(new ByteArrayInputStream(bigTest()));
+    final BinaryTagIO.Writer writer = new ForwardingWriter(BinaryTagIO.writer());
+    assertEquals(BinaryTagIO.writer().size(named.getValue()), writer.size(named.getValue()));
+    assertEquals(BinaryTagIO.writer().sizeNamed(named), writer.sizeNamed(named));
+
+    final ByteBuffer expected = BinaryTagIO.writer().writeNamed(named, BinaryTagIO.writer().write(named.getValue(), ByteBuffer.allocate(16)));
+    final ByteBuffer buffer = writer.writeNamed(named, writer.write(named.getValue(), ByteBuffer.allocate(16)));
+    expected.flip();
+    buffer.flip();
+    assertEquals(expected, buffer);
+  }
+
+  @Test
+  void testWriteBufferGrows() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("name", "tést ☃")
+      .putIntArray("ints", new int[]{1, 2, 3})
+      .build();
+    final ByteBuffer buffer = ByteBuffer.allocate(8);
+    buffer.putInt(0xcafebabe);
+    final ByteBuffer grown = BinaryTagIO.writer().write(tag, buffer);
+    assertNotSame(buffer, grown);
+    assertEquals(4 + BinaryTagIO.writer().size(tag), grown.position());
+    grown.flip();
+    assertEquals(0xcafebabe, grown.getInt());
+    assertEquals(tag, BinaryTagIO.reader().read(grown));
+    assertFalse(grown.hasRemaining());
+  }
+
+  @Test
+  void testSizeOf() throws IOException {
+    final CompoundBinaryTag tag = BinaryTagIO.reader().read(new ByteArrayInputStream(bigTest()));
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    assertEquals(output.size() - 3, BinaryTagIO.sizeOf(tag)); // type, empty name
+    assertEquals(BinaryTagIO.sizeOf(tag), BinaryTagIO.sizeOf(tag));
+
+    assertEquals(1, BinaryTagIO.sizeOf(ByteBinaryTag.of((byte) 1)));
+    assertEquals(8, BinaryTagIO.sizeOf(DoubleBinaryTag.of(1)));
+    assertEquals(2 + 1 + 2 + 3, BinaryTagIO.sizeOf(StringBinaryTag.of("a\0☃")));
+    assertEquals(4 + 8 * 3, BinaryTagIO.sizeOf(LongArrayBinaryTag.of(1, 2, 3)));
+    assertEquals(5 + 2 * 4, BinaryTagIO.sizeOf(ListBinaryTag.builder().add(IntBinaryTag.of(1)).add(IntBinaryTag.of(2)).build()));
+    assertEquals(5, BinaryTagIO.sizeOf(ListBinaryTag.empty()));
+    assertEquals(1, BinaryTagIO.sizeOf(CompoundBinaryTag.empty()));
+  }
+
+  @Test
+  void testReadLazy() throws IOException {
+    final byte[] bytes = bigTest();
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    final CompoundBinaryTag lazy = BinaryTagIO.Reader.builder().lazy(true).build().read(buffer);
+    final CompoundBinaryTag eager = BinaryTagIO.reader().read(ByteBuffer.wrap(bytes));
+    assertEquals(bytes.length, buffer.position());
+    assertEquals(eager.keySet(), lazy.keySet());
+    assertEquals(eager.getCompound("nested compound test"), lazy.getCompound("nested compound test"));
+    assertEquals(eager.getLong("longTest"), lazy.getLong("longTest"));
+    assertNull(lazy.get("missing"));
+    assertEquals(eager, lazy);
+    assertEquals(eager.hashCode(), lazy.hashCode());
+
+    final CompoundBinaryTag edited = lazy.putInt("intTest", 3);
+    assertEquals(eager.putInt("intTest", 3), edited);
+    assertEquals(eager, lazy);
+  }
+
+  @Test
+  void testReadLazyDuplicateKeys() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try(final DataOutputStream data = new DataOutputStream(output)) {
+      data.writeByte(BinaryTagTypes.COMPOUND.id());
+      data.writeUTF("");
+      data.writeByte(BinaryTagTypes.INT.id());
+      data.writeUTF("a");
+      data.writeInt(1);
+      data.writeByte(BinaryTagTypes.STRING.id());
+      data.writeUTF("a");
+      data.writeUTF("two");
+      data.writeByte(BinaryTagTypes.END.id());
+    }
+    final CompoundBinaryTag lazy = BinaryTagIO.Reader.builder().lazy(true).build().read(ByteBuffer.wrap(output.toByteArray()));
+    assertEquals(BinaryTagIO.reader().read(new ByteArrayInputStream(output.toByteArray())), lazy);
+    assertEquals(1, lazy.keySet().size());
+    assertEquals("two", lazy.getString("a"));
+  }
+
+  @Test
+  void testReadLazySizeLimit() throws IOException {
+    final ByteBuffer buffer = ByteBuffer.wrap(bigTest());
+    assertThrows(IOException.class, () -> BinaryTagIO.Reader.builder().maxBytes(256).lazy(true).build().read(buffer));
+  }
+
+  @Test
+  void testReadDeduplicateStrings() throws IOException {
+    final byte[] bytes = bigTest();
+    final BinaryTagIO.Reader reader = BinaryTagIO.Reader.builder().deduplicateStrings(true).build();
+    final CompoundBinaryTag first = reader.read(new ByteArrayInputStream(bytes));
+    final CompoundBinaryTag second = reader.read(ByteBuffer.wrap(bytes));
+    assertEquals(BinaryTagIO.reader().read(new ByteArrayInputStream(bytes)), first);
+    assertEquals(first, second);
+    assertSame(key(first, "longTest"), key(second, "longTest"));
+    assertSame(first.getString("stringTest"), second.getString("stringTest"));
+
+    // each lazy read decodes its own values, so only the shared string table can make these the same instance
+    final BinaryTagIO.Reader lazyReader = BinaryTagIO.Reader.builder().lazy(true).deduplicateStrings(true).build();
+    final CompoundBinaryTag lazy = lazyReader.read(ByteBuffer.wrap(bytes));
+    final CompoundBinaryTag otherLazy = lazyReader.read(ByteBuffer.wrap(bytes));
+    assertNotSame(lazy.getCompound("nested compound test"), otherLazy.getCompound("nested compound test"));
+    assertSame(lazy.getCompound("nested compound test").getCompound("egg").getString("name"), otherLazy.getCompound("nested compound test").getCompound("egg").getString("name"));
+    assertSame(lazy.getString("stringTest"), otherLazy.getString("stringTest"));
+    assertEquals(first, lazy);
+  }
+
+  private static String key(final CompoundBinaryTag tag, final String key) {
+    for (final String candidate : tag.keySet()) {
+      if (candidate.equals(key)) {
+        return candidate;
+      }
+    }
+    throw new AssertionError(key);
+  }
+
+  @Test
+  void testReadFiltered() throws IOException {
+    final byte[] bytes = bigTest();
+    final CompoundBinaryTag full = BinaryTagIO.reader().read(new ByteArrayInputStream(bytes));
+    final BinaryTagIO.Reader reader = BinaryTagIO.Reader.builder()
+      .include("nested compound test.egg", "listTest (compound)[*].name")
+      .include("longTest", "intTest.missing", "stringTest[*]")
+      .build();
+    final ListBinaryTag.Builder<CompoundBinaryTag> names = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+    for (final BinaryTag element : full.getList("listTest (compound)")) {
+      names.add(CompoundBinaryTag.builder().put("name", ((CompoundBinaryTag) element).get("name")).build());
+    }
+    final CompoundBinaryTag expected = CompoundBinaryTag.builder()
+      .put("nested compound test", CompoundBinaryTag.builder().put("egg", full.getCompound("nested compound test").getCompound("egg")).build())
+      .put("listTest (compound)", names.build())
+      .putLong("longTest", full.getLong("longTest"))
+      .build();
+    assertEquals(expected, reader.read(new ByteArrayInputStream(bytes)));
+    assertEquals(expected, reader.read(ByteBuffer.wrap(bytes)));
+  }
+
+  @Test
+  void testReadFilteredMalformedPath() {
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Reader.builder().include("a..b"));
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Reader.builder().include("[*]"));
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Reader.builder().include("a[0]"));
+  }
+
+  @Test
+  void testReadAll() throws Exception {
+    final CompoundBinaryTag big = BinaryTagIO.reader().read(new ByteArrayInputStream(bigTest()));
+    final List<Path> paths = new ArrayList<>();
+    final Map<Path, CompoundBinaryTag> expected = new HashMap<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (int i = 0; i < 20; i++) {
+        final Path path = Files.createTempFile("adventure-nbt", ".dat");
+        final CompoundBinaryTag tag = big.putInt("index", i);
+        BinaryTagIO.writer().write(tag, path, BinaryTagIO.Compression.GZIP);
+        paths.add(path);
+        expected.put(path, tag);
+      }
+      for (final BinaryTagIO.Reader reader : Arrays.asList(BinaryTagIO.unlimitedReader(), BinaryTagIO.Reader.builder().unlimited().lazy(true).build())) {
+        final Map<Path, CompoundBinaryTag> read = new ConcurrentHashMap<>();
+        reader.readAll(paths, BinaryTagIO.Compression.GZIP, executor, read::put).get();
+        assertEquals(expected, read);
+      }
+
+      // each read waits for three others to finish at the same time, so reads running one after another would time out
+      final CyclicBarrier barrier = new CyclicBarrier(4);
+      BinaryTagIO.reader().readAll(paths, BinaryTagIO.Compression.GZIP, executor, (path, tag) -> {
+        try {
+          barrier.await(10, TimeUnit.SECONDS);
+        } catch (final Exception e) {
+          throw new IllegalStateException(e);
+        }
+      }).get();
+
+      // a limit still applies to the decompressed size
+      final ExecutionException limited = assertThrows(ExecutionException.class, () -> BinaryTagIO.Reader.builder().maxBytes(100).build().readAll(paths, BinaryTagIO.Compression.GZIP, executor, (path, tag) -> { }).get());
+      assertEquals(UncheckedIOException.class, limited.getCause().getClass());
+
+      final Path missing = paths.get(0).resolveSibling("missing.dat");
+      final List<Path> read = Collections.synchronizedList(new ArrayList<>());
+      final ExecutionException failed = assertThrows(ExecutionException.class, () -> BinaryTagIO.reader().readAll(Arrays.asList(missing, paths.get(1)), BinaryTagIO.Compression.GZIP, executor, (path, tag) -> read.add(path)).get());
+      assertEquals(UncheckedIOException.class, failed.getCause().getClass());
+      assertEquals(Collections.singletonList(paths.get(1)), read);
+
+      // an executor that runs two reads, then rejects the rest
+      final AtomicInteger submitted = new AtomicInteger();
+      final Executor rejecting = task -> {
+        if (submitted.incrementAndGet() > 2) {
+          throw new RejectedExecutionException();
+        }
+        executor.execute(task);
+      };
+      read.clear();
+      final ExecutionException rejected = assertThrows(ExecutionException.class, () -> BinaryTagIO.reader().readAll(paths, BinaryTagIO.Compression.GZIP, rejecting, (path, tag) -> read.add(path)).get());
+      assertEquals(RejectedExecutionException.class, rejected.getCause().getClass());
+      assertEquals(3, submitted.get());
+      assertEquals(2, read.size());
+    } finally {
+      executor.shutdown();
+      for (final Path path : paths) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  // a reader from outside of this library, which only implements the methods a reader has to
+  static final class ForwardingReader implements BinaryTagIO.Reader {
+    private final BinaryTagIO.Reader reader;
+
+    ForwardingReader(final BinaryTagIO.Reader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public @NotNull CompoundBinaryTag read(final @NotNull Path path, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+      return this.reader.read(path, compression);
+    }
+
+    @Override
+    public @NotNull CompoundBinaryTag read(final @NotNull InputStream input, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+      return this.reader.read(input, compression);
+    }
+
+    @Override
+    public @NotNull CompoundBinaryTag read(final @NotNull DataInput input) throws IOException {
+      return this.reader.read(input);
+    }
+
+    @Override
+    public Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull Path path, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+      return this.reader.readNamed(path, compression);
+    }
+
+    @Override
+    public Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull InputStream input, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+      return this.reader.readNamed(input, compression);
+    }
+
+    @Override
+    public Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull DataInput input) throws IOException {
+      return this.reader.readNamed(input);
+    }
+  }
+
+  // a writer from outside of this library, which only implements the methods a writer has to
+  static final class ForwardingWriter implements BinaryTagIO.Writer {
+    private final BinaryTagIO.Writer writer;
+
+    ForwardingWriter(final BinaryTagIO.Writer writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void write(final @NotNull CompoundBinaryTag tag, final @NotNull Path path, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+      this.writer.write(tag, path, compression);
+    }
+
+    @Override
+    public void write(final @NotNull CompoundBinaryTag tag, final @NotNull OutputStream output, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+      this.writer.write(tag, output, compression);
+    }
+
+    @Override
+    public void write(final @NotNull CompoundBinaryTag tag, final @NotNull DataOutput output) throws IOException {
+      this.writer.write(tag, output);
+    }
+
+    @Override
+    public void writeNamed(final Map.@NotNull Entry<String, CompoundBinaryTag> tag, final @NotNull Path path, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+      this.writer.writeNamed(tag, path, compression);
+    }
+
+    @Override
+    public void writeNamed(final Map.@NotNull Entry<String, CompoundBinaryTag> tag, final @NotNull OutputStream output, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+      this.writer.writeNamed(tag, output, compression);
+    }
+
+    @Override
+    public void writeNamed(final Map.@NotNull Entry<String, CompoundBinaryTag> tag, final @NotNull DataOutput output) throws IOException {
+      this.writer.writeNamed(tag, output);
+    }
+  }
+
+  private static byte[] bytes(final CompoundBinaryTag tag) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    return output.toByteArray();
+  }
+
+  private static byte[] bigTest() throws IOException {
+    try(final InputStream is = new GZIPInputStream(BinaryTagIOTest.class.getResourceAsStream("/bigtest.nbt"))) {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[4096];
+      int read;
+      while ((read = is.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+      return output.toByteArray();
+    }
+  }
 }
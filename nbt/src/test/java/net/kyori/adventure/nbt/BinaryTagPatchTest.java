@@ -0,0 +1,130 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryTagPatchTest {
+  private static final CompoundBinaryTag ENTITY = CompoundBinaryTag.builder()
+    .putString("id", "minecraft:zombie")
+    .putFloat("Health", 20)
+    .put("Pos", ListBinaryTag.builder().add(DoubleBinaryTag.of(1)).add(DoubleBinaryTag.of(64)).add(DoubleBinaryTag.of(-3)).build())
+    .put("ArmorItems", ListBinaryTag.builder()
+      .add(CompoundBinaryTag.builder().putString("id", "minecraft:iron_helmet").putByte("Count", (byte) 1).build())
+      .add(CompoundBinaryTag.empty())
+      .build())
+    .put("Brain", CompoundBinaryTag.builder()
+      .put("memories", CompoundBinaryTag.builder().putLong("last_slept", 1000).build())
+      .build())
+    .putIntArray("UUID", new int[] {1, 2, 3, 4})
+    .build();
+
+  @Test
+  void testIdenticalTagsHaveEmptyPatch() {
+    assertTrue(BinaryTagPatch.diff(ENTITY, ENTITY).isEmpty());
+    final CompoundBinaryTag copy = CompoundBinaryTag.builder().put(ENTITY).build();
+    assertTrue(BinaryTagPatch.diff(ENTITY, copy).isEmpty());
+    assertSame(ENTITY, BinaryTagPatch.diff(ENTITY, ENTITY).apply(ENTITY));
+  }
+
+  @Test
+  void testEntriesAddedRemovedAndSet() {
+    this.assertPatches(ENTITY, ENTITY.putFloat("Health", 12.5f));
+    this.assertPatches(ENTITY, ENTITY.remove("UUID").putBoolean("NoAI", true));
+    this.assertPatches(ENTITY, ENTITY.putString("Pos", "replaced with another type"));
+    this.assertPatches(ENTITY, CompoundBinaryTag.empty());
+    this.assertPatches(CompoundBinaryTag.empty(), ENTITY);
+  }
+
+  @Test
+  void testNestedChangesArePatchedInPlace() {
+    final CompoundBinaryTag to = ENTITY.put("Brain", ENTITY.getCompound("Brain").put("memories", CompoundBinaryTag.builder().putLong("last_slept", 2000).build()));
+    final BinaryTagPatch patch = this.assertPatches(ENTITY, to);
+    assertEquals(CompoundBinaryTag.builder()
+      .put("~", CompoundBinaryTag.builder()
+        .put("Brain", CompoundBinaryTag.builder()
+          .put("~", CompoundBinaryTag.builder()
+            .put("memories", CompoundBinaryTag.builder()
+              .put("=", CompoundBinaryTag.builder().putLong("last_slept", 2000).build())
+              .build())
+            .build())
+          .build())
+        .build())
+      .build(), patch.asBinaryTag());
+  }
+
+  @Test
+  void testListChanges() {
+    final ListBinaryTag pos = ENTITY.getList("Pos");
+    this.assertPatches(ENTITY, ENTITY.put("Pos", pos.set(1, DoubleBinaryTag.of(65), null)));
+    this.assertPatches(ENTITY, ENTITY.put("Pos", pos.add(DoubleBinaryTag.of(0)).add(DoubleBinaryTag.of(1))));
+    this.assertPatches(ENTITY, ENTITY.put("Pos", pos.remove(2, null).remove(1, null)));
+    this.assertPatches(ENTITY, ENTITY.put("Pos", pos.remove(2, null).set(0, DoubleBinaryTag.of(7), null)));
+    this.assertPatches(ENTITY, ENTITY.put("Pos", ListBinaryTag.empty()));
+    this.assertPatches(ENTITY, ENTITY.put("Pos", ListBinaryTag.builder().add(FloatBinaryTag.of(1)).build()));
+
+    final ListBinaryTag armor = ENTITY.getList("ArmorItems");
+    final BinaryTagPatch patch = this.assertPatches(ENTITY, ENTITY.put("ArmorItems", armor.set(0, armor.getCompound(0).putByte("Damage", (byte) 3), null)));
+    final CompoundBinaryTag listPatch = patch.asBinaryTag().getCompound("~").getCompound("ArmorItems");
+    assertEquals(IntArrayBinaryTag.of(0), listPatch.get("j"));
+    assertFalse(listPatch.keySet().contains("="));
+  }
+
+  @Test
+  void testPatchWrittenAndRead() throws IOException {
+    final CompoundBinaryTag to = ENTITY.putFloat("Health", 3).put("Pos", ENTITY.getList("Pos").add(DoubleBinaryTag.of(9)));
+    final BinaryTagPatch patch = BinaryTagPatch.diff(ENTITY, to);
+    final ByteBuffer buffer = BinaryTagIO.writer().write(patch.asBinaryTag(), ByteBuffer.allocate(1024));
+    buffer.flip();
+    final BinaryTagPatch read = BinaryTagPatch.from(BinaryTagIO.reader().read(buffer));
+    assertEquals(patch, read);
+    assertEquals(to, read.apply(ENTITY));
+  }
+
+  @Test
+  void testPatchNotApplying() {
+    final BinaryTagPatch nested = BinaryTagPatch.diff(ENTITY, ENTITY.put("Brain", CompoundBinaryTag.builder().putInt("x", 1).build()));
+    assertThrows(IllegalArgumentException.class, () -> nested.apply(CompoundBinaryTag.empty()));
+    assertThrows(IllegalArgumentException.class, () -> nested.apply(ENTITY.putInt("Brain", 1)));
+
+    final BinaryTagPatch list = BinaryTagPatch.diff(ENTITY, ENTITY.put("Pos", ENTITY.getList("Pos").add(DoubleBinaryTag.of(0))));
+    assertThrows(IllegalArgumentException.class, () -> list.apply(ENTITY.put("Pos", ListBinaryTag.empty())));
+  }
+
+  private BinaryTagPatch assertPatches(final CompoundBinaryTag from, final CompoundBinaryTag to) {
+    final BinaryTagPatch patch = BinaryTagPatch.diff(from, to);
+    assertEquals(from.equals(to), patch.isEmpty());
+    assertEquals(to, patch.apply(from));
+    assertEquals(patch, BinaryTagPatch.from(patch.asBinaryTag()));
+    return patch;
+  }
+}
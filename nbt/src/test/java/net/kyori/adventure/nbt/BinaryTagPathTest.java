@@ -0,0 +1,147 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryTagPathTest {
+  private static final CompoundBinaryTag TAG = CompoundBinaryTag.builder()
+    .putInt("DataVersion", 2730)
+    .put("Inventory", ListBinaryTag.builder()
+      .add(item(0, "minecraft:stone", 64, null))
+      .add(item(1, "minecraft:diamond_sword", 1, CompoundBinaryTag.builder()
+        .put("display", CompoundBinaryTag.builder().putString("Name", "Sting").build())
+        .put("Enchantments", ListBinaryTag.builder()
+          .add(CompoundBinaryTag.builder().putString("id", "minecraft:sharpness").putShort("lvl", (short) 5).build())
+          .add(CompoundBinaryTag.builder().putString("id", "minecraft:unbreaking").putShort("lvl", (short) 3).build())
+          .build())
+        .build()))
+      .add(item(2, "minecraft:stone", 12, null))
+      .build())
+    .put("Pos", ListBinaryTag.builder().add(DoubleBinaryTag.of(1)).add(DoubleBinaryTag.of(64)).add(DoubleBinaryTag.of(-3)).build())
+    .put("Nested", ListBinaryTag.builder()
+      .add((BinaryTag) ListBinaryTag.builder().add(IntBinaryTag.of(1)).add(IntBinaryTag.of(2)).build())
+      .add((BinaryTag) ListBinaryTag.builder().add(IntBinaryTag.of(3)).add(IntBinaryTag.of(4)).build())
+      .build())
+    .put("odd.key", StringBinaryTag.of("quoted"))
+    .putLongArray("Heightmap", new long[] {1, 2, 3})
+    .build();
+
+  private static CompoundBinaryTag item(final int slot, final String id, final int count, final CompoundBinaryTag tag) {
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder()
+      .putByte("Slot", (byte) slot)
+      .putString("id", id)
+      .putByte("Count", (byte) count);
+    if (tag != null) {
+      builder.put("tag", tag);
+    }
+    return builder.build();
+  }
+
+  @Test
+  void testSelectKeysAndIndices() throws IOException {
+    this.assertSelected("DataVersion", IntBinaryTag.of(2730));
+    this.assertSelected("Inventory[1].tag.display.Name", StringBinaryTag.of("Sting"));
+    this.assertSelected("Inventory[-1].Count", ByteBinaryTag.of((byte) 12));
+    this.assertSelected("Pos[1]", DoubleBinaryTag.of(64));
+    this.assertSelected("Nested[1][0]", IntBinaryTag.of(3));
+    this.assertSelected("Nested[0][-1]", IntBinaryTag.of(2));
+    this.assertSelected("\"odd.key\"", StringBinaryTag.of("quoted"));
+    this.assertSelected("Heightmap", LongArrayBinaryTag.of(1, 2, 3));
+    this.assertSelected("Inventory[1].tag.Enchantments[1]", CompoundBinaryTag.builder().putString("id", "minecraft:unbreaking").putShort("lvl", (short) 3).build());
+    this.assertSelected("Inventory", TAG.get("Inventory"));
+  }
+
+  @Test
+  void testSelectNothing() throws IOException {
+    this.assertSelected("Missing");
+    this.assertSelected("Inventory[3]");
+    this.assertSelected("Inventory[-4]");
+    this.assertSelected("DataVersion.nope");
+    this.assertSelected("Pos.x");
+    this.assertSelected("Inventory[0].tag.display");
+    this.assertSelected("[0]");
+  }
+
+  @Test
+  void testSelectAllElements() throws IOException {
+    this.assertSelected("Inventory[].id", StringBinaryTag.of("minecraft:stone"), StringBinaryTag.of("minecraft:diamond_sword"), StringBinaryTag.of("minecraft:stone"));
+    this.assertSelected("Nested[][1]", IntBinaryTag.of(2), IntBinaryTag.of(4));
+    this.assertSelected("Inventory[].tag.Enchantments[].lvl", ShortBinaryTag.of((short) 5), ShortBinaryTag.of((short) 3));
+  }
+
+  @Test
+  void testSelectMatchingPatterns() throws IOException {
+    this.assertSelected("Inventory[{id:\"minecraft:stone\"}].Count", ByteBinaryTag.of((byte) 64), ByteBinaryTag.of((byte) 12));
+    this.assertSelected("Inventory[{tag:{Enchantments:[{id:\"minecraft:unbreaking\"}]}}].Slot", ByteBinaryTag.of((byte) 1));
+    this.assertSelected("Inventory[{tag:{Enchantments:[{id:\"minecraft:mending\"}]}}].Slot");
+    this.assertSelected("Inventory[1].tag{display:{Name:\"Sting\"}}.Enchantments[0].lvl", ShortBinaryTag.of((short) 5));
+    this.assertSelected("Inventory[1].tag{display:{Name:\"Glamdring\"}}.Enchantments[0].lvl");
+    this.assertSelected("{DataVersion:2730}.Pos[2]", DoubleBinaryTag.of(-3));
+    this.assertSelected("{DataVersion:2730b}.Pos[2]");
+    this.assertSelected("Inventory[{Count:12b}]", ((ListBinaryTag) TAG.get("Inventory")).get(2));
+  }
+
+  @Test
+  void testInvalidPaths() {
+    for (final String path : Arrays.asList("", "a.", "a..b", "a[", "a[x]", "a[0", "a.{b:1}", "a]", "\"a", "a[{b:1}")) {
+      assertThrows(IllegalArgumentException.class, () -> BinaryTagPath.compile(path), path);
+    }
+  }
+
+  @Test
+  void testStreamingHaltsAfterSingleTag() throws IOException {
+    final ByteBuffer buffer = write(TAG);
+    final List<BinaryTag> selected = new ArrayList<>();
+    BinaryTagIO.reader().visit(buffer, BinaryTagPath.compile("DataVersion").visitor(selected::add));
+    assertEquals(Collections.singletonList(IntBinaryTag.of(2730)), selected);
+    assertTrue(buffer.hasRemaining());
+  }
+
+  // selects from the tree and from binary input, which must agree
+  private void assertSelected(final String path, final BinaryTag... expected) throws IOException {
+    final BinaryTagPath compiled = BinaryTagPath.compile(path);
+    assertEquals(Arrays.asList(expected), compiled.select(TAG), path);
+
+    final List<BinaryTag> streamed = new ArrayList<>();
+    BinaryTagIO.reader().visit(write(TAG), compiled.visitor(streamed::add));
+    assertEquals(Arrays.asList(expected), streamed, path);
+  }
+
+  private static ByteBuffer write(final CompoundBinaryTag tag) throws IOException {
+    final ByteBuffer buffer = BinaryTagIO.writer().write(tag, ByteBuffer.allocate(4096));
+    buffer.flip();
+    return buffer;
+  }
+}
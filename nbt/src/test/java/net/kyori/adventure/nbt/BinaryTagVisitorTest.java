@@ -0,0 +1,183 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryTagVisitorTest {
+  private static final CompoundBinaryTag TAG = CompoundBinaryTag.builder()
+    .putInt("a", 1)
+    .put("nested", CompoundBinaryTag.builder()
+      .putString("b", "x")
+      .putLongArray("c", new long[]{1, 2})
+      .build())
+    .put("list", ListBinaryTag.builder()
+      .add(DoubleBinaryTag.of(1))
+      .add(DoubleBinaryTag.of(2))
+      .build())
+    .putByte("last", (byte) 7)
+    .build();
+
+  @Test
+  void testVisitAll() throws IOException {
+    final ByteBuffer buffer = write(TAG);
+    final Recorder recorder = new Recorder(event -> BinaryTagVisitor.Action.CONTINUE);
+    BinaryTagIO.reader().visit(buffer, recorder);
+    assertFalse(buffer.hasRemaining());
+    assertEquals(Arrays.asList("key  " + BinaryTagTypes.COMPOUND, "compoundStart"), recorder.events.subList(0, 2));
+    assertEquals("compoundEnd", recorder.events.get(recorder.events.size() - 1));
+    assertEquals(2, recorder.events.stream().filter("compoundStart"::equals).count());
+    assertEquals(2, recorder.events.stream().filter("compoundEnd"::equals).count());
+    assertTrue(recorder.events.contains("key a " + BinaryTagTypes.INT));
+    assertTrue(recorder.events.contains("int 1"));
+    assertTrue(recorder.events.contains("string x"));
+    assertTrue(recorder.events.contains("longArray [1, 2]"));
+    assertTrue(recorder.events.contains("listStart " + BinaryTagTypes.DOUBLE + " 2"));
+    assertTrue(recorder.events.contains("element 1"));
+    assertTrue(recorder.events.contains("double 2.0"));
+    assertTrue(recorder.events.contains("listEnd"));
+    assertTrue(recorder.events.contains("byte 7"));
+  }
+
+  @Test
+  void testVisitSkip() throws IOException {
+    final ByteBuffer buffer = write(TAG);
+    final Recorder recorder = new Recorder(event -> event.startsWith("key nested") || event.startsWith("listStart") ? BinaryTagVisitor.Action.SKIP : BinaryTagVisitor.Action.CONTINUE);
+    BinaryTagIO.reader().visit(buffer, recorder);
+    assertFalse(buffer.hasRemaining());
+    assertTrue(recorder.events.contains("int 1"));
+    assertTrue(recorder.events.contains("byte 7"));
+    assertFalse(recorder.events.contains("string x"));
+    assertFalse(recorder.events.contains("element 0"));
+    assertFalse(recorder.events.contains("listEnd"));
+    assertEquals(1, recorder.events.stream().filter("compoundStart"::equals).count());
+  }
+
+  @Test
+  void testVisitHalt() throws IOException {
+    final ByteBuffer buffer = write(TAG);
+    final Recorder recorder = new Recorder(event -> event.equals("compoundStart") ? BinaryTagVisitor.Action.HALT : BinaryTagVisitor.Action.CONTINUE);
+    BinaryTagIO.reader().visit(buffer, recorder);
+    assertEquals(Arrays.asList("key  " + BinaryTagTypes.COMPOUND, "compoundStart"), recorder.events);
+    assertEquals(3, buffer.position()); // type, empty name
+  }
+
+  @Test
+  void testVisitThroughOtherReader() throws IOException {
+    final Recorder expected = new Recorder(event -> event.startsWith("key nested") ? BinaryTagVisitor.Action.SKIP : BinaryTagVisitor.Action.CONTINUE);
+    BinaryTagIO.reader().visit(write(TAG), expected);
+
+    final ByteBuffer buffer = write(TAG);
+    final Recorder recorder = new Recorder(event -> event.startsWith("key nested") ? BinaryTagVisitor.Action.SKIP : BinaryTagVisitor.Action.CONTINUE);
+    new BinaryTagIOTest.ForwardingReader(BinaryTagIO.reader()).visit(buffer, recorder);
+    assertFalse(buffer.hasRemaining());
+    assertEquals(expected.events, recorder.events);
+  }
+
+  private static ByteBuffer write(final CompoundBinaryTag tag) throws IOException {
+    final ByteBuffer buffer = BinaryTagIO.writer().write(tag, ByteBuffer.allocate(0));
+    buffer.flip();
+    return buffer;
+  }
+
+  static final class Recorder implements BinaryTagVisitor {
+    final List<String> events = new ArrayList<>();
+    private final Function<String, Action> actions;
+
+    Recorder(final Function<String, Action> actions) {
+      this.actions = actions;
+    }
+
+    private @NotNull Action record(final String event) {
+      this.events.add(event);
+      return this.actions.apply(event);
+    }
+
+    @Override
+    public @NotNull Action visitKey(final @NotNull String key, final @NotNull BinaryTagType<? extends BinaryTag> type) {
+      return this.record("key " + key + " " + type);
+    }
+
+    @Override
+    public @NotNull Action visitCompoundStart() {
+      return this.record("compoundStart");
+    }
+
+    @Override
+    public @NotNull Action visitCompoundEnd() {
+      return this.record("compoundEnd");
+    }
+
+    @Override
+    public @NotNull Action visitListStart(final @NotNull BinaryTagType<? extends BinaryTag> elementType, final int size) {
+      return this.record("listStart " + elementType + " " + size);
+    }
+
+    @Override
+    public @NotNull Action visitListElement(final int index, final @NotNull BinaryTagType<? extends BinaryTag> type) {
+      return this.record("element " + index);
+    }
+
+    @Override
+    public @NotNull Action visitListEnd() {
+      return this.record("listEnd");
+    }
+
+    @Override
+    public @NotNull Action visitByte(final byte value) {
+      return this.record("byte " + value);
+    }
+
+    @Override
+    public @NotNull Action visitInt(final int value) {
+      return this.record("int " + value);
+    }
+
+    @Override
+    public @NotNull Action visitDouble(final double value) {
+      return this.record("double " + value);
+    }
+
+    @Override
+    public @NotNull Action visitString(final @NotNull String value) {
+      return this.record("string " + value);
+    }
+
+    @Override
+    public @NotNull Action visitLongArray(final long@NotNull[] value) {
+      return this.record("longArray " + Arrays.toString(value));
+    }
+  }
+}
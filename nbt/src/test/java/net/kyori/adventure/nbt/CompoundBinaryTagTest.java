@@ -0,0 +1,245 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompoundBinaryTagTest {
+  // "Aa" and "BB" have the same hash, so these all collide
+  private static final String[] COLLIDING = {"AaAa", "AaBB", "BBAa", "BBBB"};
+
+  @Test
+  void testEditsMatchMap() {
+    final Random random = new Random(0);
+    final List<String> keys = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      keys.add("key" + i);
+    }
+    for (final String key : COLLIDING) {
+      keys.add(key);
+    }
+
+    final Map<String, BinaryTag> expected = new HashMap<>();
+    CompoundBinaryTag tag = CompoundBinaryTag.empty();
+    for (int i = 0; i < 5000; i++) {
+      final String key = keys.get(random.nextInt(keys.size()));
+      if (random.nextInt(3) == 0) {
+        final BinaryTag removed = expected.remove(key);
+        final List<BinaryTag> reported = new ArrayList<>();
+        tag = tag.remove(key, reported::add);
+        assertEquals(removed == null ? 0 : 1, reported.size());
+      } else {
+        final BinaryTag value = IntBinaryTag.of(random.nextInt(2000));
+        expected.put(key, value);
+        tag = tag.put(key, value);
+      }
+      if (i % 250 == 0) {
+        assertContents(expected, tag);
+      }
+    }
+    assertContents(expected, tag);
+  }
+
+  @Test
+  void testEditsShareStructure() {
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+    for (int i = 0; i < 200; i++) {
+      builder.putInt("key" + i, i);
+    }
+    final CompoundBinaryTag original = builder.build();
+    final CompoundBinaryTag edited = original.putInt("key0", -1).putString("extra", "value").remove("key1");
+    assertEquals(0, original.getInt("key0"));
+    assertEquals(1, original.getInt("key1"));
+    assertNull(original.get("extra"));
+    assertEquals(-1, edited.getInt("key0"));
+    assertNull(edited.get("key1"));
+    assertEquals(200, edited.keySet().size());
+
+    final CompoundBinaryTag restored = edited.putInt("key0", 0).putInt("key1", 1).remove("extra");
+    assertEquals(original, restored);
+    assertEquals(restored, original);
+    assertEquals(original.hashCode(), restored.hashCode());
+    assertSame(restored, restored.remove("missing"));
+  }
+
+  @Test
+  void testBuilderReusedAfterBuild() {
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder(2).putInt("a", 1).putInt("b", 2);
+    final CompoundBinaryTag first = builder.build();
+    final CompoundBinaryTag second = builder.putInt("a", -1).remove("b").putInt("c", 3).build();
+    final CompoundBinaryTag third = builder.remove("c").build();
+    assertEquals(CompoundBinaryTag.builder().putInt("a", 1).putInt("b", 2).build(), first);
+    assertEquals(CompoundBinaryTag.builder().putInt("a", -1).putInt("c", 3).build(), second);
+    assertEquals(CompoundBinaryTag.builder().putInt("a", -1).build(), third);
+    assertThrows(IllegalArgumentException.class, () -> CompoundBinaryTag.builder(-1));
+    // a size hint is followed exactly, even when small
+    assertEquals(1, CompoundTagBuilder.capacity(0));
+    assertEquals(3, CompoundTagBuilder.capacity(2));
+    assertEquals(CompoundBinaryTag.builder().putInt("a", 1).build(), CompoundBinaryTag.builder(0).putInt("a", 1).build());
+  }
+
+  @Test
+  void testCollisions() {
+    CompoundBinaryTag tag = CompoundBinaryTag.empty();
+    for (final String key : COLLIDING) {
+      tag = tag.putString(key, key);
+    }
+    for (final String key : COLLIDING) {
+      assertEquals(key, tag.getString(key));
+    }
+    for (final String key : COLLIDING) {
+      tag = tag.remove(key);
+      assertNull(tag.get(key));
+    }
+    assertEquals(CompoundBinaryTag.empty(), tag);
+
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder().putInt("other", 0);
+    for (final String key : COLLIDING) {
+      builder.putString(key, key);
+    }
+    tag = builder.build().remove("AaBB").putString("BBBB", "edited");
+    assertNull(tag.get("AaBB"));
+    assertEquals("AaAa", tag.getString("AaAa"));
+    assertEquals("edited", tag.getString("BBBB"));
+    assertEquals(4, tag.keySet().size());
+  }
+
+  private static void assertContents(final Map<String, BinaryTag> expected, final CompoundBinaryTag tag) {
+    assertEquals(expected.keySet(), tag.keySet());
+    final Set<String> iterated = new HashSet<>();
+    for (final Map.Entry<String, ? extends BinaryTag> entry : tag) {
+      assertEquals(expected.get(entry.getKey()), entry.getValue());
+      iterated.add(entry.getKey());
+    }
+    assertEquals(expected.keySet(), iterated);
+    for (final Map.Entry<String, BinaryTag> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), tag.get(entry.getKey()));
+    }
+    assertEquals(CompoundBinaryTag.from(expected), tag);
+    assertEquals(CompoundBinaryTag.from(expected).hashCode(), tag.hashCode());
+  }
+
+  @Test
+  void testFingerprint() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("id", "minecraft:diamond_sword")
+      .putByte("Count", (byte) 1)
+      .put("tag", CompoundBinaryTag.builder().putInt("Damage", 3).putIntArray("ids", new int[] {1, 2, 3}).build())
+      .build();
+    final CompoundBinaryTag reordered = CompoundBinaryTag.builder()
+      .put("tag", CompoundBinaryTag.builder().putIntArray("ids", new int[] {1, 2, 3}).putInt("Damage", 3).build())
+      .putByte("Count", (byte) 1)
+      .putString("id", "minecraft:diamond_sword")
+      .build();
+    final ByteBuffer buffer = BinaryTagIO.writer().write(tag, ByteBuffer.allocate(256));
+    buffer.flip();
+    final CompoundBinaryTag lazy = BinaryTagIO.Reader.builder().lazy(true).build().read(buffer);
+
+    assertEquals(tag.fingerprint(), reordered.fingerprint());
+    assertEquals(tag.fingerprint(), lazy.fingerprint());
+    assertEquals(tag.fingerprint(), tag.put("tag", CompoundBinaryTag.builder().put(tag.getCompound("tag")).build()).fingerprint());
+    assertEquals(tag, reordered); // equal fingerprints still compare contents
+
+    final Set<Long> fingerprints = new HashSet<>();
+    fingerprints.add(tag.fingerprint());
+    fingerprints.add(tag.putByte("Count", (byte) 2).fingerprint());
+    fingerprints.add(tag.putInt("Count", 1).fingerprint());
+    fingerprints.add(tag.remove("Count").fingerprint());
+    fingerprints.add(tag.put("tag", tag.getCompound("tag").putIntArray("ids", new int[] {1, 3, 2})).fingerprint());
+    fingerprints.add(tag.putString("id", "minecraft:diamond_swore").fingerprint());
+    fingerprints.add(CompoundBinaryTag.empty().fingerprint());
+    assertEquals(7, fingerprints.size());
+
+    final CompoundBinaryTag changed = tag.putByte("Count", (byte) 2);
+    changed.fingerprint();
+    assertNotEquals(tag, changed);
+  }
+
+  @Test
+  void testFingerprintOfCraftedTags() {
+    // a last element solved to collide with [L;1L,2L] under an unkeyed linear fold of the elements
+    final long seed = mix(GOLDEN * (BinaryTagTypes.LONG_ARRAY.id() + 1));
+    final long solved = (linearFold(seed, 1L) ^ linearFold(seed, 42L) ^ 2L * GOLDEN) * inverse(GOLDEN);
+    assertEquals(linearFold(linearFold(seed, 1L), 2L), linearFold(linearFold(seed, 42L), solved));
+    final CompoundBinaryTag first = CompoundBinaryTag.builder().putLongArray("v", new long[] {1L, 2L}).build();
+    final CompoundBinaryTag second = CompoundBinaryTag.builder().putLongArray("v", new long[] {42L, solved}).build();
+    assertNotEquals(first, second);
+    assertNotEquals(first.fingerprint(), second.fingerprint());
+
+    // contents that line up when packed into words
+    assertNotEquals(IntArrayBinaryTag.of(0, 1).fingerprint(), IntArrayBinaryTag.of(1).fingerprint());
+    assertNotEquals(StringBinaryTag.of("\0a").fingerprint(), StringBinaryTag.of("a").fingerprint());
+    assertNotEquals(ByteArrayBinaryTag.of((byte) 0, (byte) 1).fingerprint(), ByteArrayBinaryTag.of((byte) 1).fingerprint());
+    assertNotEquals(LongArrayBinaryTag.of(1L).fingerprint(), ListBinaryTag.builder().add(LongBinaryTag.of(1L)).build().fingerprint());
+
+    // entries that trade values, and strings with equal hash codes
+    assertNotEquals(
+      CompoundBinaryTag.builder().putInt("a", 1).putInt("b", 2).build().fingerprint(),
+      CompoundBinaryTag.builder().putInt("a", 2).putInt("b", 1).build().fingerprint()
+    );
+    final Set<Long> fingerprints = new HashSet<>();
+    for (final String value : COLLIDING) {
+      fingerprints.add(CompoundBinaryTag.builder().putString("name", value).build().fingerprint());
+      fingerprints.add(CompoundBinaryTag.builder().putString(value, "name").build().fingerprint());
+    }
+    assertEquals(2 * COLLIDING.length, fingerprints.size());
+  }
+
+  private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+  private static long linearFold(final long hash, final long value) {
+    return Long.rotateLeft(hash ^ value * GOLDEN, 31) * 0xbf58476d1ce4e5b9L + GOLDEN;
+  }
+
+  private static long mix(final long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  // the inverse of an odd number modulo 2^64, by Newton's method
+  private static long inverse(final long value) {
+    long inverse = value;
+    for (int i = 0; i < 5; i++) {
+      inverse *= 2 - value * inverse;
+    }
+    return inverse;
+  }
+}
@@ -24,9 +24,19 @@
 package net.kyori.adventure.nbt;
 
 import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ListBinaryTagTest {
@@ -94,4 +104,151 @@ class ListBinaryTagTest {
     assertEquals(i1, l3.get(1));
     assertEquals(i2, l3.get(2));
   }
+
+  @Test
+  void testBuilderReusedAfterBuild() {
+    final ListBinaryTag.Builder<StringBinaryTag> builder = ListBinaryTag.builder(BinaryTagTypes.STRING, 2).add(StringBinaryTag.of("a"));
+    final ListBinaryTag first = builder.build();
+    final ListBinaryTag second = builder.add(StringBinaryTag.of("b")).build();
+    assertEquals(1, first.size());
+    assertEquals(2, second.size());
+    assertEquals("a", second.getString(0));
+    assertEquals("b", second.getString(1));
+    assertEquals(ListBinaryTag.from(ImmutableList.of(StringBinaryTag.of("a"), StringBinaryTag.of("b"))), second);
+    assertThrows(IllegalArgumentException.class, () -> ListBinaryTag.builder(-1));
+    assertThrows(IllegalArgumentException.class, () -> ListBinaryTag.builder(BinaryTagTypes.END, 1));
+  }
+
+  @Test
+  void testNumericEquality() {
+    final List<BinaryTag> tags = ImmutableList.of(DoubleBinaryTag.of(1.5), DoubleBinaryTag.of(Double.NaN), DoubleBinaryTag.of(-0d));
+    final ListBinaryTag l0 = ListBinaryTag.of(BinaryTagTypes.DOUBLE, tags);
+    final ListBinaryTag l1 = ListBinaryTag.builder().add(DoubleBinaryTag.of(1.5)).add(DoubleBinaryTag.of(Double.NaN)).add(DoubleBinaryTag.of(-0d)).build();
+    assertEquals(l0, l1);
+    assertEquals(tags.hashCode(), l0.hashCode());
+    assertEquals(tags, l0.stream().collect(Collectors.toList()));
+    assertNotEquals(l0, l0.set(2, DoubleBinaryTag.of(0d), null));
+    assertEquals(l0.fingerprint(), l1.fingerprint());
+    assertNotEquals(l0.fingerprint(), l0.set(2, DoubleBinaryTag.of(0d), null).fingerprint());
+    assertEquals(ListBinaryTag.empty().fingerprint(), ListBinaryTag.builder(BinaryTagTypes.INT).build().fingerprint());
+  }
+
+  @Test
+  void testNumericRoundTrip() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .put("bytes", ListBinaryTag.builder().add(ByteBinaryTag.of((byte) -1)).add(ByteBinaryTag.of((byte) 2)).build())
+      .put("shorts", ListBinaryTag.builder().add(ShortBinaryTag.of((short) -1)).add(ShortBinaryTag.of((short) 2)).build())
+      .put("ints", ListBinaryTag.builder().add(IntBinaryTag.of(-1)).add(IntBinaryTag.of(2)).build())
+      .put("longs", ListBinaryTag.builder().add(LongBinaryTag.of(-1)).add(LongBinaryTag.of(2)).build())
+      .put("floats", ListBinaryTag.builder().add(FloatBinaryTag.of(-1)).add(FloatBinaryTag.of(2)).build())
+      .put("doubles", ListBinaryTag.builder().add(DoubleBinaryTag.of(-1)).add(DoubleBinaryTag.of(2)).build())
+      .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    assertEquals(tag, BinaryTagIO.reader().read(new ByteArrayInputStream(output.toByteArray())));
+    assertEquals(output.size(), BinaryTagIO.writer().size(tag));
+
+    final ByteBuffer buffer = BinaryTagIO.writer().write(tag, ByteBuffer.allocateDirect(output.size()));
+    buffer.flip();
+    assertEquals(tag, BinaryTagIO.reader().read(buffer));
+  }
+
+  @Test
+  void testMixedNumericTypes() {
+    final ListBinaryTag l0 = ListBinaryTag.of(BinaryTagTypes.INT, ImmutableList.of(IntBinaryTag.of(1), DoubleBinaryTag.of(2)));
+    assertEquals(DoubleBinaryTag.of(2), l0.get(1));
+  }
+
+  @Test
+  void testEditsMatchList() {
+    final Random random = new Random(0);
+    final List<BinaryTag> expected = new ArrayList<>();
+    ListBinaryTag tag = ListBinaryTag.empty();
+    for (int i = 0; i < 3000; i++) {
+      final int operation = random.nextInt(10);
+      if (operation < 6 || expected.isEmpty()) {
+        final BinaryTag element = StringBinaryTag.of("element " + i);
+        expected.add(element);
+        tag = tag.add(element);
+      } else if (operation < 8) {
+        final int index = random.nextInt(expected.size());
+        final BinaryTag element = StringBinaryTag.of("set " + i);
+        final List<BinaryTag> removed = new ArrayList<>();
+        assertEquals(expected.set(index, element), tag.get(index));
+        tag = tag.set(index, element, removed::add);
+        assertEquals(1, removed.size());
+      } else {
+        // mostly from the end, where it is cheap
+        final int index = operation == 8 ? expected.size() - 1 : random.nextInt(expected.size());
+        expected.remove(index);
+        tag = tag.remove(index, null);
+      }
+      if (i % 100 == 0) {
+        assertContents(expected, tag);
+      }
+    }
+    assertContents(expected, tag);
+
+    // shrinking back past the boundaries between arrays
+    while (!expected.isEmpty()) {
+      expected.remove(expected.size() - 1);
+      tag = tag.remove(tag.size() - 1, null);
+      if (expected.size() % 31 == 0) {
+        assertContents(expected, tag);
+      }
+    }
+    assertEquals(ListBinaryTag.empty(), tag);
+  }
+
+  @Test
+  void testEditsOfNumericList() {
+    final ListBinaryTag.Builder<IntBinaryTag> builder = ListBinaryTag.builder(BinaryTagTypes.INT);
+    for (int i = 0; i < 100; i++) {
+      builder.add(IntBinaryTag.of(i));
+    }
+    final ListBinaryTag original = builder.build();
+    final ListBinaryTag edited = original.add(IntBinaryTag.of(100)).add(IntBinaryTag.of(101)).set(0, IntBinaryTag.of(-1), null);
+    assertEquals(100, original.size());
+    assertEquals(0, original.getInt(0));
+    assertEquals(102, edited.size());
+    assertEquals(-1, edited.getInt(0));
+    assertEquals(101, edited.getInt(101));
+    assertEquals(original, edited.remove(101, null).remove(100, null).set(0, IntBinaryTag.of(0), null));
+    assertThrows(IndexOutOfBoundsException.class, () -> edited.set(102, IntBinaryTag.of(0), null));
+    assertThrows(IllegalArgumentException.class, () -> edited.add(StringBinaryTag.of("not an int")));
+  }
+
+  @Test
+  void testWriteEditedNumericList() throws IOException {
+    final ListBinaryTag.Builder<IntBinaryTag> builder = ListBinaryTag.builder(BinaryTagTypes.INT);
+    for (int i = 0; i < 100; i++) {
+      builder.add(IntBinaryTag.of(i));
+    }
+    final ListBinaryTag edited = builder.build().set(0, IntBinaryTag.of(-1), null).set(1, IntBinaryTag.of(-2), null);
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder().put("ints", edited).build();
+    final CompoundBinaryTag built = CompoundBinaryTag.builder().put("ints", ListBinaryTag.from(edited.stream().collect(Collectors.toList()))).build();
+    final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(built, expected);
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    assertArrayEquals(expected.toByteArray(), output.toByteArray());
+    assertEquals(output.size(), BinaryTagIO.writer().size(tag));
+    // written twice, from the packed elements
+    output.reset();
+    BinaryTagIO.writer().write(tag, output);
+    assertArrayEquals(expected.toByteArray(), output.toByteArray());
+  }
+
+  private static void assertContents(final List<BinaryTag> expected, final ListBinaryTag tag) {
+    assertEquals(expected.size(), tag.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i), tag.get(i));
+    }
+    assertEquals(expected, tag.stream().collect(Collectors.toList()));
+    final List<BinaryTag> iterated = new ArrayList<>();
+    tag.forEach(iterated::add);
+    assertEquals(expected, iterated);
+    assertEquals(ListBinaryTag.from(expected), tag);
+    assertEquals(ListBinaryTag.from(expected).hashCode(), tag.hashCode());
+  }
 }
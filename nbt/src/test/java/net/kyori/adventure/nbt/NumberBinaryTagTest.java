@@ -0,0 +1,61 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class NumberBinaryTagTest {
+  @Test
+  void testByteValues() {
+    assertSame(ByteBinaryTag.ZERO, ByteBinaryTag.of((byte) 0));
+    assertSame(ByteBinaryTag.ONE, ByteBinaryTag.of((byte) 1));
+    for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+      assertEquals((byte) i, ByteBinaryTag.of((byte) i).value());
+      assertSame(ByteBinaryTag.of((byte) i), ByteBinaryTag.of((byte) i));
+    }
+  }
+
+  @Test
+  void testSmallValuesShared() {
+    assertSame(ShortBinaryTag.of((short) -128), ShortBinaryTag.of((short) -128));
+    assertSame(IntBinaryTag.of(1023), IntBinaryTag.of(1023));
+    assertSame(LongBinaryTag.of(64), LongBinaryTag.of(64));
+  }
+
+  @Test
+  void testValues() {
+    for (int i = -200; i <= 1100; i++) {
+      assertEquals((short) i, ShortBinaryTag.of((short) i).value());
+      assertEquals(i, IntBinaryTag.of(i).value());
+      assertEquals(i, LongBinaryTag.of(i).value());
+    }
+    assertEquals(Short.MIN_VALUE, ShortBinaryTag.of(Short.MIN_VALUE).value());
+    assertEquals(Integer.MAX_VALUE, IntBinaryTag.of(Integer.MAX_VALUE).value());
+    assertEquals(Long.MIN_VALUE, LongBinaryTag.of(Long.MIN_VALUE).value());
+    assertEquals(IntBinaryTag.of(2000), IntBinaryTag.of(2000));
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DeflaterOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionFileTest {
+  private Path path;
+
+  @BeforeEach
+  void createFile() throws IOException {
+    this.path = Files.createTempFile("r.0.0", ".mca");
+    Files.delete(this.path);
+  }
+
+  @AfterEach
+  void deleteFile() throws IOException {
+    Files.deleteIfExists(this.path);
+  }
+
+  @Test
+  void testWriteAndRead() throws IOException {
+    final CompoundBinaryTag a = chunk(0, 10);
+    final CompoundBinaryTag b = chunk(1, 10);
+    final CompoundBinaryTag c = chunk(2, 10);
+    try(final RegionFile region = RegionFile.open(this.path)) {
+      assertFalse(region.contains(0, 0));
+      assertNull(region.read(0, 0));
+      region.write(0, 0, a);
+      region.write(31, 31, b, BinaryTagIO.Compression.GZIP);
+      region.write(5, 7, c, BinaryTagIO.Compression.NONE);
+      assertEquals(a, region.read(0, 0));
+      assertEquals(b, region.read(-1, -1)); // world coordinates are taken modulo 32
+      assertEquals(c, region.read(5, 7));
+      assertTrue(region.timestamp(0, 0) > 0);
+      assertEquals(0, region.timestamp(1, 0));
+    }
+    assertEquals(0, Files.size(this.path) % RegionFile.SECTOR_SIZE);
+
+    try(final RegionFile region = RegionFile.openReadOnly(this.path)) {
+      assertEquals(a, region.read(0, 0));
+      assertEquals(b, region.read(31, 31));
+      assertEquals(c, region.read(5, 7));
+      assertThrows(IOException.class, () -> region.write(1, 1, a));
+      assertThrows(IOException.class, () -> region.remove(0, 0));
+    }
+
+    try(final RegionFile region = RegionFile.open(this.path)) {
+      region.remove(0, 0);
+      assertFalse(region.contains(0, 0));
+      assertNull(region.read(0, 0));
+      assertEquals(0, region.timestamp(0, 0));
+    }
+    try(final RegionFile region = RegionFile.open(this.path)) {
+      assertFalse(region.contains(0, 0));
+      assertEquals(b, region.read(31, 31));
+    }
+  }
+
+  @Test
+  void testSectorsAreReused() throws IOException {
+    try(final RegionFile region = RegionFile.open(this.path)) {
+      region.write(0, 0, chunk(0, 4000), BinaryTagIO.Compression.NONE);
+      region.write(1, 0, chunk(1, 10));
+      final long size = Files.size(this.path);
+      // the new version is written before the old one is freed, so it takes new sectors once
+      region.write(0, 0, chunk(2, 4000), BinaryTagIO.Compression.NONE);
+      final long grown = Files.size(this.path);
+      assertTrue(grown > size);
+      for (int i = 0; i < 10; i++) {
+        region.write(0, 0, chunk(3 + i, 4000), BinaryTagIO.Compression.NONE);
+      }
+      assertEquals(grown, Files.size(this.path));
+      region.remove(0, 0);
+      region.write(2, 0, chunk(20, 10));
+      assertEquals(grown, Files.size(this.path));
+      assertEquals(chunk(1, 10), region.read(1, 0));
+      assertEquals(chunk(20, 10), region.read(2, 0));
+    }
+  }
+
+  @Test
+  void testReadWrittenByOthers() throws IOException {
+    final CompoundBinaryTag tag = chunk(0, 100);
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try(final DeflaterOutputStream os = new DeflaterOutputStream(compressed)) {
+      BinaryTagIO.writer().write(tag, os);
+    }
+    final ByteArrayOutputStream file = new ByteArrayOutputStream();
+    final DataOutputStream output = new DataOutputStream(file);
+    final int index = 3 + 4 * 32;
+    for (int i = 0; i < 1024; i++) {
+      output.writeInt(i == index ? 2 << 8 | 1 : 0);
+    }
+    for (int i = 0; i < 1024; i++) {
+      output.writeInt(i == index ? 1234 : 0);
+    }
+    output.writeInt(compressed.size() + 1);
+    output.writeByte(2);
+    output.write(compressed.toByteArray());
+    Files.write(this.path, file.toByteArray()); // not padded to a whole sector
+
+    try(final RegionFile region = RegionFile.openReadOnly(this.path)) {
+      assertEquals(tag, region.read(3, 4));
+      assertEquals(1234, region.timestamp(3, 4));
+      assertFalse(region.contains(4, 3));
+    }
+  }
+
+  @Test
+  void testReadAll() throws Exception {
+    final Map<Integer, CompoundBinaryTag> expected = new HashMap<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try(final RegionFile region = RegionFile.open(this.path)) {
+      for (int i = 0; i < 100; i++) {
+        final int x = i * 7 % 32;
+        final int z = i * 13 % 32;
+        final CompoundBinaryTag tag = chunk(i, 50);
+        region.write(x, z, tag);
+        expected.put(x + z * 32, tag);
+      }
+      final Map<Integer, CompoundBinaryTag> read = new ConcurrentHashMap<>();
+      region.readAll(BinaryTagIO.unlimitedReader(), executor, (x, z, tag) -> read.put(x + z * 32, tag)).get();
+      assertEquals(expected, read);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testMalformedHeader() throws IOException {
+    Files.write(this.path, new byte[100]);
+    assertThrows(IOException.class, () -> RegionFile.open(this.path));
+  }
+
+  private static CompoundBinaryTag chunk(final int seed, final int size) {
+    final long[] states = new long[size];
+    for (int i = 0; i < size; i++) {
+      states[i] = seed * 31L + i;
+    }
+    return CompoundBinaryTag.builder()
+      .putInt("xPos", seed)
+      .putLongArray("BlockStates", states)
+      .build();
+  }
+}
@@ -23,12 +23,19 @@
  */
 package net.kyori.adventure.nbt;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.io.Resources;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
@@ -100,6 +107,74 @@ class StringIOTest {
 
   }
 
+  @Test
+  void testTranscodeBigTest() throws IOException {
+    final byte[] binary;
+    try(final InputStream is = this.getClass().getResourceAsStream("/bigtest.nbt")) {
+      binary = ByteStreams.toByteArray(BinaryTagIO.Compression.GZIP.decompress(is));
+    }
+    final CompoundBinaryTag bigTest = BinaryTagIO.reader().read(ByteBuffer.wrap(binary));
+
+    for (final TagStringIO io : new TagStringIO[] {TagStringIO.get(), TagStringIO.builder().indent(4).build()}) {
+      final StringBuilder transcoded = new StringBuilder();
+      BinaryTagIO.reader().visit(ByteBuffer.wrap(binary), io.visitor(transcoded));
+      // entries are written in the order they are read, rather than the order of the tree
+      assertEquals(io.asString(bigTest).length(), transcoded.length());
+      assertEquals(bigTest, io.asCompound(transcoded.toString()));
+
+      final byte[] back = io.asBinary(transcoded.toString());
+      assertEquals(bigTest, BinaryTagIO.reader().read(ByteBuffer.wrap(back)));
+    }
+
+    // legacy output has no byte arrays, and the failure to write one surfaces unchecked
+    assertThrows(UncheckedIOException.class, () -> BinaryTagIO.reader().visit(ByteBuffer.wrap(binary), TagStringIO.builder().emitLegacy(true).build().visitor(new StringBuilder())));
+
+    final String snbt = TagStringIO.get().asString(bigTest);
+    final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(TagStringIO.get().asCompound(snbt), (DataOutput) new DataOutputStream(expected));
+    final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    TagStringIO.get().toBinary(snbt, new DataOutputStream(actual));
+    assertEquals(expected.size(), actual.size());
+    assertEquals(bigTest, BinaryTagIO.reader().read(new ByteArrayInputStream(actual.toByteArray())));
+  }
+
+  @Test
+  void testTranscodeToBinary() throws IOException {
+    final String input = "{list:[{a:1b},{}],empty:[],legacy:[0:\"x\",1:y],bytes:[B;1b,2b],nested:{deeper:{l:[L;3l]}},s:'q\"'}";
+    final byte[] binary = TagStringIO.get().asBinary(input);
+    assertEquals(TagStringIO.get().asCompound(input), BinaryTagIO.reader().read(ByteBuffer.wrap(binary)));
+
+    assertThrows(IOException.class, () -> TagStringIO.get().asBinary("{a:[1,2b]}"));
+    assertThrows(IOException.class, () -> TagStringIO.get().asBinary("{a:1} trailing"));
+    assertThrows(IOException.class, () -> TagStringIO.get().asBinary("{a:[1,2"));
+  }
+
+  @Test
+  void testWriteToAppendable() throws IOException {
+    this.assertWritten("-3b", ByteBinaryTag.of((byte) -3));
+    this.assertWritten("300s", ShortBinaryTag.of((short) 300));
+    this.assertWritten("-2147483648", IntBinaryTag.of(Integer.MIN_VALUE));
+    this.assertWritten("9223372036854775807L", LongBinaryTag.of(Long.MAX_VALUE));
+    this.assertWritten("1.5E-7f", FloatBinaryTag.of(1.5e-7f));
+    this.assertWritten("-0.1d", DoubleBinaryTag.of(-0.1d));
+    this.assertWritten("\"say \\\"hi\\\" \\\\o/\"", StringBinaryTag.of("say \"hi\" \\o/"));
+    this.assertWritten("[B;1B,-2B,3B]", ByteArrayBinaryTag.of((byte) 1, (byte) -2, (byte) 3));
+    this.assertWritten("[I;4,-5,6]", IntArrayBinaryTag.of(4, -5, 6));
+    this.assertWritten("[L;7l,-8l,9l]", LongArrayBinaryTag.of(7, -8, 9));
+
+    final String pretty = TagStringIO.builder().indent(1).build().asString(CompoundBinaryTag.builder().putIntArray("ints", new int[] {1, 2}).build());
+    assertEquals("{" + Tokens.NEWLINE + " ints: [I; 1, 2]" + Tokens.NEWLINE + "}", pretty);
+  }
+
+  private void assertWritten(final String expected, final BinaryTag tag) throws IOException {
+    final CompoundBinaryTag compound = CompoundBinaryTag.builder().put("a", tag).build();
+    assertEquals("{a:" + expected + "}", TagStringIO.get().asString(compound));
+    final StringBuilder builder = new StringBuilder("tag=");
+    TagStringIO.get().toAppendable(compound, builder);
+    assertEquals("tag={a:" + expected + "}", builder.toString());
+    assertEquals(expected, this.tagToString(tag));
+  }
+
   @Test
   void testStringTag() throws IOException {
     final StringBinaryTag basic = StringBinaryTag.of("hello");
@@ -119,6 +194,11 @@ class StringIOTest {
 
     // something vaguely like a number
     assertEquals(StringBinaryTag.of("1.33.28d"), this.stringToTag("1.33.28d"));
+
+    // escapes
+    assertEquals(StringBinaryTag.of("say \"hi\""), this.stringToTag("\"say \\\"hi\\\"\""));
+    assertEquals(StringBinaryTag.of("it's \\"), this.stringToTag("'it\\'s \\\\'"));
+    assertEquals(CompoundBinaryTag.builder().putString("a:b", "c").build(), this.stringToTag("{\"a:b\": c}"));
   }
 
   private static final String UNICODE_TEST = "test ä ö";
@@ -199,6 +279,33 @@ class StringIOTest {
     assertEquals(DoubleBinaryTag.of(-9.5), this.stringToTag("-9.5"));
   }
 
+  @Test
+  void testNumberEdgeCases() throws IOException {
+    assertEquals(IntBinaryTag.of(Integer.MIN_VALUE), this.stringToTag("-2147483648"));
+    assertEquals(DoubleBinaryTag.of(2147483648d), this.stringToTag("2147483648"));
+    assertEquals(DoubleBinaryTag.of(1e20), this.stringToTag("100000000000000000000"));
+    assertEquals(LongBinaryTag.of(Long.MIN_VALUE), this.stringToTag("-9223372036854775808L"));
+    assertEquals(StringBinaryTag.of("9223372036854775808L"), this.stringToTag("9223372036854775808L"));
+    assertEquals(ByteBinaryTag.of((byte) -128), this.stringToTag("-128b"));
+    assertEquals(StringBinaryTag.of("128b"), this.stringToTag("128b"));
+    assertEquals(StringBinaryTag.of("1e5b"), this.stringToTag("1e5b"));
+    assertEquals(DoubleBinaryTag.of(1e-5), this.stringToTag("1E-5"));
+    assertEquals(FloatBinaryTag.of(5f), this.stringToTag("5f"));
+    assertEquals(IntBinaryTag.of(7), this.stringToTag("007"));
+
+    // not numbers
+    assertEquals(StringBinaryTag.of("-"), this.stringToTag("-"));
+    assertEquals(StringBinaryTag.of("."), this.stringToTag("."));
+    assertEquals(StringBinaryTag.of("1e"), this.stringToTag("1e"));
+    assertEquals(StringBinaryTag.of("1-2"), this.stringToTag("1-2"));
+    assertEquals(StringBinaryTag.of("1e5e5"), this.stringToTag("1e5e5"));
+    assertEquals(StringBinaryTag.of("12ab"), this.stringToTag("12ab"));
+    assertEquals(StringBinaryTag.of("e5"), this.stringToTag("e5"));
+    assertEquals(StringBinaryTag.of("b"), this.stringToTag("b"));
+    assertEquals(StringBinaryTag.of("1a"), this.stringToTag("1\\a"));
+    assertEquals(CompoundBinaryTag.builder().putString("a", "1-").putDouble("b", 2.5).build(), this.stringToTag("{a:1-,b:2.5}"));
+  }
+
   @Test
   void testByteArrayTag() throws IOException {
     assertEquals("[B;1B,2B,3B]", this.tagToString(ByteArrayBinaryTag.of((byte) 1, (byte) 2, (byte) 3)));
@@ -0,0 +1,99 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2021 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.text.serializer.legacy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import net.kyori.adventure.text.TextComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures serializing and deserializing the lines of {@code legacy.txt}: chat messages, scoreboard
+ * lines, item lore and server list messages.
+ *
+ * <p>{@code extractUrls} also turns links into components with a click event.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegacyComponentSerializerBenchmark {
+  @Param({"legacySection", "extractUrls"})
+  private String serializer;
+  private LegacyComponentSerializer instance;
+  private List<String> legacy;
+  private List<TextComponent> components;
+
+  @Setup
+  public void setup() {
+    this.instance = this.serializer.equals("legacySection") ? LegacyComponentSerializer.legacySection() : LegacyComponentSerializer.builder().extractUrls().build();
+    this.legacy = corpus();
+    this.components = new ArrayList<>(this.legacy.size());
+    for (final String input : this.legacy) {
+      this.components.add(this.instance.deserialize(input));
+    }
+  }
+
+  private static List<String> corpus() {
+    try (final BufferedReader reader = new BufferedReader(new InputStreamReader(LegacyComponentSerializerBenchmark.class.getResourceAsStream("legacy.txt"), StandardCharsets.UTF_8))) {
+      return reader.lines().filter(line -> !line.isEmpty()).collect(Collectors.toList());
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Benchmark
+  public void deserialize(final Blackhole blackhole) {
+    for (final String input : this.legacy) {
+      blackhole.consume(this.instance.deserialize(input));
+    }
+  }
+
+  @Benchmark
+  public void serialize(final Blackhole blackhole) {
+    for (final TextComponent component : this.components) {
+      blackhole.consume(this.instance.serialize(component));
+    }
+  }
+}
@@ -1,9 +1,16 @@
 plugins {
   id("adventure.common-conventions")
+  id("adventure.jmh-conventions")
 }
 
 dependencies {
   api(project(":adventure-api"))
+  jmhImplementation(project(":adventure-text-serializer-gson"))
+}
+
+sourceSets.named("jmh") {
+  // The benchmarks share the component corpus of the Gson serializer benchmarks
+  resources.srcDir(project(":adventure-text-serializer-gson").file("src/jmh/resources"))
 }
 
 applyJarMetadata("net.kyori.adventure.text.serializer.plain")